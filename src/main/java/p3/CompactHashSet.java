@@ -0,0 +1,136 @@
+package p3;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable set that stores its elements in an array in the iteration order of the copied set and finds them
+ * with a separate open-addressing hash table of array indices with linear probing.
+ *
+ * <p>
+ * Unlike a {@link java.util.HashSet}, which allocates one node object per element, this set only uses one array
+ * slot per element plus one {@code int} per slot of the table, about 9 to 15 bytes per element with compressed
+ * references. Like a {@link java.util.LinkedHashSet}, it iterates over the elements in the order of the set it
+ * was copied from.
+ * </p>
+ *
+ * @param <E> The type of the elements in the set.
+ */
+final class CompactHashSet<E> extends AbstractSet<E> {
+
+    /**
+     * The maximum ratio of elements to table slots.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The elements, in the iteration order of the copied set.
+     */
+    private final Object[] elements;
+
+    /**
+     * The hash table. Its length is a power of two, every used slot holds the index in {@link #elements} plus one
+     * and free slots are {@code 0}.
+     */
+    private final int[] table;
+
+    /**
+     * Constructs a new {@link CompactHashSet} with the elements of the given set.
+     * @param set The set to copy.
+     */
+    CompactHashSet(Set<? extends E> set) {
+        final Object[] elements = new Object[set.size()];
+        table = new int[tableSizeFor(elements.length)];
+        int count = 0;
+        for (E element : set) {
+            final int slot = find(elements, element);
+            if (table[slot] == 0) {
+                elements[count] = element;
+                table[slot] = ++count;
+            }
+        }
+        this.elements = count == elements.length ? elements : Arrays.copyOf(elements, count);
+    }
+
+    /**
+     * Returns the slot that contains the given element, or the free slot where it would be inserted.
+     * @param elements The elements the table refers to.
+     * @param element The element.
+     * @return The slot of the element.
+     */
+    private int find(Object[] elements, Object element) {
+        final int mask = table.length - 1;
+        int slot = hash(element) & mask;
+        while (table[slot] != 0 && !Objects.equals(elements[table[slot] - 1], element)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Spreads the hash code of the given element, so that similar hash codes do not form long probe sequences.
+     * @param element The element.
+     * @return The spread hash.
+     */
+    private static int hash(Object element) {
+        final int h = Objects.hashCode(element) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the smallest power of two table size that holds the given number of elements.
+     * @param expectedSize The number of elements.
+     * @return The table size.
+     */
+    private static int tableSizeFor(int expectedSize) {
+        final int minimum = (int) Math.ceil(expectedSize / LOAD_FACTOR) + 1;
+        return Integer.highestOneBit(minimum - 1) << 1;
+    }
+
+    /**
+     * Returns the number of slots of the hash table, including the free ones.
+     * @return the length of the table.
+     */
+    int capacity() {
+        return table.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return table[find(elements, o)] != 0;
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+
+            /**
+             * The index of the next element.
+             */
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < elements.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (E) elements[index++];
+            }
+        };
+    }
+}
@@ -0,0 +1,169 @@
+package p3;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Estimates the shallow sizes of objects, arrays and collections on the heap.
+ *
+ * <p>
+ * The estimates assume the default layout of a 64-bit HotSpot JVM with compressed references:
+ * 12 byte object headers, 16 byte array headers, 4 byte references and sizes aligned to 8 bytes.
+ * Other JVMs or settings (e.g. heaps larger than 32 GB) use more memory.
+ * The sizes of collections count their internal structure, but not their elements.
+ * </p>
+ */
+public final class MemoryLayout {
+
+    /**
+     * The size of an object header.
+     */
+    public static final int OBJECT_HEADER = 12;
+
+    /**
+     * The size of an array header, including the length.
+     */
+    public static final int ARRAY_HEADER = 16;
+
+    /**
+     * The size of a reference.
+     */
+    public static final int REFERENCE = 4;
+
+    /**
+     * The size of a boxed {@link Integer} that is not in the integer cache.
+     */
+    public static final int BOXED_INTEGER = 16;
+
+    /**
+     * The size of a {@link java.util.HashMap} without its table.
+     */
+    private static final int HASH_MAP = 48;
+
+    /**
+     * The size of an entry of a {@link java.util.HashMap}.
+     */
+    private static final int HASH_MAP_ENTRY = 32;
+
+    /**
+     * The size of a {@link java.util.LinkedHashMap} without its table.
+     */
+    private static final int LINKED_HASH_MAP = 56;
+
+    /**
+     * The size of an entry of a {@link java.util.LinkedHashMap}.
+     */
+    private static final int LINKED_HASH_MAP_ENTRY = 40;
+
+    /**
+     * The size of a {@link java.util.concurrent.ConcurrentHashMap} without its table.
+     */
+    private static final int CONCURRENT_HASH_MAP = 64;
+
+    /**
+     * The size of the {@link HashSet} object that wraps its map.
+     */
+    private static final int HASH_SET = 16;
+
+    private MemoryLayout() {
+    }
+
+    /**
+     * Rounds the given size up to the object alignment.
+     * @param bytes the size.
+     * @return the aligned size.
+     */
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Returns the size of an object with the given fields.
+     * @param fieldBytes the total size of the fields.
+     * @return the size of the object.
+     */
+    public static long object(long fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    /**
+     * Returns the size of an array.
+     * @param length the length of the array.
+     * @param elementBytes the size of one element, e.g. {@link #REFERENCE} or {@link Integer#BYTES}.
+     * @return the size of the array.
+     */
+    public static long array(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    /**
+     * Returns the size of a {@link java.util.HashMap} with the given number of entries, without the keys and values.
+     * The table is assumed to have grown by the default load factor.
+     * @param size the number of entries.
+     * @return the size of the map.
+     */
+    public static long hashMap(int size) {
+        return HASH_MAP + tableBytes(size) + (long) size * HASH_MAP_ENTRY;
+    }
+
+    /**
+     * Returns the size of a {@link java.util.concurrent.ConcurrentHashMap} with the given number of entries,
+     * without the keys and values. Its entries have the same size as those of a {@link java.util.HashMap}.
+     * @param size the number of entries.
+     * @return the size of the map.
+     */
+    public static long concurrentHashMap(int size) {
+        return CONCURRENT_HASH_MAP + tableBytes(size) + (long) size * HASH_MAP_ENTRY;
+    }
+
+    /**
+     * Returns the size of a {@link HashSet} with the given number of elements, without the elements.
+     * @param size the number of elements.
+     * @return the size of the set.
+     */
+    public static long hashSet(int size) {
+        return HASH_SET + hashMap(size);
+    }
+
+    /**
+     * Returns the size of the given set, without its elements.
+     *
+     * <p>
+     * The sets created by {@link SetUtils#immutableCopyOf(Set)}, {@link HashSet} and {@link LinkedHashSet} are
+     * estimated from their actual layout. Empty sets are assumed to be shared. Other sets are estimated as if they
+     * were a {@link HashSet}.
+     * </p>
+     *
+     * @param set the set.
+     * @return the size of the set.
+     */
+    public static long set(Set<?> set) {
+        if (set.isEmpty()) {
+            return 0;
+        }
+        if (set instanceof SortedArraySet<?>) {
+            return object(2 * REFERENCE) + array(set.size(), REFERENCE) + array(set.size(), Integer.BYTES);
+        }
+        if (set instanceof CompactHashSet<?> compact) {
+            return object(2 * REFERENCE) + array(set.size(), REFERENCE) + array(compact.capacity(), Integer.BYTES);
+        }
+        if (set instanceof LinkedHashSet<?>) {
+            return HASH_SET + LINKED_HASH_MAP + tableBytes(set.size()) + (long) set.size() * LINKED_HASH_MAP_ENTRY;
+        }
+        return hashSet(set.size());
+    }
+
+    /**
+     * Returns the size of the table of a hash map that grew to the given number of entries.
+     * @param size the number of entries.
+     * @return the size of the table.
+     */
+    private static long tableBytes(int size) {
+        if (size == 0) {
+            return 0;
+        }
+        final int minimum = (int) Math.ceil(size / 0.75);
+        return array(Math.max(16, Integer.highestOneBit(minimum - 1) << 1), REFERENCE);
+    }
+}
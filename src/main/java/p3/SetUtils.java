@@ -9,16 +9,31 @@ import java.util.Set;
  */
 public class SetUtils {
 
+    /**
+     * The largest size for which {@link #immutableCopyOf(Set)} returns a {@link SortedArraySet}.
+     */
+    private static final int SMALL_SET_SIZE = 8;
+
     /**
      * Create an immutable copy of the given set.
+     * <p> Small sets are copied into an array with an index sorted by hash code, larger sets into an array with an
+     * open-addressing table of indices, so the copy does not allocate an object per element. The copy iterates over
+     * the elements in the same order as the given set. Sets that were created by this method are returned as is.
      * @param set The set to copy.
      * @return An immutable copy of the given set.
      * @param <N> The type of the elements in the set.
      */
     public static <N> Set<N> immutableCopyOf(Set<N> set) {
-        final Set<N> result = new HashSet<>(set.size(), 0.9f);
-        result.addAll(set);
-        return Collections.unmodifiableSet(result);
+        if (set instanceof SortedArraySet<N> || set instanceof CompactHashSet<N>) {
+            return set;
+        }
+        if (set.isEmpty()) {
+            return Collections.emptySet();
+        }
+        if (set.size() <= SMALL_SET_SIZE) {
+            return new SortedArraySet<>(set);
+        }
+        return new CompactHashSet<>(set);
     }
 
     /**
@@ -0,0 +1,101 @@
+package p3;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable set for a few elements that stores them in an array in the iteration order of the copied set,
+ * together with the indices of the elements sorted by their hash codes.
+ *
+ * <p>
+ * The arrays have no free slots, so the set only uses one reference and one {@code int} per element.
+ * {@link #contains(Object)} finds the elements with the same hash code by binary search over the sorted indices,
+ * which is fast for the small sets this class is meant for, such as the adjacency sets of a sparse graph.
+ * </p>
+ *
+ * @param <E> The type of the elements in the set.
+ */
+final class SortedArraySet<E> extends AbstractSet<E> {
+
+    /**
+     * The elements, in the iteration order of the copied set.
+     */
+    private final Object[] elements;
+
+    /**
+     * The indices of the {@link #elements}, sorted by the hash codes of the elements.
+     */
+    private final int[] byHash;
+
+    /**
+     * Constructs a new {@link SortedArraySet} with the elements of the given set.
+     * @param set The set to copy.
+     */
+    SortedArraySet(Set<? extends E> set) {
+        elements = set.toArray();
+        byHash = new int[elements.length];
+        // insertion sort, which is the fastest for the few elements of these sets
+        for (int i = 0; i < elements.length; i++) {
+            final int hash = Objects.hashCode(elements[i]);
+            int j = i;
+            for (; j > 0 && Objects.hashCode(elements[byHash[j - 1]]) > hash; j--) {
+                byHash[j] = byHash[j - 1];
+            }
+            byHash[j] = i;
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        final int hash = Objects.hashCode(o);
+        int low = 0;
+        int high = byHash.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (Objects.hashCode(elements[byHash[middle]]) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < byHash.length && Objects.hashCode(elements[byHash[i]]) == hash; i++) {
+            if (Objects.equals(elements[byHash[i]], o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+
+            /**
+             * The index of the next element.
+             */
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < elements.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (E) elements[index++];
+            }
+        };
+    }
+}
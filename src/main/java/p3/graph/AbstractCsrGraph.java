@@ -0,0 +1,370 @@
+package p3.graph;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A base class for immutable {@link Graph}s that store their adjacency in compressed sparse row (CSR) form.
+ *
+ * <p>
+ * Every node is assigned a distinct index in the range [0, {@link #nodeCount()} - 1].
+ * The neighbors of the node with index {@code i} are stored in the adjacency slots
+ * [{@link #offset(int) offset(i)}, {@link #offset(int) offset(i + 1)}), sorted by the index of the neighbor.
+ * Every undirected edge therefore occupies two slots, one per endpoint, except for self-loops,
+ * which occupy a single slot.
+ * </p>
+ *
+ * <p>
+ * Subclasses decide where the slots are stored by implementing {@link #offset(int)}, {@link #target(int)} and
+ * {@link #weight(int)}. {@link #getEdges()} and {@link #getAdjacentEdges(Object)} return views that create
+ * {@link Edge} objects on demand. Callers that need speed should use the index-based API instead.
+ * </p>
+ *
+ * <p>
+ * The views only read the neighbors of a node in slot order, through a {@link Cursor}. Subclasses that cannot
+ * access a slot directly, like {@link CompressedGraph}, override {@link #cursor(int)},
+ * {@link #forEachAdjacent(int, IntAdjacencyConsumer)} and {@link #findSlot(int, int)} to decode the neighbors
+ * sequentially instead.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public abstract class AbstractCsrGraph<N> implements Graph<N>, IntGraph<N> {
+
+    /**
+     * The index that maps nodes to their indices and back.
+     * Every node in the graph is mapped to a distinct index in the range [0, {@link #nodeCount()} - 1].
+     */
+    protected final NodeIndex<N> nodeIndex;
+
+    /**
+     * The number of undirected edges in this graph.
+     */
+    protected final int edgeCount;
+
+    /**
+     * Constructs a new {@link AbstractCsrGraph} with the given node index and number of edges.
+     * @param nodeIndex the node index, which is frozen by this constructor.
+     * @param edgeCount the number of undirected edges.
+     */
+    protected AbstractCsrGraph(NodeIndex<N> nodeIndex, int edgeCount) {
+        this.nodeIndex = nodeIndex.freeze();
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Returns the first adjacency slot of the node with the given index.
+     * The slots of the node are [{@code offset(index)}, {@code offset(index + 1)}).
+     * @param index the index of the node, may be {@link #nodeCount()} to get the end of the last node.
+     * @return the first adjacency slot of the node.
+     */
+    public abstract int offset(int index);
+
+    /**
+     * Returns the index of the neighbor stored in the given adjacency slot.
+     * @param slot the adjacency slot.
+     * @return the index of the neighbor.
+     */
+    public abstract int target(int slot);
+
+    /**
+     * Returns the weight of the edge stored in the given adjacency slot.
+     * @param slot the adjacency slot.
+     * @return the weight of the edge.
+     */
+    public abstract int weight(int slot);
+
+    /**
+     * Returns the index of the given node, throwing an exception if it is not in this graph.
+     * @param node the node.
+     * @return the index of the node.
+     * @throws IllegalArgumentException if the node is not in this graph.
+     */
+    protected int requireIndex(N node) {
+        final int index = nodeIndex.indexOf(node);
+        if (index < 0) {
+            throw new IllegalArgumentException("Node not found: " + node);
+        }
+        return index;
+    }
+
+    @Override
+    public NodeIndex<N> nodeIndex() {
+        return nodeIndex;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the index of the given node.
+     * @param node the node.
+     * @return the index of the node, or {@code -1} if the node is not in this graph.
+     */
+    public int indexOf(N node) {
+        return nodeIndex.indexOf(node);
+    }
+
+    /**
+     * Returns the node with the given index.
+     * @param index the index of the node.
+     * @return the node with the given index.
+     */
+    public N nodeAt(int index) {
+        return nodeIndex.nodeAt(index);
+    }
+
+    @Override
+    public int degree(int index) {
+        return offset(index + 1) - offset(index);
+    }
+
+    @Override
+    public void forEachAdjacent(int node, IntAdjacencyConsumer action) {
+        final int end = offset(node + 1);
+        for (int slot = offset(node); slot < end; slot++) {
+            action.accept(target(slot), weight(slot));
+        }
+    }
+
+    /**
+     * Returns the adjacency slot of node {@code a} that stores the edge to node {@code b}.
+     * @param a the index of the first node.
+     * @param b the index of the second node.
+     * @return the slot of the edge, or {@code -1} if there is no edge between the nodes.
+     */
+    public int findSlot(int a, int b) {
+        int low = offset(a);
+        int high = offset(a + 1) - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int target = target(middle);
+            if (target < b) {
+                low = middle + 1;
+            } else if (target > b) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a cursor over the neighbors of the node with the given index.
+     * @param index the index of the node.
+     * @return a cursor positioned before the first slot of the node.
+     */
+    protected Cursor cursor(int index) {
+        return new Cursor(index);
+    }
+
+    @Override
+    public void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        forEachAdjacent(requireIndex(node), (neighbor, weight) -> action.accept(nodeAt(neighbor), weight));
+    }
+
+    @Override
+    public int degree(N node) {
+        return degree(requireIndex(node));
+    }
+
+    @Override
+    public Edge<N> getEdge(N a, N b) {
+        final int indexA = requireIndex(a);
+        final int indexB = nodeIndex.indexOf(b);
+        final int slot = indexB < 0 ? -1 : findSlot(indexA, indexB);
+        return slot < 0 ? null : Edge.of(a, b, weight(slot));
+    }
+
+    @Override
+    public Set<N> getNodes() {
+        return nodeIndex.asSet();
+    }
+
+    @Override
+    public Set<Edge<N>> getEdges() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Edge<N>> iterator() {
+                return new SlotIterator(0, nodeCount(), true);
+            }
+
+            @Override
+            public int size() {
+                return edgeCount;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Edge<?> edge && containsEdge(edge);
+            }
+        };
+    }
+
+    @Override
+    public Set<Edge<N>> getAdjacentEdges(N node) {
+        final int index = requireIndex(node);
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Edge<N>> iterator() {
+                return new SlotIterator(index, index + 1, false);
+            }
+
+            @Override
+            public int size() {
+                return degree(index);
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Edge<?> edge
+                    && (index == nodeIndex.indexOf(edge.a()) || index == nodeIndex.indexOf(edge.b()))
+                    && containsEdge(edge);
+            }
+        };
+    }
+
+    /**
+     * Returns whether this graph contains an edge between the nodes of the given edge.
+     * Like {@link Edge#equals(Object)}, this ignores the weight of the edge.
+     * @param edge the edge.
+     * @return whether this graph contains the edge.
+     */
+    private boolean containsEdge(Edge<?> edge) {
+        final int a = nodeIndex.indexOf(edge.a());
+        final int b = nodeIndex.indexOf(edge.b());
+        return a >= 0 && b >= 0 && findSlot(a, b) >= 0;
+    }
+
+    @Override
+    public MutableGraph<N> toMutableGraph() {
+        return MutableGraph.of(getNodes(), getEdges());
+    }
+
+    @Override
+    public Graph<N> toGraph() {
+        return this;
+    }
+
+    @Override
+    public IntGraph<N> toIntGraph() {
+        return this;
+    }
+
+    /**
+     * Reads the neighbors of a single node in slot order, one slot at a time.
+     */
+    protected class Cursor {
+
+        /**
+         * The index of the node whose neighbors are read.
+         */
+        protected final int node;
+
+        /**
+         * The next slot to read.
+         */
+        protected int slot;
+
+        /**
+         * Constructs a new {@link Cursor} before the first slot of the given node.
+         * @param node the index of the node.
+         */
+        protected Cursor(int node) {
+            this.node = node;
+            this.slot = offset(node);
+        }
+
+        /**
+         * Returns whether there are slots of the node left to read.
+         * @return whether there are slots left.
+         */
+        public boolean hasNext() {
+            return slot < offset(node + 1);
+        }
+
+        /**
+         * Reads the next slot. Its weight is {@code weight(slot - 1)} afterwards.
+         * @return the index of the neighbor stored in the slot.
+         */
+        public int next() {
+            return target(slot++);
+        }
+    }
+
+    /**
+     * An iterator over the edges stored in the adjacency slots of a range of nodes.
+     */
+    private class SlotIterator implements Iterator<Edge<N>> {
+
+        /**
+         * The node after the last node whose slots are iterated.
+         */
+        private final int endNode;
+
+        /**
+         * Whether to skip slots that store an edge to a node with a smaller index,
+         * so that every undirected edge is returned only once.
+         */
+        private final boolean unique;
+
+        /**
+         * The cursor over the slots of the current node.
+         */
+        private Cursor cursor;
+
+        /**
+         * The next edge to return, or {@code null} when the iteration is finished.
+         */
+        private Edge<N> next;
+
+        SlotIterator(int startNode, int endNode, boolean unique) {
+            this.endNode = endNode;
+            this.unique = unique;
+            if (startNode < endNode) {
+                this.cursor = cursor(startNode);
+                advance();
+            }
+        }
+
+        /**
+         * Reads the next edge that should be returned and stores it in {@link #next}.
+         */
+        private void advance() {
+            while (true) {
+                while (cursor.hasNext()) {
+                    final int target = cursor.next();
+                    if (!unique || target >= cursor.node) {
+                        next = Edge.of(nodeAt(cursor.node), nodeAt(target), weight(cursor.slot - 1));
+                        return;
+                    }
+                }
+                if (cursor.node + 1 >= endNode) {
+                    next = null;
+                    return;
+                }
+                cursor = cursor(cursor.node + 1);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Edge<N> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Edge<N> result = next;
+            advance();
+            return result;
+        }
+    }
+}
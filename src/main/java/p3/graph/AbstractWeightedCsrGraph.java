@@ -0,0 +1,226 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * A base class for immutable graphs in compressed sparse row (CSR) form whose weights are not {@code int}s,
+ * such as {@link LongCsrGraph} and {@link DoubleCsrGraph}.
+ *
+ * <p>
+ * The layout is the same as in {@link CsrGraph}: the neighbors of the node with id {@code i} are stored in the slots
+ * [{@link #offsets}[i], {@link #offsets}[i + 1]) of {@link #targets}, sorted by the id of the neighbor.
+ * Subclasses store the weights in a primitive array with the same slots.
+ * These graphs do not implement {@link Graph}, because an {@link Edge} cannot hold their weights.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public abstract class AbstractWeightedCsrGraph<N> implements GraphFootprint.Estimable {
+
+    /**
+     * The index that maps the nodes to their ids and back.
+     */
+    protected final NodeIndex<N> nodeIndex;
+
+    /**
+     * The start of the adjacency slots of each node. Has length {@link #nodeCount()} + 1,
+     * the last element is the total number of slots.
+     */
+    protected final int[] offsets;
+
+    /**
+     * The id of the neighbor stored in each slot.
+     */
+    protected final int[] targets;
+
+    /**
+     * The number of undirected edges in this graph.
+     */
+    private final int edgeCount;
+
+    /**
+     * Constructs a new {@link AbstractWeightedCsrGraph} that takes ownership of the given rows.
+     * @param nodeIndex the node index, which is frozen by this constructor.
+     * @param offsets the offsets array.
+     * @param targets the targets array, sorted and without duplicates in every row.
+     */
+    protected AbstractWeightedCsrGraph(NodeIndex<N> nodeIndex, int[] offsets, int[] targets) {
+        this.nodeIndex = nodeIndex.freeze();
+        this.offsets = offsets;
+        this.targets = targets;
+        this.edgeCount = CsrGraph.countEdges(offsets, targets);
+    }
+
+    /**
+     * Builds the offsets and targets arrays for the given edges, see {@link CsrGraph}.
+     * @param nodeIndex the index of all nodes of the graph.
+     * @param edges the edges.
+     * @param a the function that returns the first node of an edge.
+     * @param b the function that returns the second node of an edge.
+     * @param <N> the type of the nodes.
+     * @param <E> the type of the edges.
+     * @return the offsets and targets arrays, and the position of the edge in the iteration order of {@code edges}
+     * that is stored in every slot. If there are several edges between the same nodes, the last one is kept.
+     * @throws IllegalArgumentException if an edge is connected to a node that is not in {@code nodeIndex}.
+     */
+    protected static <N, E> int[][] buildSlots(NodeIndex<N> nodeIndex, Collection<? extends E> edges,
+                                               Function<? super E, ? extends N> a,
+                                               Function<? super E, ? extends N> b) {
+        final int[] idsA = new int[edges.size()];
+        final int[] idsB = new int[edges.size()];
+        int position = 0;
+        for (E edge : edges) {
+            idsA[position] = requireId(nodeIndex, a.apply(edge));
+            idsB[position] = requireId(nodeIndex, b.apply(edge));
+            position++;
+        }
+        return CsrGraph.buildSlots(nodeIndex.size(), position, i -> idsA[i], i -> idsB[i]);
+    }
+
+    /**
+     * Copies the rows of the given graph, sorted by the id of the neighbor.
+     * @param graph the graph to copy.
+     * @return the offsets and targets arrays, and the weight of the edge stored in every slot.
+     */
+    protected static int[][] copySlots(IntGraph<?> graph) {
+        final int nodeCount = graph.nodeCount();
+        final int[] offsets = new int[nodeCount + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node + 1] = offsets[node] + graph.degree(node);
+        }
+        final int[] targets = new int[offsets[nodeCount]];
+        final int[] weights = new int[offsets[nodeCount]];
+        final int[] slot = new int[1];
+        final IntAdjacencyConsumer copy = (neighbor, weight) -> {
+            targets[slot[0]] = neighbor;
+            weights[slot[0]] = weight;
+            slot[0]++;
+        };
+        for (int node = 0; node < nodeCount; node++) {
+            graph.forEachAdjacent(node, copy);
+            sortRow(targets, weights, offsets[node], offsets[node + 1]);
+        }
+        return new int[][] {offsets, targets, weights};
+    }
+
+    /**
+     * Sorts the given row by target with insertion sort, since the rows of most graphs are already sorted.
+     * @param targets the targets array.
+     * @param weights the weights array.
+     * @param from the first slot of the row.
+     * @param to the end of the row, exclusive.
+     */
+    private static void sortRow(int[] targets, int[] weights, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            final int target = targets[i];
+            final int weight = weights[i];
+            int j = i - 1;
+            while (j >= from && targets[j] > target) {
+                targets[j + 1] = targets[j];
+                weights[j + 1] = weights[j];
+                j--;
+            }
+            targets[j + 1] = target;
+            weights[j + 1] = weight;
+        }
+    }
+
+    /**
+     * Returns the id of the given node in the given index.
+     * @param nodeIndex the index.
+     * @param node the node.
+     * @param <N> the type of the nodes.
+     * @return the id of the node.
+     * @throws IllegalArgumentException if the node is not in the index.
+     */
+    private static <N> int requireId(NodeIndex<N> nodeIndex, N node) {
+        final int id = nodeIndex.indexOf(node);
+        if (id < 0) {
+            throw new IllegalArgumentException("Node not found: " + node);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the index that maps the ids of this graph to nodes and back.
+     * @return the node index of this graph.
+     */
+    public NodeIndex<N> nodeIndex() {
+        return nodeIndex;
+    }
+
+    /**
+     * Returns the number of nodes in this graph.
+     * @return the number of nodes in this graph.
+     */
+    public int nodeCount() {
+        return nodeIndex.size();
+    }
+
+    /**
+     * Returns the number of undirected edges in this graph.
+     * @return the number of undirected edges in this graph.
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the number of edges that are adjacent to the node with the given id.
+     * @param node the id of the node.
+     * @return the degree of the node.
+     */
+    public int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * Returns the adjacency slot of node {@code a} that stores the edge to node {@code b}.
+     * @param a the id of the first node.
+     * @param b the id of the second node.
+     * @return the slot of the edge, or {@code -1} if there is no edge between the nodes.
+     */
+    protected int findSlot(int a, int b) {
+        int low = offsets[a];
+        int high = offsets[a + 1] - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (targets[middle] < b) {
+                low = middle + 1;
+            } else if (targets[middle] > b) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot of the edge between the given nodes.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @return the slot of the edge, or {@code -1} if there is no such edge.
+     * @throws IllegalArgumentException if {@code a} is not in this graph.
+     */
+    protected int findSlot(N a, N b) {
+        final int indexA = requireId(nodeIndex, a);
+        final int indexB = nodeIndex.indexOf(b);
+        return indexB < 0 ? -1 : findSlot(indexA, indexB);
+    }
+
+    /**
+     * Estimates the memory footprint of this graph, given the size of the weights array of the subclass.
+     * @param weightBytes the estimated size of the weights array.
+     * @return the estimated footprint.
+     */
+    GraphFootprint.Report estimateFootprint(long weightBytes) {
+        return new GraphFootprint.Report(getClass().getSimpleName(), nodeCount(), edgeCount(), 0, 0,
+            MemoryLayout.array(offsets.length, Integer.BYTES) + MemoryLayout.array(targets.length, Integer.BYTES)
+                + weightBytes,
+            nodeIndex.estimateBytes(), 0);
+    }
+}
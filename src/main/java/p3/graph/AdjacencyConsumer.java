@@ -0,0 +1,16 @@
+package p3.graph;
+
+/**
+ * A callback that receives the neighbors of a node in a {@link Graph}.
+ * @param <N> the type of the nodes in the graph.
+ */
+@FunctionalInterface
+public interface AdjacencyConsumer<N> {
+
+    /**
+     * Called once for every edge adjacent to the visited node.
+     * @param neighbor the node at the other end of the edge.
+     * @param weight the weight of the edge.
+     */
+    void accept(N neighbor, int weight);
+}
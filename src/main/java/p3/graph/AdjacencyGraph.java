@@ -1,5 +1,6 @@
 package p3.graph;
 
+import p3.MemoryLayout;
 import p3.SetUtils;
 
 import java.util.HashMap;
@@ -10,10 +11,13 @@ import java.util.Set;
  * An implementation of an immutable {@link Graph} that uses an {@link AdjacencyMatrix} to store the graph.
  * @param <N> the type of the nodes in this graph.
  */
-public class AdjacencyGraph<N> implements Graph<N> {
+public class AdjacencyGraph<N> implements Graph<N>, GraphFootprint.Estimable {
 
     /**
      * The adjacency matrix that stores the graph.
+     * Its storage is chosen by {@link AdjacencyMatrix#of(int, int)} depending on the edge density, so it is always
+     * {@link AdjacencyMatrix.Storage#DENSE} or {@link AdjacencyMatrix.Storage#SPARSE}.
+     * The other storages are standalone matrices, see {@link AdjacencyMatrix.Storage}.
      */
     private final AdjacencyMatrix matrix;
 
@@ -31,6 +35,13 @@ public class AdjacencyGraph<N> implements Graph<N> {
      */
     private final Map<Integer, N> indexNodes = new HashMap<>();
 
+    /**
+     * The same mapping as {@link #indexNodes} as an array, so that it can be used without boxing.
+     * Created on first use by {@link #nodeAt(int)} and only assigned once it is filled. The field is volatile,
+     * so that other threads that share this graph never see the array before its elements.
+     */
+    private volatile Object[] indexNodeArray;
+
     /**
      * The nodes in this graph.
      */
@@ -47,7 +58,7 @@ public class AdjacencyGraph<N> implements Graph<N> {
      * @param edges the edges in the graph.
      */
     public AdjacencyGraph(Set<N> nodes, Set<Edge<N>> edges) {
-        matrix = new AdjacencyMatrix(nodes.size());
+        matrix = AdjacencyMatrix.of(nodes.size(), edges.size());
         this.nodes = SetUtils.immutableCopyOf(nodes);
         this.edges = SetUtils.immutableCopyOf(edges);
 
@@ -69,6 +80,73 @@ public class AdjacencyGraph<N> implements Graph<N> {
         throw new UnsupportedOperationException("Not implemented yet"); // TODO H1 c): remove if implemented
     }
 
+    @Override
+    public void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        matrix.forEachAdjacent(requireIndex(node), (neighbor, weight) -> action.accept(nodeAt(neighbor), weight));
+    }
+
+    @Override
+    public int degree(N node) {
+        return matrix.degree(requireIndex(node));
+    }
+
+    @Override
+    public Edge<N> getEdge(N a, N b) {
+        final int indexA = requireIndex(a);
+        final Integer indexB = nodeIndices.get(b);
+        final int weight = indexB == null ? 0 : matrix.getWeight(indexA, indexB);
+        return weight == 0 ? null : Edge.of(a, b, weight);
+    }
+
+    /**
+     * Returns the index of the given node in the adjacency matrix.
+     * @param node the node.
+     * @return the index of the node.
+     * @throws IllegalArgumentException if the node is not in this graph.
+     */
+    private int requireIndex(N node) {
+        final Integer index = nodeIndices.get(node);
+        if (index == null) {
+            throw new IllegalArgumentException("Node not found: " + node);
+        }
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> The index bytes are the maps between nodes and indices, which share the boxed indices.
+     */
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        final Object[] nodeArray = indexNodeArray;
+        final long array = nodeArray == null ? 0 : MemoryLayout.array(nodeArray.length, MemoryLayout.REFERENCE);
+        final long indexBytes = MemoryLayout.hashMap(nodeIndices.size()) + MemoryLayout.hashMap(indexNodes.size())
+            + (long) nodeIndices.size() * MemoryLayout.BOXED_INTEGER + array;
+        return new GraphFootprint.Report(getClass().getSimpleName(), nodes.size(), edges.size(),
+            MemoryLayout.set(nodes), GraphFootprint.edgeBytes(edges), matrix.estimateBytes(), indexBytes,
+            matrix.estimateOffHeapBytes());
+    }
+
+    /**
+     * Returns the node with the given index in the adjacency matrix.
+     * <p> Threads that call this method concurrently for the first time may each fill their own array,
+     * only one of them is kept.
+     * @param index the index.
+     * @return the node with the given index.
+     */
+    @SuppressWarnings("unchecked")
+    private N nodeAt(int index) {
+        Object[] array = indexNodeArray;
+        if (array == null) {
+            array = new Object[indexNodes.size()];
+            for (Map.Entry<Integer, N> entry : indexNodes.entrySet()) {
+                array[entry.getKey()] = entry.getValue();
+            }
+            indexNodeArray = array;
+        }
+        return (N) array[index];
+    }
+
     @Override
     public MutableGraph<N> toMutableGraph() {
         return MutableGraph.of(nodes, edges);
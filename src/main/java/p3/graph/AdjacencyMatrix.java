@@ -1,5 +1,7 @@
 package p3.graph;
 
+import p3.MemoryLayout;
+
 /**
  * A light wrapper around a 2D array of integers that represents an adjacency matrix.
  *
@@ -8,20 +10,84 @@ package p3.graph;
  *     <li><code>matrix.length == matrix[0].length</code> (square matrix)</li>
  *     <li><code>matrix[i][j] == matrix[j][i]</code> (symmetric matrix)</li>
  * </ul>
+ *
+ * <p>
+ * Subclasses may store the matrix in a different layout, see {@link Storage}.
+ * They must keep the same contract for {@link #addEdge(int, int, int)}, {@link #getWeight(int, int)} and
+ * {@link #getAdjacent(int)}, including that a weight of {@code 0} means that there is no edge.
+ * </p>
  */
 public class AdjacencyMatrix {
 
+    /**
+     * The fraction of non-zero cells below which {@link #of(int, int)} chooses {@link Storage#SPARSE} storage.
+     */
+    private static final double SPARSE_DENSITY = 0.25;
+
+    /**
+     * The size up to which {@link #of(int, int)} always chooses {@link Storage#DENSE} storage,
+     * because the matrix is small anyway.
+     */
+    private static final int SPARSE_MIN_SIZE = 64;
+
     /**
      * The underlying array that stores the adjacency matrix.
+     * {@code null} if a subclass provides its own storage.
      */
     private final int[][] matrix;
 
+    /**
+     * The size of the matrix.
+     */
+    private final int size;
+
     /**
      * Constructs a new adjacency matrix with the given size.
      * @param size the size of the matrix.
      */
     public AdjacencyMatrix(int size) {
-        matrix = new int[size][size];
+        this(size, new int[size][size]);
+    }
+
+    /**
+     * Constructs a new adjacency matrix with the given size and backing array.
+     * Subclasses that provide their own storage pass {@code null} as the backing array.
+     * @param size the size of the matrix.
+     * @param matrix the backing array, or {@code null}.
+     */
+    AdjacencyMatrix(int size, int[][] matrix) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative size: " + size);
+        }
+        this.size = size;
+        this.matrix = matrix;
+    }
+
+    /**
+     * Creates a new adjacency matrix with the given size, choosing the storage that fits the expected number of edges.
+     *
+     * <p>
+     * Small or dense matrices use {@link Storage#DENSE} storage.
+     * Large matrices in which less than a quarter of the cells are non-zero use {@link Storage#SPARSE} storage.
+     * </p>
+     *
+     * @param size the size of the matrix.
+     * @param edgeCount the expected number of edges.
+     * @return a new adjacency matrix.
+     */
+    public static AdjacencyMatrix of(int size, int edgeCount) {
+        final double density = 2.0 * edgeCount / ((double) size * size);
+        return size > SPARSE_MIN_SIZE && density < SPARSE_DENSITY
+            ? Storage.SPARSE.create(size)
+            : Storage.DENSE.create(size);
+    }
+
+    /**
+     * Returns the size of the matrix, i.e., the number of rows and columns.
+     * @return the size of the matrix.
+     */
+    public int size() {
+        return size;
     }
 
     /**
@@ -57,4 +123,129 @@ public class AdjacencyMatrix {
         throw new UnsupportedOperationException("Not implemented yet"); // TODO H1 b): remove if implemented
 
     }
+
+    /**
+     * Returns the number of non-zero cells in the row of the given index, i.e., the number of adjacent edges.
+     *
+     * @param index the index of the node to get the degree of
+     * @return the number of edges adjacent to the given index
+     */
+    public int degree(int index) {
+        final int[] row = matrix != null ? matrix[index] : getAdjacent(index);
+        int degree = 0;
+        for (int weight : row) {
+            if (weight != 0) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * Calls the given action once for every non-zero cell in the row of the given index,
+     * with the column of the cell and its weight.
+     *
+     * @param index the index of the node to visit the adjacent edges of
+     * @param action the action to call for every adjacent edge
+     */
+    public void forEachAdjacent(int index, IntAdjacencyConsumer action) {
+        final int[] row = matrix != null ? matrix[index] : getAdjacent(index);
+        for (int column = 0; column < row.length; column++) {
+            if (row[column] != 0) {
+                action.accept(column, row[column]);
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of bytes that this matrix uses on the heap, see {@link MemoryLayout}.
+     * @return the estimated heap size of this matrix.
+     */
+    long estimateBytes() {
+        return MemoryLayout.object(2L * MemoryLayout.REFERENCE)
+            + MemoryLayout.array(size, MemoryLayout.REFERENCE)
+            + size * MemoryLayout.array(size, Integer.BYTES);
+    }
+
+    /**
+     * Estimates the number of bytes that this matrix uses outside of the heap.
+     * @return the off-heap size of this matrix.
+     */
+    long estimateOffHeapBytes() {
+        return 0;
+    }
+
+    /**
+     * The ways in which an {@link AdjacencyMatrix} can store its cells.
+     *
+     * <p>
+     * {@link AdjacencyGraph} only uses the storages chosen by {@link #of(int, int)}, i.e. {@link #DENSE} and
+     * {@link #SPARSE}, and {@link IndexedMutableGraph} always uses {@link #SPARSE}. {@link #FLAT}, {@link #OFF_HEAP}
+     * and {@link #TRIANGULAR} are standalone matrices: create them with {@link #create(int)} and fill them with
+     * {@link AdjacencyMatrix#addEdge(int, int, int)}.
+     * </p>
+     */
+    public enum Storage {
+
+        /**
+         * One {@code int[size]} array per row. Uses {@code 4 * size * size} bytes regardless of the number of edges.
+         */
+        DENSE {
+            @Override
+            public AdjacencyMatrix create(int size) {
+                return new AdjacencyMatrix(size);
+            }
+        },
+
+        /**
+         * Only the non-zero cells, in one open-addressing hash table per row.
+         * Uses memory proportional to the number of edges and keeps {@link AdjacencyMatrix#getWeight(int, int)} at expected O(1).
+         */
+        SPARSE {
+            @Override
+            public AdjacencyMatrix create(int size) {
+                return new SparseAdjacencyMatrix(size);
+            }
+        },
+
+        /**
+         * All cells in one contiguous {@code int[]} in row-major order.
+         * Avoids the per-row object headers and pointers of {@link #DENSE}, but is limited to sizes of about 46,000.
+         */
+        FLAT {
+            @Override
+            public AdjacencyMatrix create(int size) {
+                return new FlatAdjacencyMatrix(size);
+            }
+        },
+
+        /**
+         * All cells in row-major order in direct buffers outside of the Java heap,
+         * so that large dense matrices do not put pressure on the garbage collector.
+         */
+        OFF_HEAP {
+            @Override
+            public AdjacencyMatrix create(int size) {
+                return new OffHeapAdjacencyMatrix(size);
+            }
+        },
+
+        /**
+         * Only the upper triangle including the diagonal, packed row by row into one {@code int[]}.
+         * Uses about half the memory of {@link #FLAT}, and is limited to sizes of 65,535.
+         */
+        TRIANGULAR {
+            @Override
+            public AdjacencyMatrix create(int size) {
+                return new TriangularAdjacencyMatrix(size);
+            }
+        };
+
+        /**
+         * Creates a new empty adjacency matrix with the given size that uses this storage.
+         * @param size the size of the matrix.
+         * @return a new adjacency matrix.
+         */
+        public abstract AdjacencyMatrix create(int size);
+    }
 }
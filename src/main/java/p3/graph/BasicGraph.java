@@ -3,6 +3,7 @@ package p3.graph;
 import p3.SetUtils;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -66,6 +67,58 @@ public class BasicGraph<N> implements Graph<N> {
         return result;
     }
 
+    @Override
+    public void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        forEachAdjacent(node, getAdjacentEdges(node), action);
+    }
+
+    @Override
+    public int degree(N node) {
+        return getAdjacentEdges(node).size();
+    }
+
+    @Override
+    public Edge<N> getEdge(N a, N b) {
+        return findEdge(a, b, getAdjacentEdges(a), backing.get(b));
+    }
+
+    /**
+     * Calls the given action for every edge in the given adjacency set of {@code node}.
+     * @param node the node whose adjacent edges are given.
+     * @param adjacentEdges the edges adjacent to {@code node}.
+     * @param action the action to call with the node at the other end of every edge.
+     * @param <N> the type of the nodes.
+     */
+    static <N> void forEachAdjacent(N node, Set<Edge<N>> adjacentEdges, AdjacencyConsumer<? super N> action) {
+        for (Edge<N> edge : adjacentEdges) {
+            action.accept(Objects.equals(edge.a(), node) ? edge.b() : edge.a(), edge.weight());
+        }
+    }
+
+    /**
+     * Finds the edge between {@code a} and {@code b} by scanning the smaller of their adjacency sets.
+     * @param a the first node.
+     * @param b the second node.
+     * @param edgesA the edges adjacent to {@code a}.
+     * @param edgesB the edges adjacent to {@code b}, or {@code null} if {@code b} is not in the graph.
+     * @param <N> the type of the nodes.
+     * @return the edge between the nodes, or {@code null} if there is none.
+     */
+    static <N> Edge<N> findEdge(N a, N b, Set<Edge<N>> edgesA, Set<Edge<N>> edgesB) {
+        if (edgesB == null) {
+            return null;
+        }
+        final boolean scanA = edgesA.size() <= edgesB.size();
+        final N from = scanA ? a : b;
+        final N to = scanA ? b : a;
+        for (Edge<N> edge : scanA ? edgesA : edgesB) {
+            if (Objects.equals(Objects.equals(edge.a(), from) ? edge.b() : edge.a(), to)) {
+                return edge;
+            }
+        }
+        return null;
+    }
+
     @Override
     public MutableGraph<N> toMutableGraph() {
         return MutableGraph.of(nodes, edges);
@@ -3,6 +3,7 @@ package p3.graph;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 public class BasicMutableGraph<N> extends BasicGraph<N> implements MutableGraph<N> {
@@ -56,6 +57,30 @@ public class BasicMutableGraph<N> extends BasicGraph<N> implements MutableGraph<
         return mutableEdges;
     }
 
+    @Override
+    public Set<Edge<N>> getAdjacentEdges(N node) {
+        final Set<Edge<N>> result = mutableBacking.get(node);
+        if (result == null) {
+            throw new IllegalArgumentException("Node not found: " + node);
+        }
+        return result;
+    }
+
+    @Override
+    public void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        forEachAdjacent(node, getAdjacentEdges(node), action);
+    }
+
+    @Override
+    public int degree(N node) {
+        return getAdjacentEdges(node).size();
+    }
+
+    @Override
+    public Edge<N> getEdge(N a, N b) {
+        return findEdge(a, b, getAdjacentEdges(a), mutableBacking.get(b));
+    }
+
     @Override
     public MutableGraph<N> toMutableGraph() {
         return MutableGraph.of(mutableNodes, mutableEdges);
@@ -83,10 +108,7 @@ public class BasicMutableGraph<N> extends BasicGraph<N> implements MutableGraph<
             throw new IllegalArgumentException("Node not found: " + (edgesA == null ? a : b));
         }
 
-        final Edge<N> edge = Edge.of(a, b, weight);
-        edgesA.add(edge);
-        edgesB.add(edge);
-        mutableEdges.add(edge);
+        replaceEdge(Edge.of(a, b, weight), edgesA, edgesB);
         return this;
     }
 
@@ -98,11 +120,61 @@ public class BasicMutableGraph<N> extends BasicGraph<N> implements MutableGraph<
         final Set<Edge<N>> edgesA = mutableBacking.computeIfAbsent(a, k -> new HashSet<>());
         final Set<Edge<N>> edgesB = mutableBacking.computeIfAbsent(b, k -> new HashSet<>());
 
-        final Edge<N> edge = Edge.of(a, b, weight);
+        replaceEdge(Edge.of(a, b, weight), edgesA, edgesB);
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> removeEdge(N a, N b) {
+        final Set<Edge<N>> edgesA = mutableBacking.get(a);
+        final Set<Edge<N>> edgesB = mutableBacking.get(b);
+        if (edgesA == null || edgesB == null) {
+            throw new IllegalArgumentException("Node not found: " + (edgesA == null ? a : b));
+        }
+
+        // edges are equal regardless of their weight, so this finds the edge by its hash code
+        final Edge<N> edge = Edge.of(a, b, 0);
+        if (edgesA.remove(edge)) {
+            edgesB.remove(edge);
+            mutableEdges.remove(edge);
+        }
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> removeNode(N node) {
+        final Set<Edge<N>> edges = mutableBacking.remove(node);
+        if (edges == null) {
+            return this;
+        }
+
+        for (Edge<N> edge : edges) {
+            final N other = Objects.equals(edge.a(), node) ? edge.b() : edge.a();
+            if (!Objects.equals(other, node)) {
+                mutableBacking.get(other).remove(edge);
+            }
+            mutableEdges.remove(edge);
+        }
+        mutableNodes.remove(node);
+        return this;
+    }
+
+    /**
+     * Adds the given edge to the adjacency sets of its nodes and to {@link #mutableEdges},
+     * removing an existing edge between the same nodes first.
+     * Existing edges have to be removed, because adding an equal element to a {@link Set} keeps the old element,
+     * which would keep the old weight. Since edges are equal regardless of their weight, removing the new edge
+     * removes the existing one in O(1), and all three sets share the new edge instance.
+     * @param edge the edge to add.
+     * @param edgesA the edges adjacent to {@link Edge#a()}.
+     * @param edgesB the edges adjacent to {@link Edge#b()}.
+     */
+    private void replaceEdge(Edge<N> edge, Set<Edge<N>> edgesA, Set<Edge<N>> edgesB) {
+        edgesA.remove(edge);
+        edgesB.remove(edge);
+        mutableEdges.remove(edge);
         edgesA.add(edge);
         edgesB.add(edge);
         mutableEdges.add(edge);
-
-        return this;
     }
 }
@@ -0,0 +1,358 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * An implementation of an immutable {@link Graph} that stores its adjacency in compressed form,
+ * for graphs that are too large for {@link CsrGraph}.
+ *
+ * <p>
+ * Such graphs should be built with {@link #CompressedGraph(NodeIndex, EdgeList)} or
+ * {@link GraphBuilder#buildCompressed()}, which encode the edges without building a {@link CsrGraph} first.
+ * </p>
+ *
+ * <p>
+ * The neighbors of every node are stored sorted by id, as variable-length integers (varints) in a byte array:
+ * the first neighbor as the zigzag-encoded difference to the id of the node itself, every further neighbor as the
+ * gap to the previous neighbor. Every varint byte holds 7 bits, so gaps below 128 take a single byte.
+ * Graphs whose nodes were ordered with {@link NodeOrdering} have small gaps and compress best.
+ * </p>
+ *
+ * <p>
+ * The weights are stored separately, as the difference to the smallest weight in the graph, bit-packed with the
+ * smallest width that fits the largest difference. A graph whose weights are all in [1, 100] uses 7 bits per weight.
+ * </p>
+ *
+ * <p>
+ * The adjacency can only be decoded sequentially. {@link #forEachAdjacent(int, IntAdjacencyConsumer)} decodes it
+ * while streaming it to the action, without allocating, so solvers that use it run directly on the compressed form.
+ * {@link #getEdge(Object, Object)} and the {@code contains} methods of the returned sets scan the adjacency of a
+ * node, so they cost O(degree) instead of O(log degree), and {@link #target(int)} has to decode the adjacency of
+ * the node up to the given slot.
+ * </p>
+ *
+ * <p>
+ * The views of {@link AbstractCsrGraph} are shared; they read the adjacency through a cursor that decodes the
+ * varints sequentially.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public class CompressedGraph<N> extends AbstractCsrGraph<N> implements GraphFootprint.Estimable {
+
+    /**
+     * The start of the varints of each node in {@link #adjacency}. Has length {@link #nodeCount()} + 1.
+     */
+    private final int[] byteOffsets;
+
+    /**
+     * The first adjacency slot of each node. Has length {@link #nodeCount()} + 1,
+     * the last element is the total number of slots.
+     */
+    private final int[] slotOffsets;
+
+    /**
+     * The varint-encoded neighbors of all nodes.
+     */
+    private final byte[] adjacency;
+
+    /**
+     * The bit-packed weights of all slots.
+     */
+    private final long[] weightBits;
+
+    /**
+     * The number of bits per weight, between {@code 0} and {@code 32}.
+     */
+    private final int weightWidth;
+
+    /**
+     * The smallest weight, which is added to every packed weight.
+     */
+    private final long minWeight;
+
+    /**
+     * Constructs a new {@link CompressedGraph} with the given nodes and edges.
+     * @param nodes the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @throws IllegalArgumentException if an edge is connected to a node that is not in {@code nodes}.
+     */
+    public CompressedGraph(Set<N> nodes, Set<Edge<N>> edges) {
+        this(NodeIndex.of(nodes), edges);
+    }
+
+    /**
+     * Constructs a new {@link CompressedGraph} with the nodes of the given index and the given edges.
+     * @param nodeIndex the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @throws IllegalArgumentException if an edge is connected to a node that is not in {@code nodeIndex}.
+     */
+    private CompressedGraph(NodeIndex<N> nodeIndex, Set<Edge<N>> edges) {
+        this(nodeIndex, CsrGraph.knownEdges(nodeIndex, edges));
+    }
+
+    /**
+     * Constructs a new {@link CompressedGraph} with the same node ids, nodes and edges as the given graph.
+     * The node index of the given graph is shared and must not be modified afterwards.
+     * @param graph the graph to compress.
+     */
+    public CompressedGraph(IntGraph<N> graph) {
+        this(graph.nodeIndex(), EdgeList.of(graph));
+    }
+
+    /**
+     * Constructs a new {@link CompressedGraph} with the nodes of the given index and the edges of the given list.
+     *
+     * <p>
+     * The node ids of the graph are the ids of the index, and the index must not be modified afterwards.
+     * If the list contains several edges between the same nodes, the last one is kept, like in
+     * {@link CsrGraph#CsrGraph(NodeIndex, EdgeList)}. The adjacency is encoded directly from the slots of the list,
+     * without building a {@link CsrGraph} or an array with the weights of all slots first.
+     * </p>
+     *
+     * @param nodeIndex the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @throws IndexOutOfBoundsException if an edge is connected to an id that is not in {@code nodeIndex}.
+     */
+    public CompressedGraph(NodeIndex<N> nodeIndex, EdgeList edges) {
+        this(nodeIndex, edges, CsrGraph.buildSlots(nodeIndex.size(), edges.size(), edges::a, edges::b));
+    }
+
+    /**
+     * Constructs a new {@link CompressedGraph} from the slots of the given edges.
+     * @param nodeIndex the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @param slots the offsets, targets and edge positions arrays of {@link CsrGraph#buildSlots}.
+     */
+    private CompressedGraph(NodeIndex<N> nodeIndex, EdgeList edges, int[][] slots) {
+        super(nodeIndex, CsrGraph.countEdges(slots[0], slots[1]));
+        final int nodeCount = nodeIndex.size();
+        final int[] targets = slots[1];
+        final int[] positions = slots[2];
+        this.slotOffsets = slots[0];
+        this.byteOffsets = new int[nodeCount + 1];
+
+        byte[] bytes = new byte[Math.max(16, targets.length)];
+        int position = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            byteOffsets[node] = position;
+            int previous = node;
+            for (int slot = slotOffsets[node]; slot < slotOffsets[node + 1]; slot++) {
+                final int target = targets[slot];
+                final int value = slot == slotOffsets[node] ? zigzag(target - previous) : target - previous;
+                previous = target;
+                if (bytes.length - position < 5) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+                position = writeVarint(bytes, position, value);
+            }
+        }
+        byteOffsets[nodeCount] = position;
+        this.adjacency = Arrays.copyOf(bytes, position);
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int edge : positions) {
+            min = Math.min(min, edges.weight(edge));
+            max = Math.max(max, edges.weight(edge));
+        }
+        this.minWeight = positions.length == 0 ? 0 : min;
+        this.weightWidth = positions.length == 0 ? 0 : 64 - Long.numberOfLeadingZeros(max - min);
+        this.weightBits = new long[(int) (((long) positions.length * weightWidth + 63) >>> 6)];
+        for (int slot = 0; slot < positions.length; slot++) {
+            packWeight(slot, edges.weight(positions[slot]) - minWeight);
+        }
+    }
+
+    /**
+     * Maps signed integers to unsigned ones, so that values close to zero have short varints.
+     * @param value the signed value.
+     * @return the unsigned value.
+     */
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Reverses {@link #zigzag(int)}.
+     * @param value the unsigned value.
+     * @return the signed value.
+     */
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes the given value as a varint.
+     * @param bytes the array to write to, with at least 5 free bytes.
+     * @param position the position to write to.
+     * @param value the value, interpreted as unsigned.
+     * @return the position after the varint.
+     */
+    private static int writeVarint(byte[] bytes, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Stores the given packed weight in the given slot.
+     * @param slot the slot.
+     * @param value the weight minus {@link #minWeight}.
+     */
+    private void packWeight(int slot, long value) {
+        if (weightWidth == 0) {
+            return;
+        }
+        final long bit = (long) slot * weightWidth;
+        final int word = (int) (bit >>> 6);
+        final int shift = (int) (bit & 63);
+        weightBits[word] |= value << shift;
+        if (shift + weightWidth > 64) {
+            weightBits[word + 1] |= value >>> (64 - shift);
+        }
+    }
+
+    @Override
+    public int offset(int index) {
+        return slotOffsets[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> This implementation finds the node of the slot and decodes its adjacency up to the slot.
+     */
+    @Override
+    public int target(int slot) {
+        int low = 0;
+        int high = nodeCount() - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (slotOffsets[middle] <= slot) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        final Cursor cursor = cursor(low);
+        int target = cursor.next();
+        while (cursor.slot <= slot) {
+            target = cursor.next();
+        }
+        return target;
+    }
+
+    @Override
+    public int weight(int slot) {
+        if (weightWidth == 0) {
+            return (int) minWeight;
+        }
+        final long bit = (long) slot * weightWidth;
+        final int word = (int) (bit >>> 6);
+        final int shift = (int) (bit & 63);
+        long value = weightBits[word] >>> shift;
+        if (shift + weightWidth > 64) {
+            value |= weightBits[word + 1] << (64 - shift);
+        }
+        return (int) (minWeight + (value & ((1L << weightWidth) - 1)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> This implementation decodes the adjacency of {@code a} up to {@code b}.
+     */
+    @Override
+    public int findSlot(int a, int b) {
+        final Cursor cursor = cursor(a);
+        while (cursor.hasNext()) {
+            final int target = cursor.next();
+            if (target >= b) {
+                return target == b ? cursor.slot - 1 : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of bytes used by the arrays of this graph, not counting the node index.
+     * @return the size of the compressed adjacency in bytes.
+     */
+    public long compressedBytes() {
+        return adjacency.length + 8L * weightBits.length + 4L * byteOffsets.length + 4L * slotOffsets.length;
+    }
+
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        return new GraphFootprint.Report(getClass().getSimpleName(), nodeCount(), edgeCount(), 0, 0,
+            compressedBytes() + 4L * MemoryLayout.ARRAY_HEADER, nodeIndex.estimateBytes(), 0);
+    }
+
+    @Override
+    public void forEachAdjacent(int node, IntAdjacencyConsumer action) {
+        final byte[] bytes = adjacency;
+        int position = byteOffsets[node];
+        final int start = slotOffsets[node];
+        final int end = slotOffsets[node + 1];
+        int target = node;
+        for (int slot = start; slot < end; slot++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            target = slot == start ? node + unzigzag(value) : target + value;
+            action.accept(target, weight(slot));
+        }
+    }
+
+    @Override
+    protected Cursor cursor(int index) {
+        return new VarintCursor(index);
+    }
+
+    /**
+     * Decodes the adjacency of a single node, one neighbor at a time.
+     */
+    private class VarintCursor extends Cursor {
+
+        /**
+         * The position of the next varint in {@link #adjacency}.
+         */
+        private int position;
+
+        /**
+         * The id of the last decoded neighbor.
+         */
+        private int target;
+
+        VarintCursor(int node) {
+            super(node);
+            this.position = byteOffsets[node];
+            this.target = node;
+        }
+
+        @Override
+        public int next() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = adjacency[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            target = slot == slotOffsets[node] ? node + unzigzag(value) : target + value;
+            slot++;
+            return target;
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An implementation of a {@link MutableGraph} that can be modified and read by many threads at the same time.
+ *
+ * <p>
+ * Every node is mapped to a concurrent map from its neighbors to the edges between them.
+ * Adding nodes does not block. Adding or removing an edge locks the stripes of both of its nodes, always in the
+ * same order, so that edges between different nodes can be changed in parallel, and no other writer can see or
+ * create an edge that is stored at only one of its nodes. Removing a node removes its edges one by one,
+ * so its cost is proportional to its degree.
+ * </p>
+ *
+ * <p>
+ * Reads never see an edge that is stored at only one of its nodes. Every edge that is read at one node is checked
+ * against the map of its other node, which only costs a second lookup. If both maps do not hold the same edge, a
+ * writer is between updating them, and the edge is read again while holding the locks of both nodes. Apart from
+ * that, reads do not block. The sets returned by this graph are live views. Like the views of a
+ * {@link ConcurrentHashMap}, iterating over them is weakly consistent: it never fails, but may or may not see
+ * modifications that are made during the iteration, and their sizes and the degrees of nodes may count edges that
+ * a writer is still adding or removing. {@link #toGraph()} and {@link #toMutableGraph()} therefore only return a
+ * consistent copy if no thread modifies this graph during the call. Like {@link ConcurrentHashMap}, this graph does
+ * not support {@code null} nodes.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public class ConcurrentMutableGraph<N> implements MutableGraph<N>, GraphFootprint.Estimable {
+
+    /**
+     * The number of lock stripes. Must be a power of two.
+     */
+    private static final int STRIPES = 64;
+
+    /**
+     * A map from nodes to a map from their neighbors to the edges between them.
+     * If a node has no adjacent edges, it is mapped to an empty map.
+     */
+    private final ConcurrentMap<N, ConcurrentMap<N, Edge<N>>> adjacency = new ConcurrentHashMap<>();
+
+    /**
+     * The locks that guard the adjacency maps. The map of a node is guarded by {@link #stripeOf(Object)}.
+     */
+    private final Object[] locks = new Object[STRIPES];
+
+    /**
+     * The number of edges in this graph.
+     */
+    private final AtomicInteger edgeCount = new AtomicInteger();
+
+    /**
+     * Constructs a new empty {@link ConcurrentMutableGraph}.
+     */
+    public ConcurrentMutableGraph() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Constructs a new {@link ConcurrentMutableGraph} with the given nodes and edges.
+     * @param nodes the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @throws IllegalArgumentException if an edge is connected to a node that is not in {@code nodes}.
+     */
+    public ConcurrentMutableGraph(Set<N> nodes, Set<Edge<N>> edges) {
+        this();
+        for (N node : nodes) {
+            putNode(node);
+        }
+        for (Edge<N> edge : edges) {
+            putEdge(edge.a(), edge.b(), edge.weight());
+        }
+    }
+
+    /**
+     * Returns the index of the lock stripe of the given node.
+     * @param node the node.
+     * @return the index of the lock stripe.
+     */
+    private static int stripeOf(Object node) {
+        final int h = Objects.hashCode(node) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> The adjacency bytes include the locks.
+     */
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        long bytes = MemoryLayout.concurrentHashMap(adjacency.size())
+            + MemoryLayout.array(locks.length, MemoryLayout.REFERENCE) + locks.length * MemoryLayout.object(0)
+            + MemoryLayout.object(Integer.BYTES);
+        for (ConcurrentMap<N, Edge<N>> neighbors : adjacency.values()) {
+            bytes += MemoryLayout.concurrentHashMap(neighbors.size());
+        }
+        return new GraphFootprint.Report(getClass().getSimpleName(), getNodes().size(), getEdges().size(),
+            0, (long) getEdges().size() * GraphFootprint.EDGE, bytes, 0, 0);
+    }
+
+    /**
+     * Returns the neighbors of the given node, throwing an exception if it is not in this graph.
+     * @param node the node.
+     * @return a map from the neighbors of the node to the edges between them.
+     * @throws IllegalArgumentException if the node is not in this graph.
+     */
+    private ConcurrentMap<N, Edge<N>> requireNeighbors(N node) {
+        final ConcurrentMap<N, Edge<N>> neighbors = node == null ? null : adjacency.get(node);
+        if (neighbors == null) {
+            throw new IllegalArgumentException("Node not found: " + node);
+        }
+        return neighbors;
+    }
+
+    /**
+     * Stores the given edge at both of its nodes while holding the locks of both nodes.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @param edge the edge.
+     * @param edgesA the neighbors of {@code a}.
+     * @param edgesB the neighbors of {@code b}.
+     * @return whether the edge was stored, {@code false} if one of the nodes was removed in the meantime.
+     */
+    private boolean storeEdge(N a, N b, Edge<N> edge, ConcurrentMap<N, Edge<N>> edgesA, ConcurrentMap<N, Edge<N>> edgesB) {
+        final int stripeA = stripeOf(a);
+        final int stripeB = stripeOf(b);
+        // always lock the lower stripe first, so that two writers can never wait for each other
+        synchronized (locks[Math.min(stripeA, stripeB)]) {
+            synchronized (locks[Math.max(stripeA, stripeB)]) {
+                if (adjacency.get(a) != edgesA || adjacency.get(b) != edgesB) {
+                    return false;
+                }
+                final boolean added = edgesA.put(b, edge) == null;
+                edgesB.put(a, edge);
+                if (added) {
+                    edgeCount.incrementAndGet();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the edge between the given nodes from both of its nodes while holding the locks of both nodes.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @param edgesA the neighbors of {@code a}.
+     */
+    private void deleteEdge(N a, N b, ConcurrentMap<N, Edge<N>> edgesA) {
+        final int stripeA = stripeOf(a);
+        final int stripeB = stripeOf(b);
+        synchronized (locks[Math.min(stripeA, stripeB)]) {
+            synchronized (locks[Math.max(stripeA, stripeB)]) {
+                // an edge is always stored at both nodes, so b cannot have been removed if the edge is still there
+                if (adjacency.get(a) == edgesA && edgesA.remove(b) != null) {
+                    adjacency.get(b).remove(a);
+                    edgeCount.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the given edge that was read at {@code node} if it is stored at {@code neighbor} as well.
+     * Otherwise, a writer is between updating both nodes, so the edge is read again while holding their locks.
+     * @param node the node at which the edge was read.
+     * @param neighbor the other node of the edge.
+     * @param edge the edge that was read at {@code node}.
+     * @return the edge between the nodes, or {@code null} if there is none.
+     */
+    private Edge<N> checkStored(N node, N neighbor, Edge<N> edge) {
+        final ConcurrentMap<N, Edge<N>> other = adjacency.get(neighbor);
+        if (other != null && other.get(node) == edge) {
+            return edge;
+        }
+        final int stripeA = stripeOf(node);
+        final int stripeB = stripeOf(neighbor);
+        synchronized (locks[Math.min(stripeA, stripeB)]) {
+            synchronized (locks[Math.max(stripeA, stripeB)]) {
+                final ConcurrentMap<N, Edge<N>> neighbors = adjacency.get(node);
+                return neighbors == null ? null : neighbors.get(neighbor);
+            }
+        }
+    }
+
+    @Override
+    public Set<N> getNodes() {
+        return Collections.unmodifiableSet(adjacency.keySet());
+    }
+
+    @Override
+    public Set<Edge<N>> getEdges() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Edge<N>> iterator() {
+                return new EdgeIterator(adjacency.entrySet().iterator(), true);
+            }
+
+            @Override
+            public int size() {
+                return edgeCount.get();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                if (!(o instanceof Edge<?> edge) || edge.a() == null || edge.b() == null) {
+                    return false;
+                }
+                final ConcurrentMap<N, Edge<N>> neighbors = adjacency.get(edge.a());
+                final Edge<N> stored = neighbors == null ? null : neighbors.get(edge.b());
+                return stored != null && checkStored((N) edge.a(), (N) edge.b(), stored) != null;
+            }
+        };
+    }
+
+    @Override
+    public Set<Edge<N>> getAdjacentEdges(N node) {
+        final ConcurrentMap<N, Edge<N>> neighbors = requireNeighbors(node);
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Edge<N>> iterator() {
+                return new EdgeIterator(Map.of(node, neighbors).entrySet().iterator(), false);
+            }
+
+            @Override
+            public int size() {
+                return neighbors.size();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                if (!(o instanceof Edge<?> edge) || edge.a() == null || edge.b() == null) {
+                    return false;
+                }
+                final Object neighbor = Objects.equals(edge.a(), node) ? edge.b()
+                    : Objects.equals(edge.b(), node) ? edge.a() : null;
+                final Edge<N> stored = neighbor == null ? null : neighbors.get(neighbor);
+                return stored != null && checkStored(node, (N) neighbor, stored) != null;
+            }
+        };
+    }
+
+    @Override
+    public void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        for (Map.Entry<N, Edge<N>> entry : requireNeighbors(node).entrySet()) {
+            final Edge<N> edge = checkStored(node, entry.getKey(), entry.getValue());
+            if (edge != null) {
+                action.accept(entry.getKey(), edge.weight());
+            }
+        }
+    }
+
+    @Override
+    public int degree(N node) {
+        return requireNeighbors(node).size();
+    }
+
+    @Override
+    public Edge<N> getEdge(N a, N b) {
+        final ConcurrentMap<N, Edge<N>> neighbors = requireNeighbors(a);
+        final Edge<N> edge = b == null ? null : neighbors.get(b);
+        return edge == null ? null : checkStored(a, b, edge);
+    }
+
+    @Override
+    public MutableGraph<N> toMutableGraph() {
+        return MutableGraph.of(Set.copyOf(getNodes()), Set.copyOf(getEdges()));
+    }
+
+    @Override
+    public Graph<N> toGraph() {
+        return Graph.of(Set.copyOf(getNodes()), Set.copyOf(getEdges()));
+    }
+
+    @Override
+    public MutableGraph<N> putNode(N node) {
+        adjacency.computeIfAbsent(node, k -> new ConcurrentHashMap<>());
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> putEdge(N a, N b, int weight) {
+        final ConcurrentMap<N, Edge<N>> edgesA = adjacency.get(a);
+        final ConcurrentMap<N, Edge<N>> edgesB = adjacency.get(b);
+        if (edgesA == null || edgesB == null || !storeEdge(a, b, Edge.of(a, b, weight), edgesA, edgesB)) {
+            throw new IllegalArgumentException("Node not found: " + (adjacency.containsKey(a) ? b : a));
+        }
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> putEdgesAndNodes(N a, N b, int weight) {
+        final Edge<N> edge = Edge.of(a, b, weight);
+        while (true) {
+            final ConcurrentMap<N, Edge<N>> edgesA = adjacency.computeIfAbsent(a, k -> new ConcurrentHashMap<>());
+            final ConcurrentMap<N, Edge<N>> edgesB = adjacency.computeIfAbsent(b, k -> new ConcurrentHashMap<>());
+            if (storeEdge(a, b, edge, edgesA, edgesB)) {
+                return this;
+            }
+        }
+    }
+
+    @Override
+    public MutableGraph<N> removeEdge(N a, N b) {
+        final ConcurrentMap<N, Edge<N>> edgesA = adjacency.get(a);
+        if (edgesA == null || !adjacency.containsKey(b)) {
+            throw new IllegalArgumentException("Node not found: " + (edgesA == null ? a : b));
+        }
+
+        deleteEdge(a, b, edgesA);
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> removeNode(N node) {
+        final ConcurrentMap<N, Edge<N>> neighbors = adjacency.get(node);
+        if (neighbors == null) {
+            return this;
+        }
+
+        while (true) {
+            for (N neighbor : neighbors.keySet()) {
+                deleteEdge(node, neighbor, neighbors);
+            }
+            // edges are only stored while holding the lock of the node, so the node can be removed once it has none
+            synchronized (locks[stripeOf(node)]) {
+                if (neighbors.isEmpty()) {
+                    adjacency.remove(node, neighbors);
+                    return this;
+                }
+            }
+        }
+    }
+
+    /**
+     * An iterator over the edges of some nodes, which only returns edges that are stored at both of their nodes.
+     */
+    private class EdgeIterator implements Iterator<Edge<N>> {
+
+        /**
+         * The remaining nodes with their neighbors.
+         */
+        private final Iterator<Map.Entry<N, ConcurrentMap<N, Edge<N>>>> nodes;
+
+        /**
+         * Whether every edge is only returned at its node {@link Edge#a()}, so that it is returned once when
+         * iterating over all nodes.
+         */
+        private final boolean onlyAtA;
+
+        /**
+         * The node whose edges are currently iterated.
+         */
+        private N node;
+
+        /**
+         * The remaining neighbors of {@link #node} with the edges between them.
+         */
+        private Iterator<Map.Entry<N, Edge<N>>> edges = Collections.emptyIterator();
+
+        /**
+         * The next edge to return, or {@code null} when the iteration is finished.
+         */
+        private Edge<N> next;
+
+        /**
+         * Constructs a new iterator over the edges of the given nodes.
+         * @param nodes the nodes with their neighbors.
+         * @param onlyAtA whether every edge is only returned at its node {@link Edge#a()}.
+         */
+        EdgeIterator(Iterator<Map.Entry<N, ConcurrentMap<N, Edge<N>>>> nodes, boolean onlyAtA) {
+            this.nodes = nodes;
+            this.onlyAtA = onlyAtA;
+            advance();
+        }
+
+        /**
+         * Finds the next edge and stores it in {@link #next}.
+         */
+        private void advance() {
+            while (true) {
+                while (edges.hasNext()) {
+                    final Map.Entry<N, Edge<N>> entry = edges.next();
+                    if (onlyAtA && !Objects.equals(entry.getValue().a(), node)) {
+                        continue;
+                    }
+                    final Edge<N> edge = checkStored(node, entry.getKey(), entry.getValue());
+                    if (edge != null && (!onlyAtA || Objects.equals(edge.a(), node))) {
+                        next = edge;
+                        return;
+                    }
+                }
+                if (!nodes.hasNext()) {
+                    next = null;
+                    return;
+                }
+                final Map.Entry<N, ConcurrentMap<N, Edge<N>>> entry = nodes.next();
+                node = entry.getKey();
+                edges = entry.getValue().entrySet().iterator();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Edge<N> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Edge<N> result = next;
+            advance();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * An implementation of an immutable {@link Graph} that stores its adjacency in compressed sparse row (CSR) form,
+ * in flat arrays on the heap.
+ *
+ * <p>
+ * The neighbors of the node with index {@code i} are stored in the slots
+ * [{@link #offsets}[i], {@link #offsets}[i + 1]) of the {@link #targets} and {@link #weights} arrays,
+ * sorted by the index of the neighbor. See {@link AbstractCsrGraph} for the index-based API.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public class CsrGraph<N> extends AbstractCsrGraph<N> implements GraphFootprint.Estimable {
+
+    /**
+     * The start of the adjacency slots of each node. Has length {@link #nodeCount()} + 1,
+     * the last element is the total number of slots.
+     */
+    private final int[] offsets;
+
+    /**
+     * The index of the neighbor stored in each slot.
+     */
+    private final int[] targets;
+
+    /**
+     * The weight of the edge stored in each slot.
+     */
+    private final int[] weights;
+
+    /**
+     * Constructs a new {@link CsrGraph} with the given nodes and edges.
+     * @param nodes the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @throws IllegalArgumentException if an edge is connected to a node that is not in {@code nodes}.
+     */
+    public CsrGraph(Set<N> nodes, Set<Edge<N>> edges) {
+        this(NodeIndex.of(nodes), edges);
+    }
+
+    /**
+     * Constructs a new {@link CsrGraph} with the nodes of the given index and the given edges.
+     * @param nodeIndex the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @throws IllegalArgumentException if an edge is connected to a node that is not in {@code nodeIndex}.
+     */
+    private CsrGraph(NodeIndex<N> nodeIndex, Set<Edge<N>> edges) {
+        this(nodeIndex, knownEdges(nodeIndex, edges));
+    }
+
+    /**
+     * Constructs a new {@link CsrGraph} with the nodes of the given index and the edges of the given list.
+     *
+     * <p>
+     * The node ids of the graph are the ids of the index, and the index must not be modified afterwards.
+     * If the list contains several edges between the same nodes, the last one is kept,
+     * just like {@link MutableGraph#putEdge(Object, Object, int)} replaces existing edges.
+     * </p>
+     *
+     * @param nodeIndex the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @throws IndexOutOfBoundsException if an edge is connected to an id that is not in {@code nodeIndex}.
+     */
+    public CsrGraph(NodeIndex<N> nodeIndex, EdgeList edges) {
+        this(nodeIndex, buildRows(nodeIndex.size(), edges));
+    }
+
+    /**
+     * Constructs a new {@link CsrGraph} that takes ownership of the given rows.
+     * @param nodeIndex the nodes in the graph.
+     * @param rows the offsets, targets and weights arrays, sorted and without duplicates.
+     */
+    private CsrGraph(NodeIndex<N> nodeIndex, int[][] rows) {
+        super(nodeIndex, countEdges(rows[0], rows[1]));
+        offsets = rows[0];
+        targets = rows[1];
+        weights = rows[2];
+    }
+
+    /**
+     * Converts the given edges into an {@link EdgeList} over the given index.
+     * @param nodeIndex the index of all nodes of the graph.
+     * @param edges the edges.
+     * @param <N> the type of the nodes.
+     * @return the edges as an {@link EdgeList}.
+     * @throws IllegalArgumentException if an edge is connected to a node that is not in {@code nodeIndex}.
+     */
+    static <N> EdgeList knownEdges(NodeIndex<N> nodeIndex, Set<Edge<N>> edges) {
+        final int nodeCount = nodeIndex.size();
+        final EdgeList list = EdgeList.of(edges, nodeIndex);
+        if (nodeIndex.size() != nodeCount) {
+            throw new IllegalArgumentException("Node not found: " + nodeIndex.nodeAt(nodeCount));
+        }
+        return list;
+    }
+
+    /**
+     * Builds the offsets, targets and weights arrays from the given edges.
+     * @param nodeCount the number of nodes.
+     * @param edges the edges.
+     * @return the offsets, targets and weights arrays.
+     */
+    private static int[][] buildRows(int nodeCount, EdgeList edges) {
+        final int[][] slots = buildSlots(nodeCount, edges.size(), edges::a, edges::b);
+        final int[] weights = slots[2];
+        for (int slot = 0; slot < weights.length; slot++) {
+            weights[slot] = edges.weight(weights[slot]);
+        }
+        return slots;
+    }
+
+    /**
+     * Builds the offsets and targets arrays from the given edges, together with the position of the edge that is
+     * stored in every slot, so that graphs with other weight types can look up their weights.
+     *
+     * <p>
+     * The slots are first filled in edge order. Then every row is sorted by neighbor and position,
+     * and only the last edge to every neighbor is kept.
+     * </p>
+     *
+     * @param nodeCount the number of nodes.
+     * @param edgeCount the number of edges.
+     * @param a the id of the first node of the edge at every position.
+     * @param b the id of the second node of the edge at every position.
+     * @return the offsets, targets and edge positions arrays.
+     * @throws IndexOutOfBoundsException if an edge is connected to an id that is not in [0, {@code nodeCount}).
+     */
+    static int[][] buildSlots(int nodeCount, int edgeCount, IntUnaryOperator a, IntUnaryOperator b) {
+        int[] offsets = new int[nodeCount + 1];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            final int nodeA = Objects.checkIndex(a.applyAsInt(edge), nodeCount);
+            final int nodeB = Objects.checkIndex(b.applyAsInt(edge), nodeCount);
+            offsets[nodeA + 1]++;
+            if (nodeA != nodeB) {
+                offsets[nodeB + 1]++;
+            }
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+
+        int[] targets = new int[offsets[nodeCount]];
+        int[] positions = new int[offsets[nodeCount]];
+        final int[] next = Arrays.copyOf(offsets, nodeCount);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            final int nodeA = a.applyAsInt(edge);
+            final int nodeB = b.applyAsInt(edge);
+            int slot = next[nodeA]++;
+            targets[slot] = nodeB;
+            positions[slot] = edge;
+            if (nodeA != nodeB) {
+                slot = next[nodeB]++;
+                targets[slot] = nodeA;
+                positions[slot] = edge;
+            }
+        }
+
+        long[] buffer = new long[0];
+        int write = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            final int from = offsets[node];
+            final int degree = offsets[node + 1] - from;
+            if (buffer.length < degree) {
+                buffer = new long[degree];
+            }
+            for (int i = 0; i < degree; i++) {
+                buffer[i] = ((long) targets[from + i] << 32) | positions[from + i];
+            }
+            Arrays.sort(buffer, 0, degree);
+            offsets[node] = write;
+            for (int i = 0; i < degree; i++) {
+                final int target = (int) (buffer[i] >>> 32);
+                if (i + 1 < degree && (int) (buffer[i + 1] >>> 32) == target) {
+                    continue;
+                }
+                targets[write] = target;
+                positions[write] = (int) buffer[i];
+                write++;
+            }
+        }
+        offsets[nodeCount] = write;
+        if (write < targets.length) {
+            targets = Arrays.copyOf(targets, write);
+            positions = Arrays.copyOf(positions, write);
+        }
+        return new int[][] {offsets, targets, positions};
+    }
+
+    /**
+     * Counts the undirected edges in the given rows. Every edge occupies two slots, except for self-loops.
+     * @param offsets the offsets array.
+     * @param targets the targets array.
+     * @return the number of undirected edges.
+     */
+    static int countEdges(int[] offsets, int[] targets) {
+        int edgeCount = 0;
+        for (int node = 0; node + 1 < offsets.length; node++) {
+            for (int slot = offsets[node]; slot < offsets[node + 1]; slot++) {
+                if (targets[slot] >= node) {
+                    edgeCount++;
+                }
+            }
+        }
+        return edgeCount;
+    }
+
+    @Override
+    public int offset(int index) {
+        return offsets[index];
+    }
+
+    @Override
+    public int target(int slot) {
+        return targets[slot];
+    }
+
+    @Override
+    public int weight(int slot) {
+        return weights[slot];
+    }
+
+    @Override
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    @Override
+    public void forEachAdjacent(int node, IntAdjacencyConsumer action) {
+        final int end = offsets[node + 1];
+        for (int slot = offsets[node]; slot < end; slot++) {
+            action.accept(targets[slot], weights[slot]);
+        }
+    }
+
+    @Override
+    public int findSlot(int a, int b) {
+        final int slot = Arrays.binarySearch(targets, offsets[a], offsets[a + 1], b);
+        return slot < 0 ? -1 : slot;
+    }
+
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        return new GraphFootprint.Report(getClass().getSimpleName(), nodeCount(), edgeCount(), 0, 0,
+            MemoryLayout.array(offsets.length, Integer.BYTES) + MemoryLayout.array(targets.length, Integer.BYTES)
+                + MemoryLayout.array(weights.length, Integer.BYTES),
+            nodeIndex.estimateBytes(), 0);
+    }
+}
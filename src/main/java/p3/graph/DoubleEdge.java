@@ -0,0 +1,17 @@
+package p3.graph;
+
+/**
+ * An undirected edge with a {@code double} weight, for fractional weights like distances in kilometers.
+ *
+ * <p>
+ * Unlike an {@link Edge}, this is a plain value: two double edges are only equal if they have the same nodes
+ * in the same order and the same weight. It is used to build and query a {@link DoubleCsrGraph}.
+ * </p>
+ *
+ * @param a one of the nodes of the edge.
+ * @param b the other node of the edge.
+ * @param weight the weight of the edge.
+ * @param <N> the type of the nodes in the graph.
+ */
+public record DoubleEdge<N>(N a, N b, double weight) {
+}
@@ -32,12 +32,14 @@ public interface Edge<N> extends Comparable<Edge<N>> {
     /**
      * Two edges are equal if they have the same nodes.
      *
-     * <p>More precisely, two edges <code>x</code> and <code>y</code> are equal iff:</p>
+     * <p>More precisely, two edges <code>x</code> and <code>y</code> are equal iff either:</p>
      * <ul>
-     *     <li><code>Objects.equals(x.getA(), y.getA())</code></li>
-     *     <li><code>Objects.equals(x.getB(), y.getB())</code></li>
+     *     <li><code>Objects.equals(x.a(), y.a())</code> and <code>Objects.equals(x.b(), y.b())</code>, or</li>
+     *     <li><code>Objects.equals(x.a(), y.b())</code> and <code>Objects.equals(x.b(), y.a())</code></li>
      * </ul>
      *
+     * <p>Equal edges must have equal hash codes, so the hash code must not depend on the order of the nodes.</p>
+     *
      * @param other the other edge
      * @return true if the edges are equal, false otherwise
      */
@@ -4,24 +4,83 @@ import java.util.Objects;
 
 /**
  * A basic implementation of an {@link Edge}.
- * @param a The first node in the edge.
- * @param b The second node in the edge.
- * @param weight The weight of the edge.
+ *
+ * <p>
+ * The nodes are stored in the order they were given, so {@link #a()} and {@link #b()} return the first and second
+ * argument of {@link Edge#of(Object, Object, int)}. The hash code of the edge is computed once from the hash codes
+ * of both nodes in a way that does not depend on their order, so it is the same for {@code (a, b)} and
+ * {@code (b, a)}.
+ * </p>
+ *
  * @param <N> The type of the nodes in the graph.
  */
-record EdgeImpl<N>(N a, N b, int weight) implements Edge<N> {
+final class EdgeImpl<N> implements Edge<N> {
+
+    /**
+     * The first node in the edge.
+     */
+    private final N a;
+
+    /**
+     * The second node in the edge.
+     */
+    private final N b;
+
+    /**
+     * The weight of the edge.
+     */
+    private final int weight;
+
+    /**
+     * The cached hash code of the edge.
+     */
+    private final int hash;
+
+    /**
+     * Constructs a new edge.
+     * @param a The first node in the edge.
+     * @param b The second node in the edge.
+     * @param weight The weight of the edge.
+     */
+    EdgeImpl(N a, N b, int weight) {
+        this.a = a;
+        this.b = b;
+        this.weight = weight;
+        final int hashA = Objects.hashCode(a);
+        final int hashB = Objects.hashCode(b);
+        this.hash = 31 * Math.min(hashA, hashB) + Math.max(hashA, hashB);
+    }
+
+    @Override
+    public N a() {
+        return a;
+    }
+
+    @Override
+    public N b() {
+        return b;
+    }
+
+    @Override
+    public int weight() {
+        return weight;
+    }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        EdgeImpl<?> edge = (EdgeImpl<?>) o;
+        if (!(o instanceof EdgeImpl<?> edge) || hash != edge.hash) return false;
         return ((Objects.equals(a, edge.a) && Objects.equals(b, edge.b)) ||
                 (Objects.equals(a, edge.b) && Objects.equals(b, edge.a)));
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(a, b) + Objects.hash(a, b);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "EdgeImpl[a=" + a + ", b=" + b + ", weight=" + weight + "]";
     }
 }
@@ -0,0 +1,63 @@
+package p3.graph;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shares a single {@link Edge} instance between all requests for the same nodes and weight.
+ *
+ * <p>
+ * Loaders that read a graph create many equal edges, for example one per direction of a road.
+ * Passing them through an interner keeps only one instance per pair of nodes, so the sets of a graph
+ * reference the same object and compare it by identity first.
+ * If an edge between the same nodes is requested with a different weight, the new edge replaces the old one.
+ * </p>
+ *
+ * @param <N> the type of the nodes in the graph.
+ */
+public final class EdgeInterner<N> {
+
+    /**
+     * The interned edges. Since edges are equal regardless of their weight, every pair of nodes has one entry.
+     */
+    private final Map<Edge<N>, Edge<N>> edges = new HashMap<>();
+
+    /**
+     * Returns the interned edge between the given nodes with the given weight.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @param weight the weight of the edge.
+     * @return an edge between the given nodes with the given weight, which is the same instance for all calls
+     * with the same nodes and weight since the last call with a different weight. Its nodes are in the order of the
+     * call that created it, which may be {@code (b, a)}.
+     */
+    public Edge<N> intern(N a, N b, int weight) {
+        final Edge<N> edge = Edge.of(a, b, weight);
+        final Edge<N> existing = edges.putIfAbsent(edge, edge);
+        if (existing == null) {
+            return edge;
+        }
+        if (existing.weight() != weight) {
+            edges.put(edge, edge);
+            return edge;
+        }
+        return existing;
+    }
+
+    /**
+     * Returns the interned edge that is equal to the given edge and has the same weight.
+     * @param edge the edge.
+     * @return the interned edge.
+     */
+    public Edge<N> intern(Edge<N> edge) {
+        return intern(edge.a(), edge.b(), edge.weight());
+    }
+
+    /**
+     * Returns the number of interned edges.
+     * @return the number of interned edges.
+     */
+    public int size() {
+        return edges.size();
+    }
+}
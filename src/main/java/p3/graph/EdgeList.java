@@ -0,0 +1,209 @@
+package p3.graph;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A growable list of edges between int node ids, stored column-wise in three primitive arrays.
+ *
+ * <p>
+ * Every edge occupies one position in each of the arrays {@link #a}, {@link #b} and {@link #weights},
+ * instead of being an {@link Edge} object of its own. This makes bulk operations like sorting by weight,
+ * filtering and building graphs work on primitive arrays only.
+ * The ids usually come from a {@link NodeIndex}, which converts them back to nodes.
+ * </p>
+ *
+ * <p>
+ * Unlike a {@code Set<Edge<N>>}, an edge list may contain several edges between the same nodes.
+ * </p>
+ */
+public final class EdgeList {
+
+    /**
+     * The id of the first node of every edge.
+     */
+    private int[] a;
+
+    /**
+     * The id of the second node of every edge.
+     */
+    private int[] b;
+
+    /**
+     * The weight of every edge.
+     */
+    private int[] weights;
+
+    /**
+     * The number of edges in this list.
+     */
+    private int size;
+
+    /**
+     * Constructs a new empty {@link EdgeList}.
+     */
+    public EdgeList() {
+        this(16);
+    }
+
+    /**
+     * Constructs a new empty {@link EdgeList} that can hold the given number of edges without resizing.
+     * @param capacity the expected number of edges.
+     */
+    public EdgeList(int capacity) {
+        a = new int[capacity];
+        b = new int[capacity];
+        weights = new int[capacity];
+    }
+
+    /**
+     * Creates a new {@link EdgeList} with the given edges, interning their nodes in the given index.
+     * @param edges the edges.
+     * @param nodeIndex the index that assigns ids to the nodes of the edges. Nodes that are not in the index yet are added.
+     * @return a new {@link EdgeList} with the given edges.
+     * @param <N> the type of the nodes.
+     */
+    public static <N> EdgeList of(Collection<? extends Edge<N>> edges, NodeIndex<N> nodeIndex) {
+        final EdgeList list = new EdgeList(edges.size());
+        for (Edge<N> edge : edges) {
+            list.add(nodeIndex.intern(edge.a()), nodeIndex.intern(edge.b()), edge.weight());
+        }
+        return list;
+    }
+
+    /**
+     * Creates a new {@link EdgeList} with the edges of the given graph. Every edge is added once,
+     * with the smaller id first.
+     * @param graph the graph.
+     * @return a new {@link EdgeList} with the edges of the graph.
+     */
+    public static EdgeList of(IntGraph<?> graph) {
+        final EdgeList list = new EdgeList(graph.edgeCount());
+        final int[] node = new int[1];
+        final IntAdjacencyConsumer collect = (neighbor, weight) -> {
+            if (neighbor >= node[0]) {
+                list.add(node[0], neighbor, weight);
+            }
+        };
+        for (node[0] = 0; node[0] < graph.nodeCount(); node[0]++) {
+            graph.forEachAdjacent(node[0], collect);
+        }
+        return list;
+    }
+
+    /**
+     * Appends an edge to this list.
+     * @param a the id of the first node.
+     * @param b the id of the second node.
+     * @param weight the weight of the edge.
+     */
+    public void add(int a, int b, int weight) {
+        if (size == this.a.length) {
+            final int capacity = Math.max(16, size + (size >> 1));
+            this.a = Arrays.copyOf(this.a, capacity);
+            this.b = Arrays.copyOf(this.b, capacity);
+            this.weights = Arrays.copyOf(this.weights, capacity);
+        }
+        this.a[size] = a;
+        this.b[size] = b;
+        this.weights[size] = weight;
+        size++;
+    }
+
+    /**
+     * Returns the number of edges in this list.
+     * @return the number of edges in this list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the id of the first node of the edge at the given position.
+     * @param index the position of the edge.
+     * @return the id of the first node.
+     */
+    public int a(int index) {
+        Objects.checkIndex(index, size);
+        return a[index];
+    }
+
+    /**
+     * Returns the id of the second node of the edge at the given position.
+     * @param index the position of the edge.
+     * @return the id of the second node.
+     */
+    public int b(int index) {
+        Objects.checkIndex(index, size);
+        return b[index];
+    }
+
+    /**
+     * Returns the weight of the edge at the given position.
+     * @param index the position of the edge.
+     * @return the weight of the edge.
+     */
+    public int weight(int index) {
+        Objects.checkIndex(index, size);
+        return weights[index];
+    }
+
+    /**
+     * Sorts the edges in this list by weight, in ascending order.
+     * The sort is stable, edges with the same weight keep their relative order.
+     * @return this list.
+     */
+    public EdgeList sortByWeight() {
+        // the weight in the upper half and the position in the lower half make every key unique
+        final long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) weights[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        final int[] sortedA = new int[a.length];
+        final int[] sortedB = new int[b.length];
+        for (int i = 0; i < size; i++) {
+            final int from = (int) keys[i];
+            sortedA[i] = a[from];
+            sortedB[i] = b[from];
+            weights[i] = (int) (keys[i] >> 32);
+        }
+        a = sortedA;
+        b = sortedB;
+        return this;
+    }
+
+    /**
+     * Returns a new list with the edges of this list that match the given predicate, in the same order.
+     * @param predicate the predicate.
+     * @return a new list with the matching edges.
+     */
+    public EdgeList filter(IntEdgePredicate predicate) {
+        final EdgeList result = new EdgeList();
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(a[i], b[i], weights[i])) {
+                result.add(a[i], b[i], weights[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts the edges in this list into {@link Edge} objects.
+     * If this list contains several edges between the same nodes, only the first one is kept.
+     * @param nodeIndex the index that maps the ids in this list to nodes.
+     * @return a new mutable set with the edges of this list.
+     * @param <N> the type of the nodes.
+     */
+    public <N> Set<Edge<N>> toEdges(NodeIndex<N> nodeIndex) {
+        final Set<Edge<N>> result = new HashSet<>((int) (size / 0.75f) + 1);
+        for (int i = 0; i < size; i++) {
+            result.add(Edge.of(nodeIndex.nodeAt(a[i]), nodeIndex.nodeAt(b[i]), weights[i]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,407 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A read-only view of the nodes and edges of another graph that match a node and an edge filter.
+ *
+ * <p>
+ * A node is in the view if it is in the underlying graph and matches the node filter. An edge is in the view if
+ * it is in the underlying graph, both of its nodes are in the view and it matches the edge filter.
+ * Nothing is copied: every method filters the results of the underlying graph, so the view reflects later
+ * changes to a mutable underlying graph. The {@code size()} methods of the returned sets therefore have to count
+ * the matching elements and cost O(n) in the size of the unfiltered set.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+final class FilteredGraph<N> implements Graph<N>, GraphFootprint.Estimable {
+
+    /**
+     * The underlying graph.
+     */
+    private final Graph<N> graph;
+
+    /**
+     * The filter for the nodes of the view.
+     */
+    private final Predicate<? super N> nodeFilter;
+
+    /**
+     * The filter for the edges of the view, or {@code null} if all edges between nodes of the view are included.
+     */
+    private final Predicate<? super Edge<N>> edgeFilter;
+
+    /**
+     * Constructs a new {@link FilteredGraph}.
+     * @param graph the underlying graph.
+     * @param nodeFilter the filter for the nodes.
+     * @param edgeFilter the filter for the edges, or {@code null} to include all edges between nodes of the view.
+     */
+    FilteredGraph(Graph<N> graph, Predicate<? super N> nodeFilter, Predicate<? super Edge<N>> edgeFilter) {
+        this.graph = graph;
+        this.nodeFilter = nodeFilter;
+        this.edgeFilter = edgeFilter;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> The predicates are owned by the caller, like the nodes, so only this view and the underlying graph count.
+     */
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        return new GraphFootprint.Report(getClass().getSimpleName(), getNodes().size(), getEdges().size(),
+            0, 0, 0, 0, 0, MemoryLayout.object(3L * MemoryLayout.REFERENCE), GraphFootprint.of(graph));
+    }
+
+    /**
+     * Returns whether the given edge of the underlying graph is in this view.
+     * @param edge the edge.
+     * @return whether the edge is in this view.
+     */
+    private boolean accepts(Edge<N> edge) {
+        return nodeFilter.test(edge.a()) && nodeFilter.test(edge.b()) && (edgeFilter == null || edgeFilter.test(edge));
+    }
+
+    /**
+     * Throws an exception if the given node is not in this view.
+     * @param node the node.
+     * @throws IllegalArgumentException if the node is not in this view.
+     */
+    private void requireNode(N node) {
+        if (!nodeFilter.test(node) || !graph.getNodes().contains(node)) {
+            throw new IllegalArgumentException("Node not found: " + node);
+        }
+    }
+
+    @Override
+    public Set<N> getNodes() {
+        final Set<N> nodes = graph.getNodes();
+        return new FilteredSet<>(nodes, nodeFilter) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                return nodes.contains(o) && nodeFilter.test((N) o);
+            }
+        };
+    }
+
+    @Override
+    public Set<Edge<N>> getEdges() {
+        final Set<Edge<N>> edges = graph.getEdges();
+        return new FilteredSet<>(edges, this::accepts) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                // the nodes of the underlying graph have the type N, so the casts are only made after checking them
+                if (!(o instanceof Edge<?> edge)
+                    || !graph.getNodes().contains(edge.a()) || !graph.getNodes().contains(edge.b())
+                    || !nodeFilter.test((N) edge.a()) || !nodeFilter.test((N) edge.b())) {
+                    return false;
+                }
+                final Edge<N> stored = graph.getEdge((N) edge.a(), (N) edge.b());
+                return stored != null && (edgeFilter == null || edgeFilter.test(stored));
+            }
+        };
+    }
+
+    @Override
+    public Set<Edge<N>> getAdjacentEdges(N node) {
+        requireNode(node);
+        return new FilteredSet<>(graph.getAdjacentEdges(node), this::accepts);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Without an edge filter, this implementation wraps the action once per call and passes the neighbors of the
+     * underlying graph through the node filter, so no edges are created. With an edge filter, the edges of the
+     * underlying graph are needed and this implementation iterates over the filtered adjacent edges.
+     * </p>
+     */
+    @Override
+    public void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        requireNode(node);
+        if (edgeFilter == null) {
+            graph.forEachAdjacent(node, (neighbor, weight) -> {
+                if (nodeFilter.test(neighbor)) {
+                    action.accept(neighbor, weight);
+                }
+            });
+        } else {
+            Graph.super.forEachAdjacent(node, action);
+        }
+    }
+
+    @Override
+    public int degree(N node) {
+        final int[] degree = new int[1];
+        forEachAdjacent(node, (neighbor, weight) -> degree[0]++);
+        return degree[0];
+    }
+
+    @Override
+    public Edge<N> getEdge(N a, N b) {
+        requireNode(a);
+        if (!nodeFilter.test(b)) {
+            return null;
+        }
+        final Edge<N> edge = graph.getEdge(a, b);
+        return edge != null && (edgeFilter == null || edgeFilter.test(edge)) ? edge : null;
+    }
+
+    @Override
+    public Graph<N> subgraph(Predicate<? super N> nodeFilter) {
+        return new FilteredGraph<>(graph, node -> this.nodeFilter.test(node) && nodeFilter.test(node), edgeFilter);
+    }
+
+    @Override
+    public Graph<N> filterEdges(Predicate<? super Edge<N>> edgeFilter) {
+        return new FilteredGraph<>(graph, nodeFilter,
+            this.edgeFilter == null ? edgeFilter : edge -> this.edgeFilter.test(edge) && edgeFilter.test(edge));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If the underlying graph is a {@link AbstractCsrGraph}, which is its own {@link IntGraph}, this implementation
+     * does not copy the edges. It assigns new ids to the nodes of this view and wraps the underlying graph, whose
+     * adjacency is filtered and translated to the new ids in
+     * {@link IntGraph#forEachAdjacent(int, IntAdjacencyConsumer)}.
+     * Otherwise, it copies only this view into a {@link CsrGraph}, by calling
+     * {@link #forEachAdjacent(Object, AdjacencyConsumer)} for the nodes of this view, so the cost depends on the
+     * size of the view and not on the size of the underlying graph.
+     * </p>
+     */
+    @Override
+    public IntGraph<N> toIntGraph() {
+        if (graph instanceof AbstractCsrGraph<N> csrGraph) {
+            return new FilteredIntGraph<>(this, csrGraph);
+        }
+        final NodeIndex<N> nodeIndex = new NodeIndex<>();
+        for (N node : getNodes()) {
+            nodeIndex.intern(node);
+        }
+        final EdgeList edges = new EdgeList();
+        final int[] current = new int[1];
+        final AdjacencyConsumer<N> collect = (neighbor, weight) -> {
+            final int id = nodeIndex.indexOf(neighbor);
+            if (id >= current[0]) {
+                edges.add(current[0], id, weight);
+            }
+        };
+        for (current[0] = 0; current[0] < nodeIndex.size(); current[0]++) {
+            forEachAdjacent(nodeIndex.nodeAt(current[0]), collect);
+        }
+        return new CsrGraph<>(nodeIndex.freeze(), edges);
+    }
+
+    @Override
+    public MutableGraph<N> toMutableGraph() {
+        return MutableGraph.of(new HashSet<>(getNodes()), new HashSet<>(getEdges()));
+    }
+
+    @Override
+    public Graph<N> toGraph() {
+        return Graph.of(new HashSet<>(getNodes()), new HashSet<>(getEdges()));
+    }
+
+    /**
+     * The {@link IntGraph} of a {@link FilteredGraph} over a {@link AbstractCsrGraph}, backed by the underlying graph.
+     * <p> The id maps have the size of the underlying graph, which already stores several arrays of that size.
+     * @param <N> the type of the nodes.
+     */
+    private static final class FilteredIntGraph<N> implements IntGraph<N> {
+
+        /**
+         * The filtered graph, which decides whether an edge is in the view if there is an edge filter.
+         */
+        private final FilteredGraph<N> view;
+
+        /**
+         * The int graph of the underlying graph.
+         */
+        private final IntGraph<N> graph;
+
+        /**
+         * The nodes of the view, with ids in the order of the ids of the underlying graph.
+         */
+        private final NodeIndex<N> nodeIndex;
+
+        /**
+         * The id in {@link #graph} of every node of the view.
+         */
+        private final int[] toGraph;
+
+        /**
+         * The id in the view of every node of {@link #graph}, or {@code -1} if the node is not in the view.
+         */
+        private final int[] fromGraph;
+
+        /**
+         * The number of edges, or {@code -1} if it has not been counted yet.
+         */
+        private int edgeCount = -1;
+
+        /**
+         * Constructs a new {@link FilteredIntGraph}.
+         * @param view the filtered graph.
+         * @param graph the int graph of the underlying graph of the view.
+         */
+        FilteredIntGraph(FilteredGraph<N> view, IntGraph<N> graph) {
+            this.view = view;
+            this.graph = graph;
+            final NodeIndex<N> graphIndex = graph.nodeIndex();
+            final int nodeCount = graph.nodeCount();
+            final NodeIndex<N> nodeIndex = new NodeIndex<>();
+            final int[] toGraph = new int[nodeCount];
+            fromGraph = new int[nodeCount];
+            for (int id = 0; id < nodeCount; id++) {
+                final N node = graphIndex.nodeAt(id);
+                if (view.nodeFilter.test(node)) {
+                    fromGraph[id] = nodeIndex.intern(node);
+                    toGraph[fromGraph[id]] = id;
+                } else {
+                    fromGraph[id] = -1;
+                }
+            }
+            this.nodeIndex = nodeIndex.freeze();
+            this.toGraph = Arrays.copyOf(toGraph, nodeIndex.size());
+        }
+
+        @Override
+        public NodeIndex<N> nodeIndex() {
+            return nodeIndex;
+        }
+
+        @Override
+        public int edgeCount() {
+            if (edgeCount < 0) {
+                int slots = 0;
+                int loops = 0;
+                for (int node = 0; node < toGraph.length; node++) {
+                    final int id = node;
+                    final int[] count = new int[2];
+                    forEachAdjacent(node, (neighbor, weight) -> {
+                        count[0]++;
+                        if (neighbor == id) {
+                            count[1]++;
+                        }
+                    });
+                    slots += count[0];
+                    loops += count[1];
+                }
+                edgeCount = (slots + loops) / 2;
+            }
+            return edgeCount;
+        }
+
+        @Override
+        public int degree(int node) {
+            final int[] degree = new int[1];
+            forEachAdjacent(node, (neighbor, weight) -> degree[0]++);
+            return degree[0];
+        }
+
+        @Override
+        public void forEachAdjacent(int node, IntAdjacencyConsumer action) {
+            if (view.edgeFilter == null) {
+                graph.forEachAdjacent(toGraph[node], (neighbor, weight) -> {
+                    if (fromGraph[neighbor] >= 0) {
+                        action.accept(fromGraph[neighbor], weight);
+                    }
+                });
+                return;
+            }
+            // the edge filter needs the edge of the underlying graph
+            final N a = nodeIndex.nodeAt(node);
+            graph.forEachAdjacent(toGraph[node], (neighbor, weight) -> {
+                final int id = fromGraph[neighbor];
+                if (id >= 0) {
+                    final Edge<N> edge = view.graph.getEdge(a, nodeIndex.nodeAt(id));
+                    if (edge != null && view.edgeFilter.test(edge)) {
+                        action.accept(id, weight);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * A read-only view of the elements of a set that match a filter.
+     * @param <T> the type of the elements.
+     */
+    private static class FilteredSet<T> extends AbstractSet<T> {
+
+        /**
+         * The underlying set.
+         */
+        private final Set<T> set;
+
+        /**
+         * The filter for the elements.
+         */
+        private final Predicate<? super T> filter;
+
+        FilteredSet(Set<T> set, Predicate<? super T> filter) {
+            this.set = set;
+            this.filter = filter;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            final Iterator<T> iterator = set.iterator();
+            return new Iterator<>() {
+
+                /**
+                 * Whether {@link #next} holds the next element.
+                 */
+                private boolean ready;
+
+                /**
+                 * The next element to return.
+                 */
+                private T next;
+
+                @Override
+                public boolean hasNext() {
+                    while (!ready && iterator.hasNext()) {
+                        next = iterator.next();
+                        ready = filter.test(next);
+                    }
+                    return ready;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    ready = false;
+                    return next;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (T element : set) {
+                if (filter.test(element)) {
+                    size++;
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An {@link AdjacencyMatrix} that stores all cells in one contiguous {@code int[]} in row-major order.
+ *
+ * <p>
+ * Compared to {@code int[size][size]} this avoids one object header and one pointer per row,
+ * and the whole matrix is a single allocation.
+ * The cell {@code (a, b)} is stored at index {@code a * size + b}.
+ * </p>
+ */
+class FlatAdjacencyMatrix extends AdjacencyMatrix {
+
+    /**
+     * The largest size whose cells still fit into one array.
+     */
+    static final int MAX_SIZE = (int) Math.sqrt(Integer.MAX_VALUE - 8);
+
+    /**
+     * The cells of the matrix in row-major order.
+     */
+    private final int[] cells;
+
+    /**
+     * Constructs a new flat adjacency matrix with the given size.
+     * @param size the size of the matrix.
+     * @throws IllegalArgumentException if the size is larger than {@link #MAX_SIZE}.
+     */
+    FlatAdjacencyMatrix(int size) {
+        super(size, null);
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Size too large for a single array: " + size);
+        }
+        cells = new int[size * size];
+    }
+
+    @Override
+    public void addEdge(int a, int b, int weight) {
+        Objects.checkIndex(a, size());
+        Objects.checkIndex(b, size());
+        cells[a * size() + b] = weight;
+        cells[b * size() + a] = weight;
+    }
+
+    @Override
+    public int getWeight(int a, int b) {
+        Objects.checkIndex(a, size());
+        Objects.checkIndex(b, size());
+        return cells[a * size() + b];
+    }
+
+    @Override
+    public int[] getAdjacent(int index) {
+        Objects.checkIndex(index, size());
+        return Arrays.copyOfRange(cells, index * size(), (index + 1) * size());
+    }
+
+    @Override
+    public int degree(int index) {
+        Objects.checkIndex(index, size());
+        int degree = 0;
+        for (int cell = index * size(), end = cell + size(); cell < end; cell++) {
+            if (cells[cell] != 0) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    @Override
+    public void forEachAdjacent(int index, IntAdjacencyConsumer action) {
+        Objects.checkIndex(index, size());
+        final int start = index * size();
+        for (int column = 0; column < size(); column++) {
+            if (cells[start + column] != 0) {
+                action.accept(column, cells[start + column]);
+            }
+        }
+    }
+
+    @Override
+    long estimateBytes() {
+        return MemoryLayout.object(3L * MemoryLayout.REFERENCE) + MemoryLayout.array(cells.length, Integer.BYTES);
+    }
+}
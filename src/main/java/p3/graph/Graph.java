@@ -1,6 +1,8 @@
 package p3.graph;
 
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * An undirected graph with nodes of type {@code N}.
@@ -39,6 +41,81 @@ public interface Graph<N> {
      */
     Set<Edge<N>> getAdjacentEdges(N node);
 
+    /**
+     * Calls the given action once for every edge that is adjacent to the given node,
+     * with the node at the other end of the edge and the weight of the edge.
+     *
+     * <p>
+     * Unlike iterating over {@link #getAdjacentEdges(Object)}, implementations should not allocate
+     * anything per neighbor, so that this method can be used in the inner loops of graph algorithms.
+     * </p>
+     *
+     * @param node the node to visit the neighbors of.
+     * @param action the action to call for every adjacent edge.
+     * @throws IllegalArgumentException if the node is not in this graph.
+     */
+    default void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        for (Edge<N> edge : getAdjacentEdges(node)) {
+            action.accept(Objects.equals(edge.a(), node) ? edge.b() : edge.a(), edge.weight());
+        }
+    }
+
+    /**
+     * Returns the number of edges that are adjacent to the given node.
+     * @param node the node to get the degree of.
+     * @return the number of edges that are adjacent to the given node.
+     * @throws IllegalArgumentException if the node is not in this graph.
+     */
+    default int degree(N node) {
+        return getAdjacentEdges(node).size();
+    }
+
+    /**
+     * Returns the edge between the given nodes.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @return the edge between the given nodes, or {@code null} if there is no such edge.
+     * @throws IllegalArgumentException if {@code a} is not in this graph.
+     */
+    default Edge<N> getEdge(N a, N b) {
+        for (Edge<N> edge : getAdjacentEdges(a)) {
+            if (Objects.equals(Objects.equals(edge.a(), a) ? edge.b() : edge.a(), b)) {
+                return edge;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a view of the subgraph induced by the nodes that match the given filter.
+     *
+     * <p>
+     * The view contains the matching nodes and all edges between them. Nothing is copied,
+     * so creating the view is O(1) and the view reflects later changes to this graph.
+     * </p>
+     *
+     * @param nodeFilter the filter for the nodes of the subgraph.
+     * @return a read-only view of the subgraph.
+     */
+    default Graph<N> subgraph(Predicate<? super N> nodeFilter) {
+        return new FilteredGraph<>(this, nodeFilter, null);
+    }
+
+    /**
+     * Returns a view of this graph that only contains the edges that match the given filter.
+     *
+     * <p>
+     * The view contains all nodes of this graph. Nothing is copied,
+     * so creating the view is O(1) and the view reflects later changes to this graph.
+     * </p>
+     *
+     * @param edgeFilter the filter for the edges.
+     * @return a read-only view of this graph with the matching edges.
+     */
+    default Graph<N> filterEdges(Predicate<? super Edge<N>> edgeFilter) {
+        return new FilteredGraph<>(this, node -> true, edgeFilter);
+    }
+
     /**
      * Creates a mutable copy of this graph with the same nodes and edges.
      *
@@ -60,6 +137,21 @@ public interface Graph<N> {
      */
     Graph<N> toGraph();
 
+    /**
+     * Returns an {@link IntGraph} view of this graph, in which every node is identified by a dense {@code int} id.
+     *
+     * <p>
+     * Implementations that are already int-indexed return themselves.
+     * Other implementations return an immutable {@link CsrGraph} copy with the same nodes and edges,
+     * so the result does not reflect later changes to a mutable graph.
+     * </p>
+     *
+     * @return an int-indexed graph with the same nodes and edges.
+     */
+    default IntGraph<N> toIntGraph() {
+        return new CsrGraph<>(getNodes(), getEdges());
+    }
+
     /**
      * Creates a new empty immutable graph.
      * @return a new empty immutable graph.
@@ -80,4 +172,15 @@ public interface Graph<N> {
     static <N> Graph<N> of(Set<N> nodes, Set<Edge<N>> edges) {
         return new BasicGraph<>(nodes, edges);
     }
+
+    /**
+     * Creates a new builder for an immutable graph, for graphs that are too large to be collected into sets first.
+     * @param expectedNodes the expected number of nodes.
+     * @param expectedEdges the expected number of edges.
+     * @return a new builder.
+     * @param <N> the type of the nodes in the graph.
+     */
+    static <N> GraphBuilder<N> builder(int expectedNodes, int expectedEdges) {
+        return new GraphBuilder<>(expectedNodes, expectedEdges);
+    }
 }
@@ -0,0 +1,153 @@
+package p3.graph;
+
+import java.util.Collection;
+
+/**
+ * A builder that collects nodes and edges and creates an immutable {@link Graph} from them in one step.
+ *
+ * <p>
+ * Nodes are interned into a {@link NodeIndex} and edges are appended to an {@link EdgeList} as they are added,
+ * so no sets of nodes or edges are built along the way. {@link #build()} hands both structures to a
+ * {@link CsrGraph} without copying or rehashing them. After that, the builder can no longer be used.
+ * </p>
+ *
+ * <p>
+ * Adding an edge between two nodes that are already connected replaces the existing edge,
+ * like {@link MutableGraph#putEdgesAndNodes(Object, Object, int)}.
+ * </p>
+ *
+ * @param <N> the type of the nodes in the graph.
+ */
+public class GraphBuilder<N> {
+
+    /**
+     * The nodes added so far. {@code null} after {@link #build()}.
+     */
+    private NodeIndex<N> nodeIndex;
+
+    /**
+     * The edges added so far, between ids of {@link #nodeIndex}. {@code null} after {@link #build()}.
+     */
+    private EdgeList edges;
+
+    /**
+     * Constructs a new empty {@link GraphBuilder}.
+     */
+    public GraphBuilder() {
+        this(16, 16);
+    }
+
+    /**
+     * Constructs a new empty {@link GraphBuilder} that can hold the given number of nodes and edges without resizing.
+     * @param expectedNodes the expected number of nodes.
+     * @param expectedEdges the expected number of edges.
+     */
+    public GraphBuilder(int expectedNodes, int expectedEdges) {
+        nodeIndex = new NodeIndex<>(expectedNodes);
+        edges = new EdgeList(expectedEdges);
+    }
+
+    /**
+     * Adds the given node. If the node has already been added, nothing happens.
+     * @param node the node to add.
+     * @return this builder.
+     * @throws IllegalStateException if {@link #build()} has already been called.
+     */
+    public GraphBuilder<N> addNode(N node) {
+        requireNotBuilt();
+        nodeIndex.intern(node);
+        return this;
+    }
+
+    /**
+     * Adds all given nodes.
+     * @param nodes the nodes to add.
+     * @return this builder.
+     * @throws IllegalStateException if {@link #build()} has already been called.
+     */
+    public GraphBuilder<N> addNodes(Collection<? extends N> nodes) {
+        requireNotBuilt();
+        for (N node : nodes) {
+            nodeIndex.intern(node);
+        }
+        return this;
+    }
+
+    /**
+     * Adds an edge between the given nodes, adding the nodes as well if necessary.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @param weight the weight of the edge.
+     * @return this builder.
+     * @throws IllegalStateException if {@link #build()} has already been called.
+     */
+    public GraphBuilder<N> addEdge(N a, N b, int weight) {
+        requireNotBuilt();
+        edges.add(nodeIndex.intern(a), nodeIndex.intern(b), weight);
+        return this;
+    }
+
+    /**
+     * Adds all given edges, adding their nodes as well if necessary.
+     * @param edges the edges to add.
+     * @return this builder.
+     * @throws IllegalStateException if {@link #build()} has already been called.
+     */
+    public GraphBuilder<N> addEdges(Collection<? extends Edge<N>> edges) {
+        requireNotBuilt();
+        for (Edge<N> edge : edges) {
+            this.edges.add(nodeIndex.intern(edge.a()), nodeIndex.intern(edge.b()), edge.weight());
+        }
+        return this;
+    }
+
+    /**
+     * Creates an immutable graph with the nodes and edges added so far.
+     * The internal structures of this builder are handed to the graph, so the builder can no longer be used.
+     * @return a new immutable graph.
+     * @throws IllegalStateException if {@link #build()} has already been called.
+     */
+    public CsrGraph<N> build() {
+        requireNotBuilt();
+        final CsrGraph<N> graph = new CsrGraph<>(nodeIndex, edges);
+        nodeIndex = null;
+        edges = null;
+        return graph;
+    }
+
+    /**
+     * Creates an immutable {@link CompressedGraph} with the nodes and edges added so far, without building a
+     * {@link CsrGraph} first. The builder can no longer be used afterwards.
+     * @return a new immutable compressed graph.
+     * @throws IllegalStateException if {@link #build()} has already been called.
+     */
+    public CompressedGraph<N> buildCompressed() {
+        requireNotBuilt();
+        final CompressedGraph<N> graph = new CompressedGraph<>(nodeIndex, edges);
+        nodeIndex = null;
+        edges = null;
+        return graph;
+    }
+
+    /**
+     * Creates an immutable graph with the nodes and edges added so far, in which the nodes are assigned their ids
+     * in the given order instead of the order in which they were added.
+     * The builder can no longer be used afterwards.
+     * @param ordering the order of the node ids.
+     * @return a new immutable graph.
+     * @throws IllegalStateException if {@link #build()} has already been called.
+     */
+    public CsrGraph<N> build(NodeOrdering ordering) {
+        return ordering.reorder(build());
+    }
+
+    /**
+     * Throws an exception if {@link #build()} has already been called.
+     * @throws IllegalStateException if {@link #build()} has already been called.
+     */
+    private void requireNotBuilt() {
+        if (nodeIndex == null) {
+            throw new IllegalStateException("Graph has already been built");
+        }
+    }
+}
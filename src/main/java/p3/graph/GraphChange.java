@@ -0,0 +1,69 @@
+package p3.graph;
+
+/**
+ * A single change to a {@link MutableGraph}, as published by {@link ObservableMutableGraph}.
+ *
+ * <p>
+ * For node changes, {@link #a()} is the node, {@link #b()} is {@code null} and {@link #weight()} is {@code 0}.
+ * For edge changes, {@link #a()} and {@link #b()} are the nodes of the edge and {@link #weight()} is the weight
+ * of the edge after the change, or the weight of the removed edge for {@link Type#EDGE_REMOVED}.
+ * </p>
+ *
+ * @param type the type of the change.
+ * @param a the node, or the first node of the edge.
+ * @param b the second node of the edge, or {@code null} for node changes.
+ * @param weight the weight of the edge, or {@code 0} for node changes.
+ * @param <N> the type of the nodes in the graph.
+ */
+public record GraphChange<N>(Type type, N a, N b, int weight) {
+
+    /**
+     * The types of changes.
+     */
+    public enum Type {
+        /**
+         * A node was added.
+         */
+        NODE_ADDED,
+        /**
+         * A node was removed. The removal of its adjacent edges is published before this change.
+         */
+        NODE_REMOVED,
+        /**
+         * An edge was added between two nodes that were not connected before.
+         */
+        EDGE_ADDED,
+        /**
+         * An edge was removed.
+         */
+        EDGE_REMOVED,
+        /**
+         * The weight of an existing edge was changed.
+         */
+        EDGE_REWEIGHTED
+    }
+
+    /**
+     * Creates a new change of the given type for the given node.
+     * @param type the type of the change.
+     * @param node the node.
+     * @return a new change.
+     * @param <N> the type of the nodes in the graph.
+     */
+    public static <N> GraphChange<N> ofNode(Type type, N node) {
+        return new GraphChange<>(type, node, null, 0);
+    }
+
+    /**
+     * Creates a new change of the given type for the given edge.
+     * @param type the type of the change.
+     * @param a the first node of the edge.
+     * @param b the second node of the edge.
+     * @param weight the weight of the edge.
+     * @return a new change.
+     * @param <N> the type of the nodes in the graph.
+     */
+    public static <N> GraphChange<N> ofEdge(Type type, N a, N b, int weight) {
+        return new GraphChange<>(type, a, b, weight);
+    }
+}
@@ -0,0 +1,208 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimates how much memory a graph retains, broken down by the parts of its representation.
+ *
+ * <p>
+ * The estimates follow the layout described in {@link MemoryLayout}. The nodes themselves are not counted,
+ * since they are owned by the caller and are the same in every representation. {@link Edge} objects are counted
+ * if the representation keeps them, because representations like {@link CsrGraph} create them on demand instead.
+ * </p>
+ *
+ * <p>
+ * Every representation of this package is estimated from its actual structure, by implementing
+ * {@link Estimable}. Other implementations of {@link Graph} are estimated as if they were a {@link BasicMutableGraph}.
+ * Views and decorators like {@link Graph#subgraph(java.util.function.Predicate)} and {@link ObservableMutableGraph}
+ * report their own bytes and include the report of the graph they wrap.
+ * </p>
+ */
+public final class GraphFootprint {
+
+    /**
+     * The size of an {@link EdgeImpl}: two node references, the weight and the cached hash.
+     */
+    static final long EDGE = MemoryLayout.object(2L * MemoryLayout.REFERENCE + 2L * Integer.BYTES);
+
+    /**
+     * The approximate size of a direct or mapped {@link java.nio.IntBuffer} object, without its contents.
+     */
+    static final long BUFFER = 64;
+
+    /**
+     * The approximate size of a {@link java.util.concurrent.SubmissionPublisher} without subscribers.
+     */
+    static final long PUBLISHER = 64;
+
+    /**
+     * The size of a {@link GraphChange}: the type, two node references and the weight.
+     */
+    static final long CHANGE = MemoryLayout.object(3L * MemoryLayout.REFERENCE + Integer.BYTES);
+
+    private GraphFootprint() {
+    }
+
+    /**
+     * A graph that estimates its own footprint, because it knows its structure.
+     * Implemented by the representations of this package.
+     */
+    interface Estimable {
+
+        /**
+         * Estimates the memory footprint of this graph, see {@link GraphFootprint}.
+         * @return the estimated footprint.
+         */
+        Report estimateFootprint();
+    }
+
+    /**
+     * The estimated memory footprint of a graph.
+     *
+     * @param representation the name of the class of the graph.
+     * @param nodeCount the number of nodes.
+     * @param edgeCount the number of edges.
+     * @param nodeBytes the bytes of the set of nodes, without the nodes.
+     * @param edgeBytes the bytes of the set of edges and the {@link Edge} objects.
+     * @param adjacencyBytes the bytes of the structures that store the neighbors of every node.
+     * @param indexBytes the bytes of the structures that map nodes to indices and back.
+     * @param offHeapBytes the bytes outside of the heap, which are not part of the other numbers.
+     * @param viewBytes the bytes of a view or decorator itself, without the graph it wraps.
+     * @param delegate the report of the graph that a view or decorator wraps, or {@code null} if there is none.
+     */
+    public record Report(String representation, int nodeCount, int edgeCount,
+                         long nodeBytes, long edgeBytes, long adjacencyBytes, long indexBytes, long offHeapBytes,
+                         long viewBytes, Report delegate) {
+
+        /**
+         * Constructs a new {@link Report} of a graph that does not wrap another graph.
+         *
+         * @param representation the name of the class of the graph.
+         * @param nodeCount the number of nodes.
+         * @param edgeCount the number of edges.
+         * @param nodeBytes the bytes of the set of nodes, without the nodes.
+         * @param edgeBytes the bytes of the set of edges and the {@link Edge} objects.
+         * @param adjacencyBytes the bytes of the structures that store the neighbors of every node.
+         * @param indexBytes the bytes of the structures that map nodes to indices and back.
+         * @param offHeapBytes the bytes outside of the heap, which are not part of the other numbers.
+         */
+        public Report(String representation, int nodeCount, int edgeCount,
+                      long nodeBytes, long edgeBytes, long adjacencyBytes, long indexBytes, long offHeapBytes) {
+            this(representation, nodeCount, edgeCount, nodeBytes, edgeBytes, adjacencyBytes, indexBytes, offHeapBytes,
+                0, null);
+        }
+
+        /**
+         * Returns the estimated number of bytes on the heap, including the graph that this graph wraps.
+         * @return the sum of the node, edge, adjacency, index and view bytes and the heap bytes of the delegate.
+         */
+        public long heapBytes() {
+            return nodeBytes + edgeBytes + adjacencyBytes + indexBytes + viewBytes
+                + (delegate == null ? 0 : delegate.heapBytes());
+        }
+
+        /**
+         * Returns the estimated number of bytes on and off the heap, including the graph that this graph wraps.
+         * @return the sum of the heap and off-heap bytes of this graph and the delegate.
+         */
+        public long totalBytes() {
+            return nodeBytes + edgeBytes + adjacencyBytes + indexBytes + viewBytes + offHeapBytes
+                + (delegate == null ? 0 : delegate.totalBytes());
+        }
+
+        /**
+         * Returns the estimated number of bytes per edge, on and off the heap.
+         * @return the total bytes divided by the number of edges, or {@link Double#NaN} if there are no edges.
+         */
+        public double bytesPerEdge() {
+            return edgeCount == 0 ? Double.NaN : (double) totalBytes() / edgeCount;
+        }
+    }
+
+    /**
+     * Estimates the memory footprint of the given graph.
+     * @param graph the graph.
+     * @return the estimated footprint.
+     */
+    public static Report of(Graph<?> graph) {
+        if (graph instanceof Estimable estimable) {
+            return estimable.estimateFootprint();
+        }
+        // the classes of the exercise and graphs of other packages, which cannot implement Estimable
+        final String representation = graph.getClass().getSimpleName();
+        if (graph instanceof AbstractCsrGraph<?> csr) {
+            final int nodeCount = csr.nodeCount();
+            final long slots = csr.offset(nodeCount);
+            final long arrays = MemoryLayout.array(nodeCount + 1L, Integer.BYTES)
+                + 2 * MemoryLayout.array(slots, Integer.BYTES);
+            return new Report(representation, nodeCount, csr.edgeCount(), 0, 0, arrays,
+                csr.nodeIndex.estimateBytes(), 0);
+        }
+        if (graph instanceof BasicMutableGraph<?> mutable) {
+            // the immutable copies made by the constructor of BasicGraph are retained as well
+            final Report sets = adjacencySets(representation, graph);
+            return new Report(representation, sets.nodeCount(), sets.edgeCount(),
+                sets.nodeBytes() + MemoryLayout.set(mutable.nodes), sets.edgeBytes() + MemoryLayout.set(mutable.edges),
+                sets.adjacencyBytes() + backingBytes(mutable.backing), 0, 0);
+        }
+        if (graph instanceof BasicGraph<?> basic) {
+            return new Report(representation, basic.nodes.size(), basic.edges.size(),
+                MemoryLayout.set(basic.nodes), edgeBytes(basic.edges), backingBytes(basic.backing), 0, 0);
+        }
+        return adjacencySets(representation, graph);
+    }
+
+    /**
+     * Estimates the memory footprint of the given graph with {@code long} or {@code double} weights.
+     * @param graph the graph.
+     * @return the estimated footprint.
+     */
+    public static Report of(AbstractWeightedCsrGraph<?> graph) {
+        return graph.estimateFootprint();
+    }
+
+    /**
+     * Estimates the footprint of a graph that stores a set of adjacent edges per node,
+     * like a {@link BasicMutableGraph}.
+     * @param representation the name of the representation.
+     * @param graph the graph.
+     * @param <N> the type of the nodes.
+     * @return the estimated footprint.
+     */
+    private static <N> Report adjacencySets(String representation, Graph<N> graph) {
+        long adjacencyBytes = MemoryLayout.hashMap(graph.getNodes().size());
+        for (N node : graph.getNodes()) {
+            adjacencyBytes += MemoryLayout.hashSet(graph.degree(node));
+        }
+        return new Report(representation, graph.getNodes().size(), graph.getEdges().size(),
+            MemoryLayout.set(graph.getNodes()), edgeBytes(graph.getEdges()), adjacencyBytes, 0, 0);
+    }
+
+    /**
+     * Estimates the size of a set of edges, including the edges.
+     * @param edges the edges.
+     * @return the estimated size.
+     */
+    static long edgeBytes(Set<? extends Edge<?>> edges) {
+        return MemoryLayout.set(edges) + edges.size() * EDGE;
+    }
+
+    /**
+     * Estimates the size of the backing map of a {@link BasicGraph}, without the edges.
+     * @param backing the backing map, which may be {@code null} if it was not created.
+     * @return the estimated size.
+     */
+    private static long backingBytes(Map<?, ? extends Set<?>> backing) {
+        if (backing == null) {
+            return 0;
+        }
+        long bytes = MemoryLayout.hashMap(backing.size());
+        for (Set<?> edges : backing.values()) {
+            bytes += MemoryLayout.set(edges);
+        }
+        return bytes;
+    }
+}
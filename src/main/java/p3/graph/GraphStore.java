@@ -0,0 +1,221 @@
+package p3.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Utility class for storing graphs in a compact binary file that can be memory-mapped.
+ *
+ * <p>The file consists of the following sections, all integers are big-endian:</p>
+ * <ol>
+ *     <li>a header of five {@code int}s: {@link #MAGIC}, {@link #VERSION}, node count, edge count and slot count</li>
+ *     <li>the offsets of every node plus the total number of slots ({@code nodeCount + 1} {@code int}s)</li>
+ *     <li>the neighbor of every slot ({@code slotCount} {@code int}s)</li>
+ *     <li>the weight of every slot ({@code slotCount} {@code int}s)</li>
+ *     <li>the label of every node in id order, as written by {@link DataOutputStream#writeUTF(String)}</li>
+ * </ol>
+ *
+ * <p>
+ * The slot layout is the same as in {@link AbstractCsrGraph}, so the three array sections
+ * can be used as they are, without parsing or copying.
+ * </p>
+ */
+public class GraphStore {
+
+    /**
+     * The first {@code int} of every graph file ("P3CG").
+     */
+    public static final int MAGIC = 0x50334347;
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+    /**
+     * Writes the given graph to the given file, replacing it if it exists.
+     *
+     * <p>
+     * The graph is written to a temporary file in the same directory, which then replaces the given file in a single
+     * step if the file system supports it. If writing fails, an existing file is left unchanged.
+     * </p>
+     *
+     * @param path the file to write to.
+     * @param graph the graph to write.
+     * @param labels a function that converts every node into a label, which is passed to the decoder when mapping.
+     * @param <N> the type of the nodes in the graph.
+     * @throws IOException if the file cannot be written or the graph is too large to be mapped.
+     */
+    public static <N> void write(Path path, Graph<N> graph, Function<? super N, String> labels) throws IOException {
+        final IntGraph<N> intGraph = graph.toIntGraph();
+        final int nodeCount = intGraph.nodeCount();
+        long slotCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            slotCount += intGraph.degree(node);
+        }
+        if (slotCount > Integer.MAX_VALUE / Integer.BYTES) {
+            throw new IOException("Graph too large to be mapped: " + slotCount + " slots");
+        }
+
+        final Path directory = path.toAbsolutePath().getParent();
+        final Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            write(temp, intGraph, (int) slotCount, labels);
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Writes the given graph to the given file.
+     * @param path the file to write to.
+     * @param intGraph the graph to write.
+     * @param slotCount the number of adjacency slots of the graph.
+     * @param labels a function that converts every node into a label.
+     * @param <N> the type of the nodes in the graph.
+     * @throws IOException if the file cannot be written.
+     */
+    private static <N> void write(Path path, IntGraph<N> intGraph, int slotCount, Function<? super N, String> labels)
+        throws IOException {
+        final int nodeCount = intGraph.nodeCount();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(nodeCount);
+            out.writeInt(intGraph.edgeCount());
+            out.writeInt(slotCount);
+
+            int offset = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                out.writeInt(offset);
+                offset += intGraph.degree(node);
+            }
+            out.writeInt(offset);
+
+            final long[][] buffer = {new long[0]};
+            for (int section = 0; section < 2; section++) {
+                for (int node = 0; node < nodeCount; node++) {
+                    final int degree = sortedRow(intGraph, node, buffer);
+                    for (int i = 0; i < degree; i++) {
+                        out.writeInt(section == 0 ? (int) (buffer[0][i] >>> 32) : (int) buffer[0][i]);
+                    }
+                }
+            }
+
+            final NodeIndex<N> nodeIndex = intGraph.nodeIndex();
+            for (int node = 0; node < nodeCount; node++) {
+                out.writeUTF(labels.apply(nodeIndex.nodeAt(node)));
+            }
+        }
+    }
+
+    /**
+     * Collects the adjacency of the given node into {@code buffer[0]}, packed as neighbor and weight and
+     * sorted by neighbor. The buffer is replaced by a larger one if necessary.
+     * @param graph the graph.
+     * @param node the node.
+     * @param buffer a one-element array holding the buffer.
+     * @return the degree of the node.
+     */
+    private static int sortedRow(IntGraph<?> graph, int node, long[][] buffer) {
+        final int degree = graph.degree(node);
+        if (buffer[0].length < degree) {
+            buffer[0] = new long[degree];
+        }
+        final int[] count = {0};
+        graph.forEachAdjacent(node, (neighbor, weight) ->
+            buffer[0][count[0]++] = ((long) neighbor << 32) | (weight & 0xFFFFFFFFL));
+        Arrays.sort(buffer[0], 0, degree);
+        return degree;
+    }
+
+    /**
+     * Maps the given graph file into memory and returns it as an immutable graph.
+     *
+     * <p>
+     * The adjacency sections stay in the mapped file. Only the node labels are read and decoded,
+     * in order to build the {@link NodeIndex} of the graph.
+     * </p>
+     *
+     * @param path the file to map.
+     * @param nodes a function that converts every label written by {@link #write(Path, Graph, Function)} back into a node.
+     * @param <N> the type of the nodes in the graph.
+     * @return a graph backed by the mapped file.
+     * @throws IOException if the file cannot be read or is not a graph file.
+     */
+    public static <N> MappedCsrGraph<N> map(Path path, Function<String, ? extends N> nodes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final IntBuffer header = section(channel, 0, 5);
+            if (header.get(0) != MAGIC) {
+                throw new IOException("Not a graph file: " + path);
+            }
+            if (header.get(1) != VERSION) {
+                throw new IOException("Unsupported graph file version: " + header.get(1));
+            }
+            final int nodeCount = header.get(2);
+            final int edgeCount = header.get(3);
+            final int slotCount = header.get(4);
+
+            final long offsetsStart = HEADER_BYTES;
+            final long targetsStart = offsetsStart + (nodeCount + 1L) * Integer.BYTES;
+            final long weightsStart = targetsStart + (long) slotCount * Integer.BYTES;
+            final long labelsStart = weightsStart + (long) slotCount * Integer.BYTES;
+
+            final NodeIndex<N> nodeIndex = new NodeIndex<>(nodeCount);
+            final InputStream labels = Channels.newInputStream(channel.position(labelsStart));
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(labels));
+            for (int node = 0; node < nodeCount; node++) {
+                if (nodeIndex.intern(nodes.apply(in.readUTF())) != node) {
+                    throw new IOException("Duplicate node label at index " + node);
+                }
+            }
+
+            return new MappedCsrGraph<>(
+                nodeIndex,
+                edgeCount,
+                section(channel, offsetsStart, nodeCount + 1),
+                section(channel, targetsStart, slotCount),
+                section(channel, weightsStart, slotCount)
+            );
+        }
+    }
+
+    /**
+     * Maps a section of {@code int}s of the given file. The mapping stays valid after the channel is closed.
+     * @param channel the channel of the file.
+     * @param start the position of the section in bytes.
+     * @param length the number of {@code int}s in the section.
+     * @return the mapped section.
+     * @throws IOException if the section cannot be mapped.
+     */
+    private static IntBuffer section(FileChannel channel, long start, int length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, (long) length * Integer.BYTES)
+            .order(ByteOrder.BIG_ENDIAN)
+            .asIntBuffer();
+    }
+}
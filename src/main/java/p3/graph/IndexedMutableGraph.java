@@ -0,0 +1,392 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An implementation of a {@link MutableGraph} that maps every node to an index and stores the edges in a
+ * {@link SparseAdjacencyMatrix}, like {@link AdjacencyGraph} does with an {@link AdjacencyMatrix}.
+ *
+ * <p>
+ * The indices of removed nodes are kept in a free list and reused for the next nodes that are added, so the
+ * rows of the matrix are reused instead of leaving holes. Removing an edge clears its two cells,
+ * and removing a node clears the cells of its adjacent edges, so both only cost O(degree).
+ * The matrix is only rebuilt when all indices are in use and a new node is added, which happens
+ * O(log n) times in total.
+ * </p>
+ *
+ * <p>
+ * Like in {@link AdjacencyGraph}, a weight of {@code 0} in the matrix means that there is no edge,
+ * so edges with weight {@code 0} cannot be stored and are rejected instead of silently removing the edge.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public class IndexedMutableGraph<N> implements MutableGraph<N>, GraphFootprint.Estimable {
+
+    /**
+     * The number of indices when the first node is added.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * A map from nodes to their indices.
+     */
+    private final Map<N, Integer> nodeIndices = new HashMap<>();
+
+    /**
+     * The node with each index, or {@code null} if the index is free.
+     */
+    private Object[] indexNodes = new Object[0];
+
+    /**
+     * The indices that have been freed by {@link #removeNode(Object)}, as a stack.
+     */
+    private int[] freeIndices = new int[0];
+
+    /**
+     * The number of indices in {@link #freeIndices}.
+     */
+    private int freeCount;
+
+    /**
+     * The number of indices that have ever been assigned. All indices from this one on are unused.
+     */
+    private int usedIndices;
+
+    /**
+     * The adjacency matrix, with one row per index.
+     */
+    private SparseAdjacencyMatrix matrix = new SparseAdjacencyMatrix(0);
+
+    /**
+     * The number of edges in this graph.
+     */
+    private int edgeCount;
+
+    /**
+     * Constructs a new empty {@link IndexedMutableGraph}.
+     */
+    public IndexedMutableGraph() {
+    }
+
+    /**
+     * Constructs a new {@link IndexedMutableGraph} with the given nodes and edges.
+     * @param nodes the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @throws IllegalArgumentException if an edge is connected to a node that is not in {@code nodes}
+     * or has weight {@code 0}.
+     */
+    public IndexedMutableGraph(Set<N> nodes, Set<Edge<N>> edges) {
+        for (N node : nodes) {
+            putNode(node);
+        }
+        for (Edge<N> edge : edges) {
+            putEdge(edge.a(), edge.b(), edge.weight());
+        }
+    }
+
+    /**
+     * Returns the index of the given node, throwing an exception if it is not in this graph.
+     * @param node the node.
+     * @return the index of the node.
+     * @throws IllegalArgumentException if the node is not in this graph.
+     */
+    private int requireIndex(N node) {
+        final Integer index = nodeIndices.get(node);
+        if (index == null) {
+            throw new IllegalArgumentException("Node not found: " + node);
+        }
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> The node and edge sets are views of the matrix, so only the matrix and the index structures count.
+     */
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        final long indexBytes = MemoryLayout.hashMap(nodeIndices.size())
+            + (long) nodeIndices.size() * MemoryLayout.BOXED_INTEGER
+            + MemoryLayout.array(indexNodes.length, MemoryLayout.REFERENCE)
+            + MemoryLayout.array(freeIndices.length, Integer.BYTES);
+        return new GraphFootprint.Report(getClass().getSimpleName(), getNodes().size(), getEdges().size(),
+            0, 0, matrix.estimateBytes(), indexBytes, 0);
+    }
+
+    /**
+     * Returns the node with the given index.
+     * @param index the index.
+     * @return the node with the given index.
+     */
+    @SuppressWarnings("unchecked")
+    private N nodeAt(int index) {
+        return (N) indexNodes[index];
+    }
+
+    /**
+     * Doubles the number of indices, copying all edges into a new matrix.
+     */
+    private void grow() {
+        final int capacity = Math.max(INITIAL_CAPACITY, indexNodes.length * 2);
+        final SparseAdjacencyMatrix grown = new SparseAdjacencyMatrix(capacity);
+        for (int index = 0; index < usedIndices; index++) {
+            final int from = index;
+            matrix.forEachAdjacent(from, (to, weight) -> {
+                if (to >= from) {
+                    grown.addEdge(from, to, weight);
+                }
+            });
+        }
+        matrix = grown;
+        indexNodes = Arrays.copyOf(indexNodes, capacity);
+        freeIndices = Arrays.copyOf(freeIndices, capacity);
+    }
+
+    /**
+     * Returns the edges that are stored in the row of the given index.
+     * @param index the index.
+     * @param unique whether to skip edges to smaller indices, so that every edge is only returned at one node.
+     * @return the edges of the row.
+     */
+    private List<Edge<N>> rowEdges(int index, boolean unique) {
+        final N node = nodeAt(index);
+        final List<Edge<N>> result = new ArrayList<>(matrix.degree(index));
+        matrix.forEachAdjacent(index, (to, weight) -> {
+            if (!unique || to >= index) {
+                result.add(Edge.of(node, nodeAt(to), weight));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public Set<N> getNodes() {
+        return Collections.unmodifiableSet(nodeIndices.keySet());
+    }
+
+    @Override
+    public Set<Edge<N>> getEdges() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Edge<N>> iterator() {
+                return new Iterator<>() {
+
+                    /**
+                     * The index whose row is currently iterated.
+                     */
+                    private int index = -1;
+
+                    /**
+                     * The remaining edges of the current row.
+                     */
+                    private Iterator<Edge<N>> row = Collections.emptyIterator();
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!row.hasNext()) {
+                            if (++index >= usedIndices) {
+                                return false;
+                            }
+                            // the rows of free indices are empty
+                            if (matrix.degree(index) > 0) {
+                                row = rowEdges(index, true).iterator();
+                            }
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public Edge<N> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return row.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return edgeCount;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Edge<?> edge)) {
+                    return false;
+                }
+                final Integer a = nodeIndices.get(edge.a());
+                final Integer b = nodeIndices.get(edge.b());
+                return a != null && b != null && matrix.getWeight(a, b) != 0;
+            }
+        };
+    }
+
+    @Override
+    public Set<Edge<N>> getAdjacentEdges(N node) {
+        final int index = requireIndex(node);
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Edge<N>> iterator() {
+                return Collections.unmodifiableList(rowEdges(index, false)).iterator();
+            }
+
+            @Override
+            public int size() {
+                return matrix.degree(index);
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Edge<?> edge)) {
+                    return false;
+                }
+                final Integer other = nodeIndices.get(Objects.equals(edge.a(), node) ? edge.b() : edge.a());
+                return (Objects.equals(edge.a(), node) || Objects.equals(edge.b(), node))
+                    && other != null && matrix.getWeight(index, other) != 0;
+            }
+        };
+    }
+
+    @Override
+    public void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        matrix.forEachAdjacent(requireIndex(node), (to, weight) -> action.accept(nodeAt(to), weight));
+    }
+
+    @Override
+    public int degree(N node) {
+        return matrix.degree(requireIndex(node));
+    }
+
+    @Override
+    public Edge<N> getEdge(N a, N b) {
+        final int indexA = requireIndex(a);
+        final Integer indexB = nodeIndices.get(b);
+        final int weight = indexB == null ? 0 : matrix.getWeight(indexA, indexB);
+        return weight == 0 ? null : Edge.of(a, b, weight);
+    }
+
+    @Override
+    public MutableGraph<N> toMutableGraph() {
+        return new IndexedMutableGraph<>(getNodes(), getEdges());
+    }
+
+    @Override
+    public Graph<N> toGraph() {
+        return Graph.of(new HashSet<>(getNodes()), new HashSet<>(getEdges()));
+    }
+
+    @Override
+    public MutableGraph<N> putNode(N node) {
+        if (nodeIndices.containsKey(node)) {
+            return this;
+        }
+        final int index;
+        if (freeCount > 0) {
+            index = freeIndices[--freeCount];
+        } else {
+            if (usedIndices == indexNodes.length) {
+                grow();
+            }
+            index = usedIndices++;
+        }
+        indexNodes[index] = node;
+        nodeIndices.put(node, index);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException if one of the nodes is not in this graph or the weight is {@code 0}.
+     */
+    @Override
+    public MutableGraph<N> putEdge(N a, N b, int weight) {
+        return setWeight(a, b, requireWeight(a, b, weight));
+    }
+
+    /**
+     * Throws an exception if the given weight cannot be stored in the matrix.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @param weight the weight.
+     * @return the weight.
+     * @throws IllegalArgumentException if the weight is {@code 0}.
+     */
+    private static int requireWeight(Object a, Object b, int weight) {
+        if (weight == 0) {
+            throw new IllegalArgumentException("Weight must not be 0: " + a + " - " + b);
+        }
+        return weight;
+    }
+
+    /**
+     * Stores the given weight in the cells of the edge between the given nodes.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @param weight the new weight, or {@code 0} to remove the edge.
+     * @return this graph.
+     * @throws IllegalArgumentException if one of the nodes is not in this graph.
+     */
+    private MutableGraph<N> setWeight(N a, N b, int weight) {
+        final Integer indexA = nodeIndices.get(a);
+        final Integer indexB = nodeIndices.get(b);
+        if (indexA == null || indexB == null) {
+            throw new IllegalArgumentException("Node not found: " + (indexA == null ? a : b));
+        }
+
+        final int oldWeight = matrix.getWeight(indexA, indexB);
+        if (oldWeight == 0 && weight != 0) {
+            edgeCount++;
+        } else if (oldWeight != 0 && weight == 0) {
+            edgeCount--;
+        }
+        matrix.addEdge(indexA, indexB, weight);
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> putEdgesAndNodes(N a, N b, int weight) {
+        requireWeight(a, b, weight);
+        putNode(a);
+        putNode(b);
+        return putEdge(a, b, weight);
+    }
+
+    @Override
+    public MutableGraph<N> removeEdge(N a, N b) {
+        return setWeight(a, b, 0);
+    }
+
+    @Override
+    public MutableGraph<N> removeNode(N node) {
+        final Integer index = nodeIndices.remove(node);
+        if (index == null) {
+            return this;
+        }
+
+        // collect the neighbors first, because clearing cells while iterating over the row would reorder it
+        final int[] neighbors = new int[matrix.degree(index)];
+        final int[] count = new int[1];
+        matrix.forEachAdjacent(index, (to, weight) -> neighbors[count[0]++] = to);
+        for (int neighbor : neighbors) {
+            matrix.addEdge(index, neighbor, 0);
+        }
+        edgeCount -= neighbors.length;
+        indexNodes[index] = null;
+        freeIndices[freeCount++] = index;
+        return this;
+    }
+}
@@ -0,0 +1,15 @@
+package p3.graph;
+
+/**
+ * A callback that receives the neighbors of a node in an {@link IntGraph}.
+ */
+@FunctionalInterface
+public interface IntAdjacencyConsumer {
+
+    /**
+     * Called once for every edge adjacent to the visited node.
+     * @param neighbor the id of the node at the other end of the edge.
+     * @param weight the weight of the edge.
+     */
+    void accept(int neighbor, int weight);
+}
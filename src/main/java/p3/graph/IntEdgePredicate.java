@@ -0,0 +1,17 @@
+package p3.graph;
+
+/**
+ * A condition on an edge between two nodes of an {@link IntGraph} or in an {@link EdgeList}.
+ */
+@FunctionalInterface
+public interface IntEdgePredicate {
+
+    /**
+     * Tests the given edge.
+     * @param a the id of the first node of the edge.
+     * @param b the id of the second node of the edge.
+     * @param weight the weight of the edge.
+     * @return whether the edge matches the condition.
+     */
+    boolean test(int a, int b, int weight);
+}
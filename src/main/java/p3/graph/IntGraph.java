@@ -0,0 +1,55 @@
+package p3.graph;
+
+/**
+ * An undirected graph whose nodes are identified by dense {@code int} ids.
+ *
+ * <p>
+ * This is the primitive layer underneath {@link Graph}: the ids are the range [0, {@link #nodeCount()} - 1]
+ * and {@link #nodeIndex()} maps them to and from the nodes of type {@code N}.
+ * Algorithms can work on ids internally and only convert to {@code N} at the API edge.
+ * </p>
+ *
+ * <p>
+ * The same rules as for {@link Graph} apply: there can be at most one edge between two nodes,
+ * and every edge {@code (a, b)} is visited from both {@code a} and {@code b}.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public interface IntGraph<N> {
+
+    /**
+     * Returns the index that maps the ids of this graph to nodes and back.
+     * <p> The returned index must not be modified.
+     * @return the node index of this graph.
+     */
+    NodeIndex<N> nodeIndex();
+
+    /**
+     * Returns the number of nodes in this graph.
+     * @return the number of nodes in this graph.
+     */
+    default int nodeCount() {
+        return nodeIndex().size();
+    }
+
+    /**
+     * Returns the number of edges in this graph.
+     * @return the number of edges in this graph.
+     */
+    int edgeCount();
+
+    /**
+     * Returns the number of edges adjacent to the node with the given id.
+     * @param node the id of the node.
+     * @return the degree of the node.
+     */
+    int degree(int node);
+
+    /**
+     * Calls the given action once for every edge adjacent to the node with the given id.
+     * @param node the id of the node.
+     * @param action the action to call with the id of the neighbor and the weight of the edge.
+     */
+    void forEachAdjacent(int node, IntAdjacencyConsumer action);
+}
@@ -0,0 +1,126 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * An immutable graph in compressed sparse row (CSR) form with {@code long} weights.
+ *
+ * <p>
+ * Use this graph when the weights, or the lengths of paths, do not fit into an {@code int}.
+ * The weights are stored in a primitive array and passed to a {@link LongAdjacencyConsumer},
+ * so visiting the neighbors of a node neither boxes nor allocates.
+ * </p>
+ *
+ * <p>
+ * Like {@link DoubleCsrGraph}, this graph rejects negative weights, with which a shortest path does not exist
+ * and the distances of a solver could wrap around.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public final class LongCsrGraph<N> extends AbstractWeightedCsrGraph<N> {
+
+    /**
+     * The weight of the edge stored in each slot.
+     */
+    private final long[] weights;
+
+    /**
+     * Constructs a new {@link LongCsrGraph} that takes ownership of the given arrays.
+     * @param nodeIndex the nodes in the graph.
+     * @param offsets the offsets array.
+     * @param targets the targets array.
+     * @param weights the weights array.
+     */
+    private LongCsrGraph(NodeIndex<N> nodeIndex, int[] offsets, int[] targets, long[] weights) {
+        super(nodeIndex, offsets, targets);
+        this.weights = weights;
+    }
+
+    /**
+     * Creates a new {@link LongCsrGraph} with the given nodes and edges.
+     * If there are several edges between the same nodes, the last one is kept.
+     * @param nodes the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @param <N> the type of the nodes in the graph.
+     * @return a new graph with the given nodes and edges.
+     * @throws IllegalArgumentException if an edge is connected to a node that is not in {@code nodes},
+     * or if a weight is negative.
+     */
+    public static <N> LongCsrGraph<N> of(Set<N> nodes, Collection<LongEdge<N>> edges) {
+        final NodeIndex<N> nodeIndex = NodeIndex.of(nodes);
+        final long[] edgeWeights = new long[edges.size()];
+        int position = 0;
+        for (LongEdge<N> edge : edges) {
+            edgeWeights[position++] = requireWeight(edge.weight());
+        }
+        final int[][] slots = buildSlots(nodeIndex, edges, LongEdge::a, LongEdge::b);
+        final long[] weights = new long[slots[1].length];
+        for (int slot = 0; slot < weights.length; slot++) {
+            weights[slot] = edgeWeights[slots[2][slot]];
+        }
+        return new LongCsrGraph<>(nodeIndex, slots[0], slots[1], weights);
+    }
+
+    /**
+     * Creates a new {@link LongCsrGraph} with the same nodes, ids and edges as the given graph,
+     * so that paths in it can be longer than {@link Integer#MAX_VALUE}.
+     * @param graph the graph to copy.
+     * @param <N> the type of the nodes in the graph.
+     * @return a new graph with the same nodes and edges.
+     * @throws IllegalArgumentException if a weight is negative.
+     */
+    public static <N> LongCsrGraph<N> of(IntGraph<N> graph) {
+        final int[][] slots = copySlots(graph);
+        final long[] weights = new long[slots[2].length];
+        for (int slot = 0; slot < weights.length; slot++) {
+            weights[slot] = requireWeight(slots[2][slot]);
+        }
+        return new LongCsrGraph<>(graph.nodeIndex(), slots[0], slots[1], weights);
+    }
+
+    /**
+     * Returns the given weight if it is valid.
+     * @param weight the weight.
+     * @return the weight.
+     * @throws IllegalArgumentException if the weight is negative.
+     */
+    private static long requireWeight(long weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight: " + weight);
+        }
+        return weight;
+    }
+
+    /**
+     * Calls the given action once for every edge that is adjacent to the node with the given id.
+     * @param node the id of the node to visit the neighbors of.
+     * @param action the action to call for every adjacent edge.
+     */
+    public void forEachAdjacent(int node, LongAdjacencyConsumer action) {
+        final int end = offsets[node + 1];
+        for (int slot = offsets[node]; slot < end; slot++) {
+            action.accept(targets[slot], weights[slot]);
+        }
+    }
+
+    /**
+     * Returns the edge between the given nodes.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @return the edge between the given nodes, or {@code null} if there is no such edge.
+     * @throws IllegalArgumentException if {@code a} is not in this graph.
+     */
+    public LongEdge<N> getEdge(N a, N b) {
+        final int slot = findSlot(a, b);
+        return slot < 0 ? null : new LongEdge<>(a, b, weights[slot]);
+    }
+
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        return estimateFootprint(MemoryLayout.array(weights.length, Long.BYTES));
+    }
+}
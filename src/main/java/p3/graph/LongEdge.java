@@ -0,0 +1,17 @@
+package p3.graph;
+
+/**
+ * An undirected edge with a {@code long} weight, for weights that do not fit into the {@code int} of an {@link Edge}.
+ *
+ * <p>
+ * Unlike an {@link Edge}, this is a plain value: two long edges are only equal if they have the same nodes
+ * in the same order and the same weight. It is used to build and query a {@link LongCsrGraph}.
+ * </p>
+ *
+ * @param a one of the nodes of the edge.
+ * @param b the other node of the edge.
+ * @param weight the weight of the edge.
+ * @param <N> the type of the nodes in the graph.
+ */
+public record LongEdge<N>(N a, N b, long weight) {
+}
@@ -0,0 +1,74 @@
+package p3.graph;
+
+import java.nio.IntBuffer;
+
+/**
+ * An immutable {@link Graph} whose compressed sparse row (CSR) arrays live in a memory-mapped file.
+ *
+ * <p>
+ * The adjacency slots are read directly from the mapped file and are never copied onto the heap,
+ * so several processes that map the same file share it through the page cache.
+ * Only the nodes themselves and their {@link NodeIndex} are kept on the heap.
+ * Instances are created by {@link GraphStore#map(java.nio.file.Path, java.util.function.Function)}.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public class MappedCsrGraph<N> extends AbstractCsrGraph<N> implements GraphFootprint.Estimable {
+
+    /**
+     * The start of the adjacency slots of each node, see {@link #offset(int)}.
+     */
+    private final IntBuffer offsets;
+
+    /**
+     * The index of the neighbor stored in each slot.
+     */
+    private final IntBuffer targets;
+
+    /**
+     * The weight of the edge stored in each slot.
+     */
+    private final IntBuffer weights;
+
+    /**
+     * Constructs a new {@link MappedCsrGraph} over the given mapped sections.
+     * @param nodeIndex the nodes in the graph.
+     * @param edgeCount the number of undirected edges.
+     * @param offsets the mapped offsets section.
+     * @param targets the mapped targets section.
+     * @param weights the mapped weights section.
+     */
+    MappedCsrGraph(NodeIndex<N> nodeIndex, int edgeCount, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        super(nodeIndex, edgeCount);
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    @Override
+    public int offset(int index) {
+        return offsets.get(index);
+    }
+
+    @Override
+    public int target(int slot) {
+        return targets.get(slot);
+    }
+
+    @Override
+    public int weight(int slot) {
+        return weights.get(slot);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> The buffers are views of a mapped file, so only the buffer objects are on the heap.
+     */
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        return new GraphFootprint.Report(getClass().getSimpleName(), nodeCount(), edgeCount(), 0, 0,
+            3 * GraphFootprint.BUFFER, nodeIndex.estimateBytes(),
+            ((long) offsets.limit() + targets.limit() + weights.limit()) * Integer.BYTES);
+    }
+}
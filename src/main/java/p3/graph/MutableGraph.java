@@ -48,6 +48,40 @@ public interface MutableGraph<N> extends Graph<N> {
      */
     MutableGraph<N> putEdgesAndNodes(N a, N b, int weight);
 
+    /**
+     * Removes the edge between the given nodes from this graph.
+     * <p> If there is no edge between the nodes, nothing happens.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @return this graph.
+     * @throws IllegalArgumentException if one of the nodes of the edge is not in the graph.
+     */
+    MutableGraph<N> removeEdge(N a, N b);
+
+    /**
+     * Removes the given node and all edges that are adjacent to it from this graph.
+     * <p> If the node is not in the graph, nothing happens.
+     * @param node the node to remove.
+     * @return this graph.
+     */
+    MutableGraph<N> removeNode(N node);
+
+    /**
+     * Changes the weight of the edge between the given nodes.
+     * <p> Unlike {@link #putEdge(Object, Object, int)}, this method does not add an edge if there is none.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @param weight the new weight of the edge.
+     * @return this graph.
+     * @throws IllegalArgumentException if one of the nodes is not in the graph or there is no edge between them.
+     */
+    default MutableGraph<N> updateWeight(N a, N b, int weight) {
+        if (getEdge(a, b) == null) {
+            throw new IllegalArgumentException("Edge not found: " + a + " - " + b);
+        }
+        return putEdge(a, b, weight);
+    }
+
     /**
      * Creates a new empty mutable graph.
      * @return a new empty mutable graph.
@@ -0,0 +1,248 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An interner that assigns dense {@code int} ids to nodes.
+ *
+ * <p>
+ * The first interned node gets the id {@code 0}, the next one {@code 1} and so on,
+ * so the ids of all nodes are exactly the range [0, {@link #size()} - 1].
+ * Ids are never reassigned or removed.
+ * </p>
+ *
+ * <p>
+ * Unlike a {@code Map<N, Integer>}, this class stores ids in a primitive open-addressing table
+ * and does not box them.
+ * </p>
+ *
+ * @param <N> the type of the nodes.
+ */
+public final class NodeIndex<N> {
+
+    /**
+     * The maximum load factor of {@link #table}.
+     */
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * The nodes, ordered by their id.
+     */
+    private Object[] nodes;
+
+    /**
+     * The open-addressing hash table. Each slot stores the id of a node plus one, or {@code 0} if it is empty.
+     * The length is always a power of two.
+     */
+    private int[] table;
+
+    /**
+     * The number of interned nodes.
+     */
+    private int size;
+
+    /**
+     * Whether this index may no longer be modified, because a graph relies on it.
+     */
+    private boolean frozen;
+
+    /**
+     * Constructs a new empty {@link NodeIndex}.
+     */
+    public NodeIndex() {
+        this(16);
+    }
+
+    /**
+     * Constructs a new empty {@link NodeIndex} that can hold the given number of nodes without resizing.
+     * @param expectedSize the expected number of nodes.
+     */
+    public NodeIndex(int expectedSize) {
+        nodes = new Object[Math.max(expectedSize, 1)];
+        table = new int[tableSizeFor(expectedSize)];
+    }
+
+    /**
+     * Creates a new {@link NodeIndex} that contains the given nodes, with ids assigned in iteration order.
+     * @param nodes the nodes.
+     * @return a new {@link NodeIndex} containing the nodes.
+     * @param <N> the type of the nodes.
+     */
+    public static <N> NodeIndex<N> of(Collection<? extends N> nodes) {
+        final NodeIndex<N> index = new NodeIndex<>(nodes.size());
+        for (N node : nodes) {
+            index.intern(node);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the id of the given node, assigning the next free id if the node is not in this index yet.
+     * @param node the node.
+     * @return the id of the node.
+     * @throws UnsupportedOperationException if the node is new and this index is used by an immutable graph.
+     */
+    public int intern(N node) {
+        int slot = slotOf(node);
+        if (table[slot] != 0) {
+            return table[slot] - 1;
+        }
+        if (frozen) {
+            throw new UnsupportedOperationException("Index is used by an immutable graph");
+        }
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+        }
+        nodes[size] = node;
+        table[slot] = ++size;
+        if (size > table.length * LOAD_FACTOR) {
+            rehash(table.length * 2);
+        }
+        return size - 1;
+    }
+
+    /**
+     * Returns the id of the given node.
+     * @param node the node.
+     * @return the id of the node, or {@code -1} if it is not in this index.
+     */
+    public int indexOf(Object node) {
+        return table[slotOf(node)] - 1;
+    }
+
+    /**
+     * Returns the node with the given id.
+     * @param id the id.
+     * @return the node with the given id.
+     * @throws IndexOutOfBoundsException if there is no node with the given id.
+     */
+    @SuppressWarnings("unchecked")
+    public N nodeAt(int id) {
+        Objects.checkIndex(id, size);
+        return (N) nodes[id];
+    }
+
+    /**
+     * Returns the number of nodes in this index.
+     * @return the number of nodes in this index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Estimates the number of bytes that this index uses on the heap, without the nodes, see {@link MemoryLayout}.
+     * @return the estimated heap size of this index.
+     */
+    long estimateBytes() {
+        return MemoryLayout.object(3L * MemoryLayout.REFERENCE)
+            + MemoryLayout.array(nodes.length, MemoryLayout.REFERENCE)
+            + MemoryLayout.array(table.length, Integer.BYTES);
+    }
+
+    /**
+     * Returns an unmodifiable view of the nodes in this index, iterating in id order.
+     * @return an unmodifiable view of the nodes in this index.
+     */
+    public Set<N> asSet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<N> iterator() {
+                return new Iterator<>() {
+                    private int id = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return id < size;
+                    }
+
+                    @Override
+                    public N next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return nodeAt(id++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return indexOf(o) >= 0;
+            }
+        };
+    }
+
+    /**
+     * Prevents further nodes from being interned.
+     * Called by immutable graphs that take ownership of this index.
+     * @return this index.
+     */
+    NodeIndex<N> freeze() {
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Returns the slot of {@link #table} that contains the given node, or the empty slot where it would be inserted.
+     * @param node the node.
+     * @return the slot of the node.
+     */
+    private int slotOf(Object node) {
+        final int mask = table.length - 1;
+        int slot = hash(node) & mask;
+        while (table[slot] != 0 && !Objects.equals(nodes[table[slot] - 1], node)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Rebuilds {@link #table} with the given capacity.
+     * @param capacity the new capacity, a power of two.
+     */
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        final int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(nodes[id]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    /**
+     * Spreads the hash code of the given node so that linear probing works well with poor hash codes.
+     * @param node the node.
+     * @return the spread hash code.
+     */
+    private static int hash(Object node) {
+        final int h = Objects.hashCode(node) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the table size needed to hold the given number of nodes.
+     * @param expectedSize the expected number of nodes.
+     * @return a power of two.
+     */
+    private static int tableSizeFor(int expectedSize) {
+        final int minimum = (int) Math.min((long) (expectedSize / LOAD_FACTOR) + 1, 1 << 30);
+        return Math.max(Integer.highestOneBit(minimum - 1) << 1, 2);
+    }
+}
@@ -0,0 +1,201 @@
+package p3.graph;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Orders in which the nodes of a graph can be assigned their ids.
+ *
+ * <p>
+ * The ids of {@link NodeIndex} are assigned in the order in which nodes are added, which is usually the random
+ * iteration order of a {@code HashSet}. Neighbors then have ids that are far apart, so traversing a graph touches
+ * its arrays all over the place. The orderings in this enum give neighbors ids that are close together,
+ * which makes index-based graphs like {@link CsrGraph} and {@link AdjacencyGraph} more cache friendly.
+ * The graph itself does not change, so all solvers work the same on a reordered graph.
+ * </p>
+ */
+public enum NodeOrdering {
+
+    /**
+     * Orders the nodes by breadth first search, starting from the node with the smallest id of every
+     * connected component. Neighbors are visited in the order of their ids.
+     */
+    BFS {
+        @Override
+        public int[] order(IntGraph<?> graph) {
+            final int nodeCount = graph.nodeCount();
+            final int[] order = new int[nodeCount];
+            final boolean[] visited = new boolean[nodeCount];
+            final int[] tail = new int[1];
+            final IntAdjacencyConsumer enqueue = (neighbor, weight) -> {
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    order[tail[0]++] = neighbor;
+                }
+            };
+            for (int start = 0; start < nodeCount; start++) {
+                if (visited[start]) {
+                    continue;
+                }
+                visited[start] = true;
+                int head = tail[0];
+                order[tail[0]++] = start;
+                while (head < tail[0]) {
+                    graph.forEachAdjacent(order[head++], enqueue);
+                }
+            }
+            return order;
+        }
+    },
+
+    /**
+     * Orders the nodes by the reverse Cuthill-McKee algorithm, which minimizes the bandwidth of the adjacency matrix,
+     * i.e., the largest difference between the ids of two neighbors.
+     *
+     * <p>
+     * Every connected component is searched breadth first, starting from one of its nodes with minimal degree,
+     * and the unvisited neighbors of every node are visited in the order of increasing degree.
+     * The resulting order is reversed.
+     * </p>
+     */
+    REVERSE_CUTHILL_MCKEE {
+        @Override
+        public int[] order(IntGraph<?> graph) {
+            final int nodeCount = graph.nodeCount();
+            final int[] order = new int[nodeCount];
+            final boolean[] visited = new boolean[nodeCount];
+            final long[][] buffer = {new long[16]};
+            final int[] count = new int[1];
+            final IntAdjacencyConsumer collect = (neighbor, weight) -> {
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    if (count[0] == buffer[0].length) {
+                        buffer[0] = Arrays.copyOf(buffer[0], count[0] * 2);
+                    }
+                    buffer[0][count[0]++] = byDegree(graph, neighbor);
+                }
+            };
+
+            final long[] starts = new long[nodeCount];
+            for (int node = 0; node < nodeCount; node++) {
+                starts[node] = byDegree(graph, node);
+            }
+            Arrays.sort(starts);
+
+            int tail = 0;
+            for (long start : starts) {
+                final int startNode = (int) start;
+                if (visited[startNode]) {
+                    continue;
+                }
+                visited[startNode] = true;
+                int head = tail;
+                order[tail++] = startNode;
+                while (head < tail) {
+                    count[0] = 0;
+                    graph.forEachAdjacent(order[head++], collect);
+                    Arrays.sort(buffer[0], 0, count[0]);
+                    for (int i = 0; i < count[0]; i++) {
+                        order[tail++] = (int) buffer[0][i];
+                    }
+                }
+            }
+
+            for (int i = 0, j = nodeCount - 1; i < j; i++, j--) {
+                final int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+            return order;
+        }
+    },
+
+    /**
+     * Orders the nodes by decreasing degree, so that the adjacency of the most connected nodes is stored together.
+     * Nodes with the same degree keep the order of their ids.
+     */
+    DEGREE {
+        @Override
+        public int[] order(IntGraph<?> graph) {
+            final int nodeCount = graph.nodeCount();
+            final long[] keys = new long[nodeCount];
+            for (int node = 0; node < nodeCount; node++) {
+                keys[node] = ((long) -graph.degree(node) << 32) | node;
+            }
+            Arrays.sort(keys);
+            final int[] order = new int[nodeCount];
+            for (int i = 0; i < nodeCount; i++) {
+                order[i] = (int) keys[i];
+            }
+            return order;
+        }
+    };
+
+    /**
+     * Computes the new order of the nodes of the given graph.
+     * @param graph the graph.
+     * @return the ids of all nodes of the graph, in their new order.
+     * The node at position {@code i} gets the new id {@code i}.
+     */
+    public abstract int[] order(IntGraph<?> graph);
+
+    /**
+     * Returns the nodes of the given graph in their new order.
+     *
+     * <p>
+     * The result iterates over the nodes in their new order. It can be passed to {@link CsrGraph#CsrGraph(Set, Set)},
+     * which assigns the ids in the iteration order of the given nodes, so that the copy has the same ids as
+     * {@link #reorder(IntGraph)}. {@link AdjacencyGraph} also keeps this order, because
+     * {@link p3.SetUtils#immutableCopyOf(Set)} keeps the iteration order of the copied set, so an implementation
+     * that assigns the matrix indices in the order of {@link AdjacencyGraph#getNodes()} benefits as well.
+     * </p>
+     *
+     * @param graph the graph.
+     * @return the nodes of the graph in their new order.
+     * @param <N> the type of the nodes in the graph.
+     */
+    public <N> Set<N> orderedNodes(Graph<N> graph) {
+        final IntGraph<N> intGraph = graph.toIntGraph();
+        final int[] order = order(intGraph);
+        final Set<N> result = new LinkedHashSet<>(order.length * 2);
+        for (int id : order) {
+            result.add(intGraph.nodeIndex().nodeAt(id));
+        }
+        return result;
+    }
+
+    /**
+     * Creates a copy of the given graph in which the nodes are assigned their ids in the new order.
+     * @param graph the graph.
+     * @return a new graph with the same nodes and edges.
+     * @param <N> the type of the nodes in the graph.
+     */
+    public <N> CsrGraph<N> reorder(IntGraph<N> graph) {
+        final int[] order = order(graph);
+        final NodeIndex<N> oldIndex = graph.nodeIndex();
+        final NodeIndex<N> newIndex = new NodeIndex<>(order.length);
+        final int[] newIds = new int[order.length];
+        for (int id : order) {
+            newIds[id] = newIndex.intern(oldIndex.nodeAt(id));
+        }
+
+        final EdgeList oldEdges = EdgeList.of(graph);
+        final EdgeList newEdges = new EdgeList(oldEdges.size());
+        for (int edge = 0; edge < oldEdges.size(); edge++) {
+            newEdges.add(newIds[oldEdges.a(edge)], newIds[oldEdges.b(edge)], oldEdges.weight(edge));
+        }
+        return new CsrGraph<>(newIndex, newEdges);
+    }
+
+    /**
+     * Returns a sort key that orders nodes by increasing degree and then by id.
+     * The id of the node is stored in the lower 32 bits of the key.
+     * @param graph the graph.
+     * @param node the id of the node.
+     * @return the sort key.
+     */
+    private static long byDegree(IntGraph<?> graph, int node) {
+        return ((long) graph.degree(node) << 32) | node;
+    }
+}
@@ -0,0 +1,256 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * A {@link MutableGraph} that forwards all operations to another mutable graph and publishes every change
+ * as a {@link GraphChange} to its subscribers.
+ *
+ * <p>
+ * Changes are collected into batches of {@link #batchSize} changes, which are published in the order the changes
+ * were made. Batches are delivered asynchronously by a {@link SubmissionPublisher}: every subscriber has a buffer
+ * of batches, and if the buffer of a subscriber is full because it requests batches slower than they are made,
+ * the modifying thread blocks until the subscriber catches up. Use {@link #flush()} to publish an incomplete batch
+ * and {@link #close()} to publish the remaining changes and complete all subscribers.
+ * </p>
+ *
+ * <p>
+ * Operations that do not change the graph, such as adding a node that is already in the graph or setting
+ * an edge to its current weight, do not publish anything. Like the graph it forwards to, this graph must not be
+ * modified by several threads at the same time.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public class ObservableMutableGraph<N> implements MutableGraph<N>, AutoCloseable, GraphFootprint.Estimable {
+
+    /**
+     * The graph that all operations are forwarded to.
+     */
+    private final MutableGraph<N> delegate;
+
+    /**
+     * The publisher that delivers batches to the subscribers.
+     */
+    private final SubmissionPublisher<List<GraphChange<N>>> publisher;
+
+    /**
+     * The number of changes in a batch.
+     */
+    private final int batchSize;
+
+    /**
+     * The changes that have not been published yet.
+     */
+    private List<GraphChange<N>> pending;
+
+    /**
+     * Constructs a new {@link ObservableMutableGraph} that delivers batches using the common fork join pool,
+     * with a buffer of {@link Flow#defaultBufferSize()} batches per subscriber.
+     * @param delegate the graph to forward all operations to.
+     * @param batchSize the number of changes in a batch.
+     */
+    public ObservableMutableGraph(MutableGraph<N> delegate, int batchSize) {
+        this(delegate, batchSize, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    /**
+     * Constructs a new {@link ObservableMutableGraph}.
+     * @param delegate the graph to forward all operations to.
+     * @param batchSize the number of changes in a batch.
+     * @param executor the executor that delivers batches to the subscribers.
+     * @param maxBufferCapacity the maximum number of batches that are buffered per subscriber.
+     * @throws IllegalArgumentException if {@code batchSize} or {@code maxBufferCapacity} is not positive.
+     */
+    public ObservableMutableGraph(MutableGraph<N> delegate, int batchSize, Executor executor, int maxBufferCapacity) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.publisher = new SubmissionPublisher<>(executor, maxBufferCapacity);
+        this.pending = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> The view bytes include the publisher and the changes that have not been published yet.
+     */
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        final GraphFootprint.Report report = GraphFootprint.of(delegate);
+        final long pendingBytes = MemoryLayout.object(MemoryLayout.REFERENCE + 2L * Integer.BYTES)
+            + MemoryLayout.array(batchSize, MemoryLayout.REFERENCE) + (long) pending.size() * GraphFootprint.CHANGE;
+        return new GraphFootprint.Report(getClass().getSimpleName(), report.nodeCount(), report.edgeCount(),
+            0, 0, 0, 0, 0,
+            MemoryLayout.object(3L * MemoryLayout.REFERENCE + Integer.BYTES) + GraphFootprint.PUBLISHER + pendingBytes,
+            report);
+    }
+
+    /**
+     * Adds the given subscriber. The subscriber receives all batches that are published after this call.
+     * @param subscriber the subscriber.
+     */
+    public void subscribe(Flow.Subscriber<? super List<GraphChange<N>>> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Publishes the pending changes, even if they do not fill a whole batch.
+     * <p> If there are no pending changes, nothing happens.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        final List<GraphChange<N>> batch = pending;
+        pending = new ArrayList<>(batchSize);
+        publisher.submit(batch);
+    }
+
+    /**
+     * Publishes the pending changes and completes all subscribers.
+     * This graph can still be read and modified afterwards, but changes are no longer published.
+     */
+    @Override
+    public void close() {
+        if (!publisher.isClosed()) {
+            flush();
+            publisher.close();
+        }
+    }
+
+    /**
+     * Adds the given change to the pending changes, publishing them if they fill a batch.
+     * @param change the change.
+     */
+    private void publish(GraphChange<N> change) {
+        if (publisher.isClosed()) {
+            return;
+        }
+        pending.add(change);
+        if (pending.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Publishes the change of the edge between the given nodes, as seen in the delegate before and after the change.
+     * The change is decided from the state of the delegate, because some graphs do not store every edge they are
+     * given, e.g. {@link IndexedMutableGraph} removes an edge that is put with weight {@code 0}.
+     * @param a the first node of the edge.
+     * @param b the second node of the edge.
+     * @param old the edge before the change, or {@code null} if there was none.
+     * @param current the edge after the change, or {@code null} if there is none.
+     */
+    private void publishEdge(N a, N b, Edge<N> old, Edge<N> current) {
+        if (current == null) {
+            if (old != null) {
+                publish(GraphChange.ofEdge(GraphChange.Type.EDGE_REMOVED, a, b, old.weight()));
+            }
+        } else if (old == null) {
+            publish(GraphChange.ofEdge(GraphChange.Type.EDGE_ADDED, a, b, current.weight()));
+        } else if (old.weight() != current.weight()) {
+            publish(GraphChange.ofEdge(GraphChange.Type.EDGE_REWEIGHTED, a, b, current.weight()));
+        }
+    }
+
+    @Override
+    public Set<N> getNodes() {
+        return delegate.getNodes();
+    }
+
+    @Override
+    public Set<Edge<N>> getEdges() {
+        return delegate.getEdges();
+    }
+
+    @Override
+    public Set<Edge<N>> getAdjacentEdges(N node) {
+        return delegate.getAdjacentEdges(node);
+    }
+
+    @Override
+    public void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        delegate.forEachAdjacent(node, action);
+    }
+
+    @Override
+    public int degree(N node) {
+        return delegate.degree(node);
+    }
+
+    @Override
+    public Edge<N> getEdge(N a, N b) {
+        return delegate.getEdge(a, b);
+    }
+
+    @Override
+    public IntGraph<N> toIntGraph() {
+        return delegate.toIntGraph();
+    }
+
+    @Override
+    public MutableGraph<N> toMutableGraph() {
+        return delegate.toMutableGraph();
+    }
+
+    @Override
+    public Graph<N> toGraph() {
+        return delegate.toGraph();
+    }
+
+    @Override
+    public MutableGraph<N> putNode(N node) {
+        if (!delegate.getNodes().contains(node)) {
+            delegate.putNode(node);
+            publish(GraphChange.ofNode(GraphChange.Type.NODE_ADDED, node));
+        }
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> putEdge(N a, N b, int weight) {
+        final Edge<N> old = delegate.getEdge(a, b);
+        delegate.putEdge(a, b, weight);
+        publishEdge(a, b, old, delegate.getEdge(a, b));
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> putEdgesAndNodes(N a, N b, int weight) {
+        putNode(a);
+        putNode(b);
+        return putEdge(a, b, weight);
+    }
+
+    @Override
+    public MutableGraph<N> removeEdge(N a, N b) {
+        final Edge<N> old = delegate.getEdge(a, b);
+        delegate.removeEdge(a, b);
+        publishEdge(a, b, old, delegate.getEdge(a, b));
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> removeNode(N node) {
+        if (!delegate.getNodes().contains(node)) {
+            return this;
+        }
+        if (!publisher.isClosed()) {
+            delegate.forEachAdjacent(node, (neighbor, weight) ->
+                publish(GraphChange.ofEdge(GraphChange.Type.EDGE_REMOVED, node, neighbor, weight)));
+        }
+        delegate.removeNode(node);
+        publish(GraphChange.ofNode(GraphChange.Type.NODE_REMOVED, node));
+        return this;
+    }
+}
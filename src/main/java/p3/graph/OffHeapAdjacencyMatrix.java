@@ -0,0 +1,140 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Objects;
+
+/**
+ * An {@link AdjacencyMatrix} that stores its cells outside of the Java heap, in direct {@link ByteBuffer}s.
+ *
+ * <p>
+ * The cells are stored in row-major order. Because a single buffer is limited to 2 GiB,
+ * the rows are split into chunks of at most {@link #MAX_CHUNK_CELLS} cells each.
+ * The memory is released when the matrix is garbage collected.
+ * </p>
+ */
+class OffHeapAdjacencyMatrix extends AdjacencyMatrix {
+
+    /**
+     * The maximum number of cells in one chunk (1 GiB).
+     */
+    private static final int MAX_CHUNK_CELLS = 1 << 28;
+
+    /**
+     * The number of rows in each chunk.
+     */
+    private final int rowsPerChunk;
+
+    /**
+     * The chunks that store the rows. Chunk {@code i} stores the rows [i * rowsPerChunk, (i + 1) * rowsPerChunk).
+     */
+    private final IntBuffer[] chunks;
+
+    /**
+     * Constructs a new off-heap adjacency matrix with the given size.
+     * @param size the size of the matrix.
+     * @throws IllegalArgumentException if a single row does not fit into a chunk.
+     */
+    OffHeapAdjacencyMatrix(int size) {
+        super(size, null);
+        if (size > MAX_CHUNK_CELLS) {
+            throw new IllegalArgumentException("Size too large for off-heap storage: " + size);
+        }
+        rowsPerChunk = size == 0 ? 1 : MAX_CHUNK_CELLS / size;
+        chunks = new IntBuffer[(size + rowsPerChunk - 1) / rowsPerChunk];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            final int rows = Math.min(rowsPerChunk, size - chunk * rowsPerChunk);
+            chunks[chunk] = ByteBuffer.allocateDirect(rows * size * Integer.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asIntBuffer();
+        }
+    }
+
+    @Override
+    public void addEdge(int a, int b, int weight) {
+        Objects.checkIndex(a, size());
+        Objects.checkIndex(b, size());
+        chunkOf(a).put(cellOf(a, b), weight);
+        chunkOf(b).put(cellOf(b, a), weight);
+    }
+
+    @Override
+    public int getWeight(int a, int b) {
+        Objects.checkIndex(a, size());
+        Objects.checkIndex(b, size());
+        return chunkOf(a).get(cellOf(a, b));
+    }
+
+    @Override
+    public int[] getAdjacent(int index) {
+        Objects.checkIndex(index, size());
+        final int[] result = new int[size()];
+        chunkOf(index).get(cellOf(index, 0), result);
+        return result;
+    }
+
+    @Override
+    public int degree(int index) {
+        Objects.checkIndex(index, size());
+        final IntBuffer chunk = chunkOf(index);
+        final int start = cellOf(index, 0);
+        int degree = 0;
+        for (int column = 0; column < size(); column++) {
+            if (chunk.get(start + column) != 0) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    @Override
+    public void forEachAdjacent(int index, IntAdjacencyConsumer action) {
+        Objects.checkIndex(index, size());
+        final IntBuffer chunk = chunkOf(index);
+        final int start = cellOf(index, 0);
+        for (int column = 0; column < size(); column++) {
+            final int weight = chunk.get(start + column);
+            if (weight != 0) {
+                action.accept(column, weight);
+            }
+        }
+    }
+
+    @Override
+    long estimateBytes() {
+        // every chunk is a direct buffer and an int view of it, about 64 bytes each
+        return MemoryLayout.object(4L * MemoryLayout.REFERENCE) + MemoryLayout.array(chunks.length, MemoryLayout.REFERENCE)
+            + 128L * chunks.length;
+    }
+
+    @Override
+    long estimateOffHeapBytes() {
+        long bytes = 0;
+        for (IntBuffer chunk : chunks) {
+            bytes += (long) chunk.capacity() * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the chunk that stores the given row.
+     * @param row the row.
+     * @return the chunk of the row.
+     */
+    private IntBuffer chunkOf(int row) {
+        return chunks[row / rowsPerChunk];
+    }
+
+    /**
+     * Returns the position of the given cell within the chunk of its row.
+     * @param row the row.
+     * @param column the column.
+     * @return the position of the cell.
+     */
+    private int cellOf(int row, int column) {
+        return (row % rowsPerChunk) * size() + column;
+    }
+}
@@ -0,0 +1,350 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An implementation of an immutable {@link Graph} that is backed by persistent maps.
+ *
+ * <p>
+ * Every node is mapped to a {@link PersistentMap} from its neighbors to the edges between them.
+ * {@link #withNode(Object)} and {@link #withEdge(Object, Object, int)} return new graphs that share
+ * all unchanged parts of the maps with this graph, so they only copy O(log n) map nodes.
+ * This makes {@link PersistentMutableGraph#toGraph()} an O(1) snapshot.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public final class PersistentGraph<N> implements Graph<N>, GraphFootprint.Estimable {
+
+    /**
+     * The empty graph.
+     */
+    private static final PersistentGraph<?> EMPTY = new PersistentGraph<>(PersistentMap.empty(), 0);
+
+    /**
+     * A map from nodes to a map from their neighbors to the edges between them.
+     * If a node has no adjacent edges, it is mapped to an empty map.
+     * An edge is stored once for each of its nodes, so self-loops are stored once.
+     */
+    private final PersistentMap<N, PersistentMap<N, Edge<N>>> adjacency;
+
+    /**
+     * The number of edges in this graph.
+     */
+    private final int edgeCount;
+
+    /**
+     * Constructs a new {@link PersistentGraph} with the given adjacency.
+     * @param adjacency the adjacency maps.
+     * @param edgeCount the number of edges.
+     */
+    private PersistentGraph(PersistentMap<N, PersistentMap<N, Edge<N>>> adjacency, int edgeCount) {
+        this.adjacency = adjacency;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Returns the empty graph.
+     * @return the empty graph.
+     * @param <N> the type of the nodes in the graph.
+     */
+    @SuppressWarnings("unchecked")
+    static <N> PersistentGraph<N> empty() {
+        return (PersistentGraph<N>) EMPTY;
+    }
+
+    /**
+     * Returns a graph that additionally contains the given node.
+     * @param node the node to add.
+     * @return the new graph, or this graph if the node is already in it.
+     */
+    PersistentGraph<N> withNode(N node) {
+        if (adjacency.containsKey(node)) {
+            return this;
+        }
+        return new PersistentGraph<>(adjacency.put(node, PersistentMap.empty()), edgeCount);
+    }
+
+    /**
+     * Returns a graph that additionally contains an edge between the given nodes,
+     * replacing an existing edge between them.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @param weight the weight of the edge.
+     * @return the new graph, or this graph if the edge is already in it with the same weight.
+     * @throws IllegalArgumentException if one of the nodes of the edge is not in this graph.
+     */
+    PersistentGraph<N> withEdge(N a, N b, int weight) {
+        final PersistentMap<N, Edge<N>> edgesA = adjacency.get(a);
+        if (edgesA == null || !adjacency.containsKey(b)) {
+            throw new IllegalArgumentException("Node not found: " + (edgesA == null ? a : b));
+        }
+
+        final Edge<N> existing = edgesA.get(b);
+        if (existing != null && existing.weight() == weight) {
+            return this;
+        }
+        final Edge<N> edge = Edge.of(a, b, weight);
+        final boolean replaced = existing != null;
+        PersistentMap<N, PersistentMap<N, Edge<N>>> result = adjacency.put(a, edgesA.put(b, edge));
+        // read the neighbors of b after updating a, so that a self-loop sees its own update
+        result = result.put(b, result.get(b).put(a, edge));
+        return new PersistentGraph<>(result, replaced ? edgeCount : edgeCount + 1);
+    }
+
+    /**
+     * Returns a graph without the edge between the given nodes.
+     * @param a one of the nodes of the edge.
+     * @param b the other node of the edge.
+     * @return the new graph, or this graph if there is no edge between the nodes.
+     * @throws IllegalArgumentException if one of the nodes of the edge is not in this graph.
+     */
+    PersistentGraph<N> withoutEdge(N a, N b) {
+        final PersistentMap<N, Edge<N>> edgesA = adjacency.get(a);
+        if (edgesA == null || !adjacency.containsKey(b)) {
+            throw new IllegalArgumentException("Node not found: " + (edgesA == null ? a : b));
+        }
+        if (!edgesA.containsKey(b)) {
+            return this;
+        }
+
+        PersistentMap<N, PersistentMap<N, Edge<N>>> result = adjacency.put(a, edgesA.remove(b));
+        result = result.put(b, result.get(b).remove(a));
+        return new PersistentGraph<>(result, edgeCount - 1);
+    }
+
+    /**
+     * Returns a graph without the given node and its adjacent edges.
+     * @param node the node to remove.
+     * @return the new graph, or this graph if the node is not in it.
+     */
+    PersistentGraph<N> withoutNode(N node) {
+        final PersistentMap<N, Edge<N>> neighbors = adjacency.get(node);
+        if (neighbors == null) {
+            return this;
+        }
+
+        PersistentMap<N, PersistentMap<N, Edge<N>>> result = adjacency.remove(node);
+        for (Map.Entry<N, Edge<N>> entry : neighbors) {
+            final N neighbor = entry.getKey();
+            if (!Objects.equals(neighbor, node)) {
+                result = result.put(neighbor, result.get(neighbor).remove(node));
+            }
+        }
+        return new PersistentGraph<>(result, edgeCount - neighbors.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> Parts of the adjacency maps that are shared with other versions of the graph are counted as well.
+     */
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        final long[] bytes = {adjacency.estimateBytes()};
+        adjacency.forEach((node, neighbors) -> bytes[0] += neighbors.estimateBytes());
+        return new GraphFootprint.Report(getClass().getSimpleName(), getNodes().size(), getEdges().size(),
+            0, (long) getEdges().size() * GraphFootprint.EDGE, bytes[0], 0, 0);
+    }
+
+    /**
+     * Returns the neighbors of the given node, throwing an exception if it is not in this graph.
+     * @param node the node.
+     * @return a map from the neighbors of the node to the edges between them.
+     * @throws IllegalArgumentException if the node is not in this graph.
+     */
+    private PersistentMap<N, Edge<N>> requireNeighbors(N node) {
+        final PersistentMap<N, Edge<N>> neighbors = adjacency.get(node);
+        if (neighbors == null) {
+            throw new IllegalArgumentException("Node not found: " + node);
+        }
+        return neighbors;
+    }
+
+    @Override
+    public Set<N> getNodes() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<N> iterator() {
+                final Iterator<Map.Entry<N, PersistentMap<N, Edge<N>>>> entries = adjacency.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public N next() {
+                        return entries.next().getKey();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return adjacency.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return adjacency.containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Set<Edge<N>> getEdges() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Edge<N>> iterator() {
+                return new EdgeIterator();
+            }
+
+            @Override
+            public int size() {
+                return edgeCount;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Edge<?> edge)) {
+                    return false;
+                }
+                final PersistentMap<N, Edge<N>> neighbors = adjacency.get(edge.a());
+                return neighbors != null && neighbors.containsKey(edge.b());
+            }
+        };
+    }
+
+    @Override
+    public Set<Edge<N>> getAdjacentEdges(N node) {
+        final PersistentMap<N, Edge<N>> neighbors = requireNeighbors(node);
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Edge<N>> iterator() {
+                final Iterator<Map.Entry<N, Edge<N>>> entries = neighbors.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Edge<N> next() {
+                        return entries.next().getValue();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return neighbors.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Edge<?> edge
+                    && (Objects.equals(edge.a(), node) && neighbors.containsKey(edge.b())
+                    || Objects.equals(edge.b(), node) && neighbors.containsKey(edge.a()));
+            }
+        };
+    }
+
+    @Override
+    public void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        requireNeighbors(node).forEach((neighbor, edge) -> action.accept(neighbor, edge.weight()));
+    }
+
+    @Override
+    public int degree(N node) {
+        return requireNeighbors(node).size();
+    }
+
+    @Override
+    public Edge<N> getEdge(N a, N b) {
+        return requireNeighbors(a).get(b);
+    }
+
+    @Override
+    public MutableGraph<N> toMutableGraph() {
+        return new PersistentMutableGraph<>(this);
+    }
+
+    @Override
+    public Graph<N> toGraph() {
+        return this;
+    }
+
+    /**
+     * An iterator over all edges of this graph. Every edge is returned only at its node {@link Edge#a()}.
+     */
+    private class EdgeIterator implements Iterator<Edge<N>> {
+
+        /**
+         * The remaining nodes with their neighbors.
+         */
+        private final Iterator<Map.Entry<N, PersistentMap<N, Edge<N>>>> nodes = adjacency.iterator();
+
+        /**
+         * The node whose edges are currently iterated.
+         */
+        private N node;
+
+        /**
+         * The remaining edges of {@link #node}.
+         */
+        private Iterator<Map.Entry<N, Edge<N>>> edges = PersistentMap.<N, Edge<N>>empty().iterator();
+
+        /**
+         * The next edge to return, or {@code null} when the iteration is finished.
+         */
+        private Edge<N> next;
+
+        EdgeIterator() {
+            advance();
+        }
+
+        /**
+         * Finds the next edge and stores it in {@link #next}.
+         */
+        private void advance() {
+            while (true) {
+                while (edges.hasNext()) {
+                    final Edge<N> edge = edges.next().getValue();
+                    if (Objects.equals(edge.a(), node)) {
+                        next = edge;
+                        return;
+                    }
+                }
+                if (!nodes.hasNext()) {
+                    next = null;
+                    return;
+                }
+                final Map.Entry<N, PersistentMap<N, Edge<N>>> entry = nodes.next();
+                node = entry.getKey();
+                edges = entry.getValue().iterator();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Edge<N> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Edge<N> result = next;
+            advance();
+            return result;
+        }
+    }
+}
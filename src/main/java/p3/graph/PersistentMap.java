@@ -0,0 +1,532 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map whose updates return a new map that shares most of its structure with the old one.
+ *
+ * <p>
+ * The map is a hash array mapped trie (HAMT): every level of the trie consumes five bits of the hash code of
+ * a key, and every node only stores the children that are present, indexed by a 32-bit bitmap.
+ * {@link #put(Object, Object)} and {@link #remove(Object)} copy only the nodes on the path to the key,
+ * which are at most seven, so both the old and the new map stay valid and can be used by different threads.
+ * </p>
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+final class PersistentMap<K, V> implements Iterable<Map.Entry<K, V>> {
+
+    /**
+     * The number of hash bits consumed per level.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * Stands in for {@code null} keys, because {@code null} marks child nodes in {@link BitmapNode#array}.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * Returned by {@link Node#find(int, int, Object)} if the key is not in the map.
+     */
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * The empty map.
+     */
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.EMPTY, 0);
+
+    /**
+     * The root node of the trie.
+     */
+    private final Node root;
+
+    /**
+     * The number of entries in this map.
+     */
+    private final int size;
+
+    /**
+     * Constructs a new map with the given root and size.
+     * @param root the root node.
+     * @param size the number of entries.
+     */
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     * @return the empty map.
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns the number of entries in this map.
+     * @return the number of entries in this map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value that the given key is mapped to.
+     * @param key the key.
+     * @return the value of the key, or {@code null} if the key is not in this map.
+     */
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        final Object masked = maskNull(key);
+        final Object value = root.find(0, hash(masked), masked);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    /**
+     * Returns whether the given key is in this map.
+     * @param key the key.
+     * @return whether the key is in this map.
+     */
+    boolean containsKey(Object key) {
+        final Object masked = maskNull(key);
+        return root.find(0, hash(masked), masked) != NOT_FOUND;
+    }
+
+    /**
+     * Returns a map that additionally maps the given key to the given value.
+     * @param key the key.
+     * @param value the value.
+     * @return the new map, or this map if the key is already mapped to the same value.
+     */
+    PersistentMap<K, V> put(K key, V value) {
+        final Object masked = maskNull(key);
+        final boolean[] added = new boolean[1];
+        final Node newRoot = root.put(0, hash(masked), masked, value, added);
+        return newRoot == root ? this : new PersistentMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without the given key.
+     * @param key the key.
+     * @return the new map, or this map if the key is not in this map.
+     */
+    PersistentMap<K, V> remove(Object key) {
+        final Object masked = maskNull(key);
+        final Node newRoot = root.remove(0, hash(masked), masked);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Estimates the number of bytes that this map uses on the heap, without the keys and values,
+     * see {@link MemoryLayout}. Nodes that are shared with other versions of the map are counted as well.
+     * @return the estimated heap size of this map.
+     */
+    long estimateBytes() {
+        return size == 0 ? 0 : MemoryLayout.object(2L * MemoryLayout.REFERENCE) + estimateBytes(root.array());
+    }
+
+    /**
+     * Estimates the heap size of a node with the given pairs and of its child nodes.
+     * @param array the pairs of the node.
+     * @return the estimated heap size of the node.
+     */
+    private static long estimateBytes(Object[] array) {
+        long bytes = MemoryLayout.object(2L * MemoryLayout.REFERENCE) + MemoryLayout.array(array.length, MemoryLayout.REFERENCE);
+        for (int i = 0; i < array.length; i += 2) {
+            if (array[i] == null) {
+                bytes += estimateBytes(((Node) array[i + 1]).array());
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns an iterator over the entries of this map, in no particular order.
+     * @return an iterator over the entries of this map.
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new EntryIterator<>(root);
+    }
+
+    /**
+     * Calls the given action for every entry of this map, in the order of {@link #iterator()},
+     * without allocating an entry object per call.
+     * @param action the action to call with the key and value of every entry.
+     */
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root.array(), action);
+    }
+
+    /**
+     * Calls the given action for every entry in the given pairs and their child nodes.
+     * @param array the pairs of a node.
+     * @param action the action.
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> void forEach(Object[] array, BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < array.length; i += 2) {
+            if (array[i] == null) {
+                forEach(((Node) array[i + 1]).array(), action);
+            } else {
+                action.accept(array[i] == NULL_KEY ? null : (K) array[i], (V) array[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Replaces {@code null} keys by {@link #NULL_KEY}.
+     * @param key the key.
+     * @return the masked key.
+     */
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    /**
+     * Spreads the hash code of the given key, so that the lower levels of the trie are used evenly.
+     * @param key the masked key.
+     * @return the hash of the key.
+     */
+    private static int hash(Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the bit of a bitmap that represents the given hash at the given level.
+     * @param hash the hash.
+     * @param shift the number of hash bits consumed by the levels above.
+     * @return the bit.
+     */
+    private static int bitOf(int hash, int shift) {
+        return 1 << ((hash >>> shift) & ((1 << BITS) - 1));
+    }
+
+    /**
+     * Returns a copy of the given array in which the given position is replaced.
+     * @param array the array.
+     * @param index the position.
+     * @param value the new value.
+     * @return the copy.
+     */
+    private static Object[] copyAndSet(Object[] array, int index, Object value) {
+        final Object[] copy = array.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the given array without the key-value pair at the given pair index.
+     * @param array the array.
+     * @param pair the index of the pair.
+     * @return the copy.
+     */
+    private static Object[] copyAndRemovePair(Object[] array, int pair) {
+        final Object[] copy = new Object[array.length - 2];
+        System.arraycopy(array, 0, copy, 0, 2 * pair);
+        System.arraycopy(array, 2 * (pair + 1), copy, 2 * pair, copy.length - 2 * pair);
+        return copy;
+    }
+
+    /**
+     * A node of the trie.
+     */
+    private interface Node {
+
+        /**
+         * Returns the value of the given key.
+         * @param shift the number of hash bits consumed by the levels above.
+         * @param hash the hash of the key.
+         * @param key the masked key.
+         * @return the value, or {@link #NOT_FOUND}.
+         */
+        Object find(int shift, int hash, Object key);
+
+        /**
+         * Returns a node that additionally maps the given key to the given value.
+         * @param shift the number of hash bits consumed by the levels above.
+         * @param hash the hash of the key.
+         * @param key the masked key.
+         * @param value the value.
+         * @param added set to {@code true} if the key was not in this node before.
+         * @return the new node, or this node if nothing changed.
+         */
+        Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+        /**
+         * Returns a node without the given key.
+         * @param shift the number of hash bits consumed by the levels above.
+         * @param hash the hash of the key.
+         * @param key the masked key.
+         * @return the new node, this node if nothing changed, or {@code null} if the new node would be empty.
+         */
+        Node remove(int shift, int hash, Object key);
+
+        /**
+         * Returns the key-value pairs of this node. A {@code null} key means that the value is a child node.
+         * @return the pairs of this node.
+         */
+        Object[] array();
+    }
+
+    /**
+     * A node that stores up to 32 entries or children, one per value of the hash bits of its level.
+     * @param bitmap the bits of the present entries or children.
+     * @param array the entries or children, in the order of their bits, as key-value pairs.
+     *              For children, the key is {@code null} and the value is the child node.
+     */
+    private record BitmapNode(int bitmap, Object[] array) implements Node {
+
+        /**
+         * The empty node.
+         */
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        /**
+         * Returns the index of the pair for the given bit.
+         * @param bit the bit.
+         * @return the index of the pair.
+         */
+        private int pairOf(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            final int bit = bitOf(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            final int pair = pairOf(bit);
+            final Object storedKey = array[2 * pair];
+            final Object storedValue = array[2 * pair + 1];
+            if (storedKey == null) {
+                return ((Node) storedValue).find(shift + BITS, hash, key);
+            }
+            return Objects.equals(key, storedKey) ? storedValue : NOT_FOUND;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            final int bit = bitOf(hash, shift);
+            final int pair = pairOf(bit);
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                final Object[] copy = new Object[array.length + 2];
+                System.arraycopy(array, 0, copy, 0, 2 * pair);
+                copy[2 * pair] = key;
+                copy[2 * pair + 1] = value;
+                System.arraycopy(array, 2 * pair, copy, 2 * pair + 2, array.length - 2 * pair);
+                return new BitmapNode(bitmap | bit, copy);
+            }
+
+            final Object storedKey = array[2 * pair];
+            final Object storedValue = array[2 * pair + 1];
+            if (storedKey == null) {
+                final Node child = ((Node) storedValue).put(shift + BITS, hash, key, value, added);
+                return child == storedValue ? this : new BitmapNode(bitmap, copyAndSet(array, 2 * pair + 1, child));
+            }
+            if (Objects.equals(key, storedKey)) {
+                return storedValue == value ? this : new BitmapNode(bitmap, copyAndSet(array, 2 * pair + 1, value));
+            }
+
+            added[0] = true;
+            final Node child = createNode(shift + BITS, storedKey, storedValue, hash, key, value);
+            final Object[] copy = array.clone();
+            copy[2 * pair] = null;
+            copy[2 * pair + 1] = child;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, Object key) {
+            final int bit = bitOf(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            final int pair = pairOf(bit);
+            final Object storedKey = array[2 * pair];
+            final Object storedValue = array[2 * pair + 1];
+            if (storedKey == null) {
+                final Node child = ((Node) storedValue).remove(shift + BITS, hash, key);
+                if (child == storedValue) {
+                    return this;
+                }
+                if (child != null) {
+                    return new BitmapNode(bitmap, copyAndSet(array, 2 * pair + 1, child));
+                }
+            } else if (!Objects.equals(key, storedKey)) {
+                return this;
+            }
+            return bitmap == bit ? null : new BitmapNode(bitmap ^ bit, copyAndRemovePair(array, pair));
+        }
+
+        /**
+         * Creates a node that contains two entries with different keys.
+         * @param shift the number of hash bits consumed by the levels above the new node.
+         * @param key1 the first key.
+         * @param value1 the first value.
+         * @param hash2 the hash of the second key.
+         * @param key2 the second key.
+         * @param value2 the second value.
+         * @return the new node.
+         */
+        private static Node createNode(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+            final int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+            }
+            final boolean[] added = new boolean[1];
+            return EMPTY.put(shift, hash1, key1, value1, added).put(shift, hash2, key2, value2, added);
+        }
+    }
+
+    /**
+     * A node that stores entries whose keys all have the same hash.
+     * @param hash the hash of all keys.
+     * @param array the entries, as key-value pairs.
+     */
+    private record CollisionNode(int hash, Object[] array) implements Node {
+
+        /**
+         * Returns the index of the pair with the given key.
+         * @param key the key.
+         * @return the index of the pair, or {@code -1}.
+         */
+        private int pairOf(Object key) {
+            for (int pair = 0; pair < array.length / 2; pair++) {
+                if (Objects.equals(key, array[2 * pair])) {
+                    return pair;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            final int pair = hash == this.hash ? pairOf(key) : -1;
+            return pair < 0 ? NOT_FOUND : array[2 * pair + 1];
+        }
+
+        @Override
+        public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // move this node one level down and let a bitmap node tell the hashes apart
+                return new BitmapNode(bitOf(this.hash, shift), new Object[] {null, this})
+                    .put(shift, hash, key, value, added);
+            }
+            final int pair = pairOf(key);
+            if (pair >= 0) {
+                return array[2 * pair + 1] == value ? this : new CollisionNode(hash, copyAndSet(array, 2 * pair + 1, value));
+            }
+            added[0] = true;
+            final Object[] copy = new Object[array.length + 2];
+            System.arraycopy(array, 0, copy, 0, array.length);
+            copy[array.length] = key;
+            copy[array.length + 1] = value;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, Object key) {
+            final int pair = hash == this.hash ? pairOf(key) : -1;
+            if (pair < 0) {
+                return this;
+            }
+            return array.length == 2 ? null : new CollisionNode(hash, copyAndRemovePair(array, pair));
+        }
+    }
+
+    /**
+     * An iterator over the entries of a trie, using an explicit stack of the nodes on the current path.
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+        /**
+         * The pairs of the nodes on the current path. Seven bitmap levels plus one collision level.
+         */
+        private final Object[][] arrays = new Object[8][];
+
+        /**
+         * The next pair index to look at in every node on the current path.
+         */
+        private final int[] positions = new int[8];
+
+        /**
+         * The depth of the current node, {@code -1} when the iteration is finished.
+         */
+        private int depth;
+
+        /**
+         * The next entry to return, or {@code null} when the iteration is finished.
+         */
+        private Map.Entry<K, V> next;
+
+        EntryIterator(Node root) {
+            arrays[0] = root.array();
+            advance();
+        }
+
+        /**
+         * Finds the next entry and stores it in {@link #next}.
+         */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (depth >= 0) {
+                final Object[] array = arrays[depth];
+                final int position = positions[depth];
+                if (position >= array.length) {
+                    depth--;
+                    continue;
+                }
+                positions[depth] = position + 2;
+                if (array[position] == null) {
+                    depth++;
+                    arrays[depth] = ((Node) array[position + 1]).array();
+                    positions[depth] = 0;
+                } else {
+                    final Object key = array[position];
+                    next = new AbstractMap.SimpleImmutableEntry<>(key == NULL_KEY ? null : (K) key, (V) array[position + 1]);
+                    return;
+                }
+            }
+            next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Map.Entry<K, V> result = next;
+            advance();
+            return result;
+        }
+    }
+}
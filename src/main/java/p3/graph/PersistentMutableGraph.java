@@ -0,0 +1,143 @@
+package p3.graph;
+
+import java.util.Set;
+
+/**
+ * An implementation of a {@link MutableGraph} whose {@link #toGraph()} and {@link #toMutableGraph()} are O(1).
+ *
+ * <p>
+ * The current state of the graph is an immutable {@link PersistentGraph}. Every modification replaces it by a
+ * new {@link PersistentGraph} that shares all unchanged parts with the old one, so snapshots never have to be
+ * copied and stay valid while this graph is modified further.
+ * </p>
+ *
+ * <p>
+ * Modifications must not be made by several threads at the same time, but snapshots can be taken and read
+ * by any thread. The sets returned by {@link #getNodes()}, {@link #getEdges()} and
+ * {@link #getAdjacentEdges(Object)} are views of the state at the time of the call,
+ * and do not reflect later modifications.
+ * </p>
+ *
+ * @param <N> the type of the nodes in this graph.
+ */
+public class PersistentMutableGraph<N> implements MutableGraph<N>, GraphFootprint.Estimable {
+
+    /**
+     * The current state of this graph.
+     */
+    private volatile PersistentGraph<N> snapshot;
+
+    /**
+     * Constructs a new empty {@link PersistentMutableGraph}.
+     */
+    public PersistentMutableGraph() {
+        this(PersistentGraph.empty());
+    }
+
+    /**
+     * Constructs a new {@link PersistentMutableGraph} with the given nodes and edges.
+     * @param nodes the nodes in the graph.
+     * @param edges the edges in the graph.
+     * @throws IllegalArgumentException if an edge is connected to a node that is not in {@code nodes}.
+     */
+    public PersistentMutableGraph(Set<N> nodes, Set<Edge<N>> edges) {
+        PersistentGraph<N> graph = PersistentGraph.empty();
+        for (N node : nodes) {
+            graph = graph.withNode(node);
+        }
+        for (Edge<N> edge : edges) {
+            graph = graph.withEdge(edge.a(), edge.b(), edge.weight());
+        }
+        this.snapshot = graph;
+    }
+
+    /**
+     * Constructs a new {@link PersistentMutableGraph} that starts with the given state.
+     * @param snapshot the initial state.
+     */
+    PersistentMutableGraph(PersistentGraph<N> snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public Set<N> getNodes() {
+        return snapshot.getNodes();
+    }
+
+    @Override
+    public Set<Edge<N>> getEdges() {
+        return snapshot.getEdges();
+    }
+
+    @Override
+    public Set<Edge<N>> getAdjacentEdges(N node) {
+        return snapshot.getAdjacentEdges(node);
+    }
+
+    @Override
+    public void forEachAdjacent(N node, AdjacencyConsumer<? super N> action) {
+        snapshot.forEachAdjacent(node, action);
+    }
+
+    @Override
+    public int degree(N node) {
+        return snapshot.degree(node);
+    }
+
+    @Override
+    public Edge<N> getEdge(N a, N b) {
+        return snapshot.getEdge(a, b);
+    }
+
+    @Override
+    public MutableGraph<N> toMutableGraph() {
+        return new PersistentMutableGraph<>(snapshot);
+    }
+
+    @Override
+    public Graph<N> toGraph() {
+        return snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> This graph only holds the current snapshot, so the report is the one of the snapshot.
+     */
+    @Override
+    public GraphFootprint.Report estimateFootprint() {
+        final GraphFootprint.Report report = snapshot.estimateFootprint();
+        return new GraphFootprint.Report(getClass().getSimpleName(), report.nodeCount(), report.edgeCount(),
+            report.nodeBytes(), report.edgeBytes(), report.adjacencyBytes(), report.indexBytes(),
+            report.offHeapBytes());
+    }
+
+    @Override
+    public MutableGraph<N> putNode(N node) {
+        snapshot = snapshot.withNode(node);
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> putEdge(N a, N b, int weight) {
+        snapshot = snapshot.withEdge(a, b, weight);
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> putEdgesAndNodes(N a, N b, int weight) {
+        snapshot = snapshot.withNode(a).withNode(b).withEdge(a, b, weight);
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> removeEdge(N a, N b) {
+        snapshot = snapshot.withoutEdge(a, b);
+        return this;
+    }
+
+    @Override
+    public MutableGraph<N> removeNode(N node) {
+        snapshot = snapshot.withoutNode(node);
+        return this;
+    }
+}
@@ -0,0 +1,233 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.Objects;
+
+/**
+ * An {@link AdjacencyMatrix} that only stores its non-zero cells.
+ *
+ * <p>
+ * Every row is an open-addressing hash table with linear probing that maps column indices to weights.
+ * Rows without any edges do not allocate a table. Setting a cell to {@code 0} removes it from its row.
+ * </p>
+ */
+class SparseAdjacencyMatrix extends AdjacencyMatrix {
+
+    /**
+     * The capacity of a row table when the first cell is added. Must be a power of two.
+     */
+    private static final int INITIAL_ROW_CAPACITY = 4;
+
+    /**
+     * The column index plus one of every slot in a row table, or {@code 0} if the slot is empty.
+     * {@code null} for rows without any non-zero cells.
+     */
+    private final int[][] columns;
+
+    /**
+     * The weight of every slot in a row table. {@code null} for rows without any non-zero cells.
+     */
+    private final int[][] weights;
+
+    /**
+     * The number of non-zero cells in every row.
+     */
+    private final int[] rowSizes;
+
+    /**
+     * Constructs a new sparse adjacency matrix with the given size.
+     * @param size the size of the matrix.
+     */
+    SparseAdjacencyMatrix(int size) {
+        super(size, null);
+        columns = new int[size][];
+        weights = new int[size][];
+        rowSizes = new int[size];
+    }
+
+    @Override
+    public void addEdge(int a, int b, int weight) {
+        Objects.checkIndex(a, size());
+        Objects.checkIndex(b, size());
+        put(a, b, weight);
+        if (a != b) {
+            put(b, a, weight);
+        }
+    }
+
+    @Override
+    public int getWeight(int a, int b) {
+        Objects.checkIndex(a, size());
+        Objects.checkIndex(b, size());
+        final int slot = find(a, b);
+        return slot < 0 ? 0 : weights[a][slot];
+    }
+
+    @Override
+    public int[] getAdjacent(int index) {
+        Objects.checkIndex(index, size());
+        final int[] result = new int[size()];
+        final int[] rowColumns = columns[index];
+        if (rowColumns != null) {
+            for (int slot = 0; slot < rowColumns.length; slot++) {
+                if (rowColumns[slot] != 0) {
+                    result[rowColumns[slot] - 1] = weights[index][slot];
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int degree(int index) {
+        return rowSizes[index];
+    }
+
+    @Override
+    public void forEachAdjacent(int index, IntAdjacencyConsumer action) {
+        final int[] rowColumns = columns[index];
+        if (rowColumns == null) {
+            return;
+        }
+        final int[] rowWeights = weights[index];
+        for (int slot = 0; slot < rowColumns.length; slot++) {
+            if (rowColumns[slot] != 0) {
+                action.accept(rowColumns[slot] - 1, rowWeights[slot]);
+            }
+        }
+    }
+
+    @Override
+    long estimateBytes() {
+        long bytes = MemoryLayout.object(5L * MemoryLayout.REFERENCE)
+            + 2 * MemoryLayout.array(columns.length, MemoryLayout.REFERENCE)
+            + MemoryLayout.array(rowSizes.length, Integer.BYTES);
+        for (int row = 0; row < columns.length; row++) {
+            if (columns[row] != null) {
+                bytes += 2 * MemoryLayout.array(columns[row].length, Integer.BYTES);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the slot of the given column in the table of the given row.
+     * @param row the row.
+     * @param column the column.
+     * @return the slot of the column, or {@code -1} if the cell is zero.
+     */
+    private int find(int row, int column) {
+        final int[] rowColumns = columns[row];
+        if (rowColumns == null) {
+            return -1;
+        }
+        final int mask = rowColumns.length - 1;
+        for (int slot = hash(column) & mask; rowColumns[slot] != 0; slot = (slot + 1) & mask) {
+            if (rowColumns[slot] == column + 1) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sets a single cell, inserting, updating or removing it from the table of its row.
+     * @param row the row.
+     * @param column the column.
+     * @param weight the new weight, {@code 0} to remove the cell.
+     */
+    private void put(int row, int column, int weight) {
+        final int slot = find(row, column);
+        if (slot >= 0) {
+            if (weight == 0) {
+                remove(row, slot);
+            } else {
+                weights[row][slot] = weight;
+            }
+            return;
+        }
+        if (weight == 0) {
+            return;
+        }
+        if (columns[row] == null) {
+            columns[row] = new int[INITIAL_ROW_CAPACITY];
+            weights[row] = new int[INITIAL_ROW_CAPACITY];
+        } else if ((rowSizes[row] + 1) * 2 > columns[row].length) {
+            resize(row, columns[row].length * 2);
+        }
+        insert(columns[row], weights[row], column, weight);
+        rowSizes[row]++;
+    }
+
+    /**
+     * Inserts a cell that is not in the given table yet.
+     * @param rowColumns the column slots of the table.
+     * @param rowWeights the weight slots of the table.
+     * @param column the column.
+     * @param weight the weight.
+     */
+    private static void insert(int[] rowColumns, int[] rowWeights, int column, int weight) {
+        final int mask = rowColumns.length - 1;
+        int slot = hash(column) & mask;
+        while (rowColumns[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        rowColumns[slot] = column + 1;
+        rowWeights[slot] = weight;
+    }
+
+    /**
+     * Removes the cell in the given slot, shifting later cells of the same probe sequence back
+     * so that lookups do not need tombstones.
+     * @param row the row.
+     * @param slot the slot to remove.
+     */
+    private void remove(int row, int slot) {
+        final int[] rowColumns = columns[row];
+        final int[] rowWeights = weights[row];
+        final int mask = rowColumns.length - 1;
+        int free = slot;
+        for (int next = (free + 1) & mask; rowColumns[next] != 0; next = (next + 1) & mask) {
+            final int home = hash(rowColumns[next] - 1) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                rowColumns[free] = rowColumns[next];
+                rowWeights[free] = rowWeights[next];
+                free = next;
+            }
+        }
+        rowColumns[free] = 0;
+        rowWeights[free] = 0;
+        if (--rowSizes[row] == 0) {
+            columns[row] = null;
+            weights[row] = null;
+        }
+    }
+
+    /**
+     * Rebuilds the table of the given row with the given capacity.
+     * @param row the row.
+     * @param capacity the new capacity, a power of two.
+     */
+    private void resize(int row, int capacity) {
+        final int[] oldColumns = columns[row];
+        final int[] oldWeights = weights[row];
+        columns[row] = new int[capacity];
+        weights[row] = new int[capacity];
+        for (int slot = 0; slot < oldColumns.length; slot++) {
+            if (oldColumns[slot] != 0) {
+                insert(columns[row], weights[row], oldColumns[slot] - 1, oldWeights[slot]);
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a column index, so that neighboring columns do not form long probe sequences.
+     * @param column the column.
+     * @return the spread hash.
+     */
+    private static int hash(int column) {
+        final int h = column * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,113 @@
+package p3.graph;
+
+import p3.MemoryLayout;
+
+import java.util.Objects;
+
+/**
+ * An {@link AdjacencyMatrix} that only stores the upper triangle of the matrix, including the diagonal.
+ *
+ * <p>
+ * Because the matrix is symmetric, the cell {@code (a, b)} with {@code a > b} is the same as the cell {@code (b, a)}.
+ * Only the cells with {@code a <= b} are stored, packed row by row into one {@code int[]} of length
+ * {@code size * (size + 1) / 2}, which is about half the memory of a full matrix.
+ * </p>
+ */
+class TriangularAdjacencyMatrix extends AdjacencyMatrix {
+
+    /**
+     * The largest size whose upper triangle still fits into one array.
+     */
+    static final int MAX_SIZE = 65_535;
+
+    /**
+     * The cells of the upper triangle, row by row.
+     */
+    private final int[] cells;
+
+    /**
+     * Constructs a new triangular adjacency matrix with the given size.
+     * @param size the size of the matrix.
+     * @throws IllegalArgumentException if the size is larger than {@link #MAX_SIZE}.
+     */
+    TriangularAdjacencyMatrix(int size) {
+        super(size, null);
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Size too large for a single array: " + size);
+        }
+        cells = new int[(int) ((long) size * (size + 1) / 2)];
+    }
+
+    @Override
+    public void addEdge(int a, int b, int weight) {
+        cells[cellOf(a, b)] = weight;
+    }
+
+    @Override
+    public int getWeight(int a, int b) {
+        return cells[cellOf(a, b)];
+    }
+
+    @Override
+    public int[] getAdjacent(int index) {
+        Objects.checkIndex(index, size());
+        final int[] result = new int[size()];
+        // the cells left of the diagonal are stored as column `index` of the previous rows
+        for (int row = 0; row < index; row++) {
+            result[row] = cells[rowStart(row) + index];
+        }
+        System.arraycopy(cells, rowStart(index) + index, result, index, size() - index);
+        return result;
+    }
+
+    @Override
+    public int degree(int index) {
+        final int[] degree = {0};
+        forEachAdjacent(index, (column, weight) -> degree[0]++);
+        return degree[0];
+    }
+
+    @Override
+    public void forEachAdjacent(int index, IntAdjacencyConsumer action) {
+        Objects.checkIndex(index, size());
+        for (int row = 0; row < index; row++) {
+            final int weight = cells[rowStart(row) + index];
+            if (weight != 0) {
+                action.accept(row, weight);
+            }
+        }
+        final int start = rowStart(index);
+        for (int column = index; column < size(); column++) {
+            if (cells[start + column] != 0) {
+                action.accept(column, cells[start + column]);
+            }
+        }
+    }
+
+    @Override
+    long estimateBytes() {
+        return MemoryLayout.object(3L * MemoryLayout.REFERENCE) + MemoryLayout.array(cells.length, Integer.BYTES);
+    }
+
+    /**
+     * Returns the position of the cell {@code (a, b)} in {@link #cells}.
+     * @param a the row.
+     * @param b the column.
+     * @return the position of the cell.
+     */
+    private int cellOf(int a, int b) {
+        Objects.checkIndex(a, size());
+        Objects.checkIndex(b, size());
+        return a <= b ? rowStart(a) + b : rowStart(b) + a;
+    }
+
+    /**
+     * Returns the position that cell {@code (row, 0)} would have, if it was stored.
+     * The stored cells of the row start at {@code rowStart(row) + row}.
+     * @param row the row.
+     * @return the position of the start of the row.
+     */
+    private int rowStart(int row) {
+        return (int) ((long) row * (2L * size() - row - 1) / 2);
+    }
+}
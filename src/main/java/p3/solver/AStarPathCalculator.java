@@ -0,0 +1,204 @@
+package p3.solver;
+
+import p3.graph.Graph;
+import p3.gui.Location;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Implementation of the A* algorithm, which directs Dijkstra's algorithm towards the end node with a heuristic.
+ *
+ * <p>
+ * The reached nodes are kept in a heap keyed by their distance plus the {@link Heuristic} estimate of their remaining
+ * distance to the end node, so nodes that lie in the direction of the end node are visited first. The search stops
+ * as soon as the end node is visited. With {@link Heuristic#zero()} the algorithm is the same as
+ * {@link HeapDijkstraPathCalculator} in point-to-point mode.
+ * </p>
+ *
+ * <p>
+ * The returned path is a shortest path if the heuristic is admissible, i.e. it never overestimates the remaining
+ * distance. A node that is reached by a shorter path after it was visited is visited again, so the heuristic does
+ * not have to be consistent, but consistent heuristics like {@link Heuristic#euclidean(Map)} visit every node at
+ * most once.
+ * </p>
+ *
+ * <p>
+ * There is no {@code FACTORY}, since every calculator needs a heuristic for the nodes of its graph.
+ * </p>
+ *
+ * @param <N> The type of the nodes in the graph.
+ */
+public class AStarPathCalculator<N> extends HeapDijkstraPathCalculator<N> {
+
+    /**
+     * An estimate of the distance between two nodes, used to direct the search.
+     *
+     * @param <N> The type of the nodes.
+     */
+    @FunctionalInterface
+    public interface Heuristic<N> {
+
+        /**
+         * Estimates the length of the shortest path from {@code node} to {@code end}.
+         * @param node the node to estimate the remaining distance of.
+         * @param end the end node of the search.
+         * @return the estimate, at least {@code 0} and at most the length of the shortest path.
+         */
+        long estimate(N node, N end);
+
+        /**
+         * Returns the heuristic that estimates every distance as {@code 0}.
+         * @param <N> The type of the nodes.
+         * @return the heuristic.
+         */
+        static <N> Heuristic<N> zero() {
+            return (node, end) -> 0;
+        }
+
+        /**
+         * Returns the heuristic that estimates the straight-line distance between the locations of two nodes,
+         * rounded down.
+         * <p> It is admissible and consistent if the weight of every edge is at least the distance between the
+         * locations of its nodes.
+         *
+         * @param locations the location of every node.
+         * @param <N> The type of the nodes.
+         * @return the heuristic.
+         */
+        static <N> Heuristic<N> euclidean(Map<N, Location> locations) {
+            Objects.requireNonNull(locations, "locations");
+            return (node, end) -> {
+                final Location from = requireLocation(locations, node);
+                final Location to = requireLocation(locations, end);
+                final long dx = (long) from.x() - to.x();
+                final long dy = (long) from.y() - to.y();
+                return (long) Math.sqrt((double) (dx * dx + dy * dy));
+            };
+        }
+
+        /**
+         * Returns the heuristic that estimates the sum of the horizontal and vertical distances between the
+         * locations of two nodes.
+         * <p> It is admissible and consistent if the weight of every edge is at least the sum of the horizontal and
+         * vertical distances between the locations of its nodes, e.g. in a grid without diagonal edges.
+         *
+         * @param locations the location of every node.
+         * @param <N> The type of the nodes.
+         * @return the heuristic.
+         */
+        static <N> Heuristic<N> manhattan(Map<N, Location> locations) {
+            Objects.requireNonNull(locations, "locations");
+            return (node, end) -> {
+                final Location from = requireLocation(locations, node);
+                final Location to = requireLocation(locations, end);
+                return Math.abs((long) from.x() - to.x()) + Math.abs((long) from.y() - to.y());
+            };
+        }
+
+        /**
+         * Returns the location of the given node.
+         * @param locations the location of every node.
+         * @param node the node.
+         * @param <N> The type of the nodes.
+         * @return the location of the node.
+         * @throws IllegalArgumentException if the node has no location.
+         */
+        private static <N> Location requireLocation(Map<N, Location> locations, N node) {
+            final Location location = locations.get(node);
+            if (location == null) {
+                throw new IllegalArgumentException("Location not found: " + node);
+            }
+            return location;
+        }
+    }
+
+    /**
+     * The heuristic that estimates the remaining distance of every node.
+     */
+    private final Heuristic<N> heuristic;
+
+    /**
+     * The estimated remaining distance of every node, indexed by id.
+     * Only valid for the nodes that were reached by the current search.
+     */
+    private final long[] estimates;
+
+    /**
+     * The end node of the current search.
+     */
+    private N end;
+
+    /**
+     * Construct a new {@link AStarPathCalculator} for the given graph, using a 4-ary heap.
+     * @param graph the graph to calculate paths in.
+     * @param heuristic the admissible heuristic that estimates the remaining distance to the end node.
+     * @throws IllegalArgumentException if the graph has a negative weight.
+     */
+    public AStarPathCalculator(Graph<N> graph, Heuristic<N> heuristic) {
+        this(graph, heuristic, DEFAULT_ARITY);
+    }
+
+    /**
+     * Construct a new {@link AStarPathCalculator} for the given graph.
+     * @param graph the graph to calculate paths in.
+     * @param heuristic the admissible heuristic that estimates the remaining distance to the end node.
+     * @param arity the number of children of every node of the heap, at least 2.
+     * @throws IllegalArgumentException if the arity is less than 2 or the graph has a negative weight.
+     */
+    public AStarPathCalculator(Graph<N> graph, Heuristic<N> heuristic, int arity) {
+        super(graph, arity, true);
+        this.heuristic = Objects.requireNonNull(heuristic, "heuristic");
+        this.estimates = new long[this.graph.nodeCount()];
+    }
+
+    /**
+     * Calculate the shortest path between two given nodes, {@code start} and {@code end}, using the A* algorithm.
+     *
+     * @param start the start node, first node in the returned list
+     * @param end   the end node, last node in the returned list
+     * @return a list of nodes, from {@code start} to {@code end}, in the order they need to be traversed to get the
+     * shortest path between those two nodes
+     * @throws IllegalArgumentException if {@code start} or {@code end} is not in the graph,
+     * or if the heuristic rejects a node.
+     */
+    @Override
+    public List<N> calculatePath(final N start, final N end) {
+        this.end = end;
+        try {
+            return super.calculatePath(start, end);
+        } finally {
+            this.end = null;
+        }
+    }
+
+    /**
+     * Updates the arrays and the heap like {@link HeapDijkstraPathCalculator#relax(int, int, int)}.
+     * <p> The remaining distance of {@code to} is estimated when it is reached for the first time in this search.
+     *
+     * @param from   the id of the node that is used to reach {@code to}
+     * @param to     the id of the target node for this update
+     * @param weight the weight of the edge between {@code from} and {@code to}
+     */
+    @Override
+    protected void relax(int from, int to, int weight) {
+        if (distances[to] == INFINITY) {
+            estimates[to] = heuristic.estimate(graph.nodeIndex().nodeAt(to), end);
+        }
+        super.relax(from, to, weight);
+    }
+
+    /**
+     * Returns the key of the given reached node in the heap.
+     * <p> This implementation returns the distance of the node plus the estimate of its remaining distance.
+     *
+     * @param node the id of the node
+     * @return the key of the node
+     */
+    @Override
+    protected long priority(int node) {
+        final long priority = distances[node] + estimates[node];
+        return priority < 0 ? INFINITY : priority;
+    }
+}
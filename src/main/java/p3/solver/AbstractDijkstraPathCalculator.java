@@ -0,0 +1,170 @@
+package p3.solver;
+
+import p3.graph.NodeIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A base class for the implementations of Dijkstra's algorithm that work on the int ids of a graph.
+ *
+ * <p>
+ * This class keeps the bookkeeping that does not depend on the type of the weights: the predecessors and the
+ * visited flags indexed by node id, the list of reached nodes that {@link #init(int)} resets, the main loop and
+ * the reconstruction of the path. Subclasses store the distances in an array of their weight type and implement
+ * {@link #extractMin()}, {@link #relaxNeighbors(int)} and {@link #resetDistance(int)}.
+ * </p>
+ *
+ * @param <N> The type of the nodes in the graph.
+ */
+public abstract class AbstractDijkstraPathCalculator<N> implements PathCalculator<N> {
+
+    /**
+     * The index that maps the nodes of the graph to their ids and back.
+     */
+    protected final NodeIndex<N> nodeIndex;
+
+    /**
+     * The id of the predecessor of each node along the shortest path to the start node, or {@code -1} if there is none.
+     */
+    protected final int[] predecessors;
+
+    /**
+     * Whether each node has already been visited, i.e., is no longer one of the remaining nodes.
+     */
+    protected final boolean[] visited;
+
+    /**
+     * Whether {@link #calculatePath(Object, Object)} stops as soon as the end node is visited.
+     */
+    protected final boolean pointToPoint;
+
+    /**
+     * The ids of the nodes that have been reached since the last call to {@link #init(int)}.
+     * Only the first {@link #reachedCount} elements are used.
+     */
+    protected final int[] reached;
+
+    /**
+     * The number of ids in {@link #reached}.
+     */
+    protected int reachedCount;
+
+    /**
+     * Construct a new {@link AbstractDijkstraPathCalculator} for the graph with the given nodes.
+     * @param nodeIndex the ids of the nodes of the graph.
+     * @param pointToPoint whether {@link #calculatePath(Object, Object)} stops as soon as the end node is visited.
+     */
+    protected AbstractDijkstraPathCalculator(NodeIndex<N> nodeIndex, boolean pointToPoint) {
+        this.nodeIndex = nodeIndex;
+        this.pointToPoint = pointToPoint;
+        this.predecessors = new int[nodeIndex.size()];
+        this.visited = new boolean[nodeIndex.size()];
+        this.reached = new int[nodeIndex.size()];
+        Arrays.fill(predecessors, -1);
+    }
+
+    /**
+     * Calculate the shortest path between two given nodes, {@code start} and {@code end}, using Dijkstra's algorithm.
+     *
+     * <p>
+     * This method calculates the shortest path from {@code start} to all other nodes and saves the results
+     * to the distances and {@link #predecessors}. In point-to-point mode, it stops as soon as {@code end} is
+     * visited, so the results are only final for the visited nodes.
+     * </p>
+     *
+     * @param start the start node, first node in the returned list
+     * @param end   the end node, last node in the returned list
+     * @return a list of nodes, from {@code start} to {@code end}, in the order they need to be traversed to get the
+     * shortest path between those two nodes
+     * @throws IllegalArgumentException if {@code start} or {@code end} is not in the graph.
+     */
+    @Override
+    public List<N> calculatePath(final N start, final N end) {
+        final int startId = requireId(start);
+        final int endId = requireId(end);
+
+        init(startId);
+        for (int node = extractMin(); node >= 0; node = extractMin()) {
+            visited[node] = true;
+            if (pointToPoint && node == endId) {
+                break;
+            }
+            relaxNeighbors(node);
+        }
+        return reconstructPath(startId, endId);
+    }
+
+    /**
+     * Resets the distances, {@link #predecessors} and {@link #visited} of the nodes that were reached since the
+     * last call, and makes the start node the only reached node. Subclasses set the distance of the start node
+     * to {@code 0}.
+     *
+     * @param start the id of the start node
+     */
+    protected void init(int start) {
+        for (int i = 0; i < reachedCount; i++) {
+            final int node = reached[i];
+            resetDistance(node);
+            predecessors[node] = -1;
+            visited[node] = false;
+        }
+        reachedCount = 0;
+        reached[reachedCount++] = start;
+    }
+
+    /**
+     * Sets the distance of the given node back to infinity.
+     * @param node the id of the node
+     */
+    protected abstract void resetDistance(int node);
+
+    /**
+     * Determines the next node that should be visited.
+     *
+     * @return the id of the next node, or {@code -1} if no unvisited node is reachable
+     */
+    protected abstract int extractMin();
+
+    /**
+     * Relaxes all edges from the given node, which is being visited.
+     * Subclasses must add every node that they reach for the first time to {@link #reached}.
+     *
+     * @param node the id of the node
+     */
+    protected abstract void relaxNeighbors(int node);
+
+    /**
+     * Reconstructs the shortest path from {@code start} to {@code end} by using the {@link #predecessors} array.
+     * <p> The returned path contains {@code start} as the first element and {@code end} as the last element.
+     * If {@code end} is not reachable from {@code start}, the returned path only contains {@code end}.
+     *
+     * @param start the id of the start node
+     * @param end   the id of the end node
+     * @return a list of nodes in the order they need to be traversed to get the shortest path from the start node to the end node.
+     */
+    protected List<N> reconstructPath(int start, int end) {
+        final List<N> path = new ArrayList<>();
+        for (int node = end; node >= 0; node = node == start ? -1 : predecessors[node]) {
+            path.add(nodeIndex.nodeAt(node));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns the id of the given node.
+     * @param node the node.
+     * @return the id of the node.
+     * @throws IllegalArgumentException if the node is not in the graph.
+     */
+    protected int requireId(N node) {
+        final int id = nodeIndex.indexOf(node);
+        if (id < 0) {
+            throw new IllegalArgumentException("Node not found: " + node);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,258 @@
+package p3.solver;
+
+import p3.graph.Graph;
+import p3.graph.IntAdjacencyConsumer;
+import p3.graph.IntGraph;
+import p3.graph.NodeIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementation of Dijkstra's algorithm that searches forward from the start node and backward from the end node
+ * at the same time.
+ *
+ * <p>
+ * Both searches visit their nodes in order of distance, each with its own {@link IntMinHeap}, and the search with
+ * the smaller next distance goes first. Whenever an edge connects the two searches, the length of the path through
+ * it is a candidate for the shortest path. The algorithm stops as soon as the next distances of both searches add up
+ * to at least the best candidate, because no path through an unvisited node can be shorter. In an undirected graph,
+ * the two searches together usually visit about half as many nodes as a single search that stops at the end node.
+ * </p>
+ *
+ * <p>
+ * The returned path has the same length as the one of {@link IntDijkstraPathCalculator}. If there are several
+ * shortest paths, the two calculators may return different ones.
+ * </p>
+ *
+ * <p>
+ * The constructor rejects graphs with negative weights, for which neither the stopping rule nor the searches work:
+ * a negative edge would let its two nodes keep lowering each other's distance forever.
+ * </p>
+ *
+ * @param <N> The type of the nodes in the graph.
+ */
+public class BidirectionalDijkstraPathCalculator<N> implements PathCalculator<N> {
+
+    /**
+     * Factory for creating new instances of {@link BidirectionalDijkstraPathCalculator}.
+     */
+    public static PathCalculator.Factory FACTORY = BidirectionalDijkstraPathCalculator::new;
+
+    /**
+     * The value of the distances for nodes that have not been reached yet.
+     */
+    private static final long INFINITY = Long.MAX_VALUE;
+
+    /**
+     * The graph to calculate paths in.
+     */
+    private final IntGraph<N> graph;
+
+    /**
+     * The search from the start node.
+     */
+    private final Search forward;
+
+    /**
+     * The search from the end node.
+     */
+    private final Search backward;
+
+    /**
+     * The length of the shortest path found so far, or {@link #INFINITY} if the searches have not met yet.
+     */
+    private long best;
+
+    /**
+     * The node on the shortest path found so far at which the searches met, or {@code -1}.
+     */
+    private int meeting;
+
+    /**
+     * Construct a new {@link BidirectionalDijkstraPathCalculator} for the given graph.
+     * @param graph the graph to calculate paths in.
+     * @throws IllegalArgumentException if the graph has a negative weight.
+     */
+    public BidirectionalDijkstraPathCalculator(Graph<N> graph) {
+        this.graph = graph.toIntGraph();
+        HeapDijkstraPathCalculator.requireNonNegativeWeights(this.graph);
+        this.forward = new Search(this.graph.nodeCount());
+        this.backward = new Search(this.graph.nodeCount());
+        forward.other = backward;
+        backward.other = forward;
+    }
+
+    /**
+     * Calculate the shortest path between two given nodes, {@code start} and {@code end}, using a bidirectional
+     * search.
+     *
+     * @param start the start node, first node in the returned list
+     * @param end   the end node, last node in the returned list
+     * @return a list of nodes, from {@code start} to {@code end}, in the order they need to be traversed to get the
+     * shortest path between those two nodes. If {@code end} is not reachable from {@code start}, the list only
+     * contains {@code end}.
+     * @throws IllegalArgumentException if {@code start} or {@code end} is not in the graph.
+     */
+    @Override
+    public List<N> calculatePath(final N start, final N end) {
+        final int startId = requireId(start);
+        final int endId = requireId(end);
+
+        forward.init(startId);
+        backward.init(endId);
+        best = startId == endId ? 0 : INFINITY;
+        meeting = startId == endId ? startId : -1;
+        while (true) {
+            final long forwardMin = forward.queue.minKey();
+            final long backwardMin = backward.queue.minKey();
+            if (forwardMin == INFINITY || backwardMin == INFINITY || forwardMin + backwardMin >= best) {
+                break;
+            }
+            final Search search = forwardMin <= backwardMin ? forward : backward;
+            search.current = search.queue.extractMin();
+            graph.forEachAdjacent(search.current, search.relaxCurrent);
+        }
+        return reconstructPath(startId, endId);
+    }
+
+    /**
+     * Reconstructs the shortest path from {@code start} to {@code end} through {@link #meeting}.
+     *
+     * @param start the id of the start node
+     * @param end   the id of the end node
+     * @return a list of nodes in the order they need to be traversed to get the shortest path from the start node to the end node.
+     */
+    private List<N> reconstructPath(int start, int end) {
+        final NodeIndex<N> nodeIndex = graph.nodeIndex();
+        final List<N> path = new ArrayList<>();
+        if (meeting < 0) {
+            path.add(nodeIndex.nodeAt(end));
+            return path;
+        }
+        for (int node = meeting; node >= 0; node = node == start ? -1 : forward.predecessors[node]) {
+            path.add(nodeIndex.nodeAt(node));
+        }
+        Collections.reverse(path);
+        for (int node = meeting; node != end; ) {
+            node = backward.predecessors[node];
+            path.add(nodeIndex.nodeAt(node));
+        }
+        return path;
+    }
+
+    /**
+     * Returns the id of the given node.
+     * @param node the node.
+     * @return the id of the node.
+     * @throws IllegalArgumentException if the node is not in the graph.
+     */
+    private int requireId(N node) {
+        final int id = graph.nodeIndex().indexOf(node);
+        if (id < 0) {
+            throw new IllegalArgumentException("Node not found: " + node);
+        }
+        return id;
+    }
+
+    /**
+     * The state of one of the two searches.
+     */
+    private class Search {
+
+        /**
+         * The distance of each node from the origin of this search, indexed by node id.
+         */
+        private final long[] distances;
+
+        /**
+         * The id of the predecessor of each node on the shortest path to the origin, or {@code -1} if there is none.
+         */
+        private final int[] predecessors;
+
+        /**
+         * The reached nodes that have not been visited yet, keyed by their distance.
+         */
+        private final IntMinHeap queue;
+
+        /**
+         * The ids of the nodes whose distance is not {@link #INFINITY}. Only the first {@link #reachedCount} are used.
+         */
+        private final int[] reached;
+
+        /**
+         * The number of ids in {@link #reached}.
+         */
+        private int reachedCount;
+
+        /**
+         * The search in the other direction.
+         */
+        private Search other;
+
+        /**
+         * The node that is currently being visited. Used by {@link #relaxCurrent}.
+         */
+        private int current;
+
+        /**
+         * Relaxes the edges from {@link #current}. Created once to avoid allocating in the main loop.
+         */
+        private final IntAdjacencyConsumer relaxCurrent = (to, weight) -> relax(current, to, weight);
+
+        /**
+         * Constructs a new search for a graph with the given number of nodes.
+         * @param nodeCount the number of nodes.
+         */
+        Search(int nodeCount) {
+            distances = new long[nodeCount];
+            predecessors = new int[nodeCount];
+            queue = new IntMinHeap(nodeCount, HeapDijkstraPathCalculator.DEFAULT_ARITY);
+            reached = new int[nodeCount];
+            Arrays.fill(distances, INFINITY);
+            Arrays.fill(predecessors, -1);
+        }
+
+        /**
+         * Resets the nodes reached by the last search and starts a new search from the given node.
+         * @param origin the id of the node to search from.
+         */
+        void init(int origin) {
+            for (int i = 0; i < reachedCount; i++) {
+                distances[reached[i]] = INFINITY;
+                predecessors[reached[i]] = -1;
+            }
+            queue.clear();
+            distances[origin] = 0;
+            reached[0] = origin;
+            reachedCount = 1;
+            queue.insertOrDecrease(origin, 0);
+        }
+
+        /**
+         * Updates the distance of {@code to} if a shorter path through {@code from} is found, and updates the
+         * shortest path if the other search has already reached {@code to}.
+         *
+         * @param from   the id of the node that is used to reach {@code to}
+         * @param to     the id of the target node for this update
+         * @param weight the weight of the edge between {@code from} and {@code to}
+         */
+        void relax(int from, int to, int weight) {
+            final long distance = distances[from] + weight;
+            if (distance < distances[to]) {
+                if (distances[to] == INFINITY) {
+                    reached[reachedCount++] = to;
+                }
+                distances[to] = distance;
+                predecessors[to] = from;
+                queue.insertOrDecrease(to, distance);
+            }
+            if (other.distances[to] != INFINITY && distances[to] + other.distances[to] < best) {
+                best = distances[to] + other.distances[to];
+                meeting = to;
+            }
+        }
+    }
+}
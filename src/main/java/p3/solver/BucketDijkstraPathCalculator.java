@@ -0,0 +1,155 @@
+package p3.solver;
+
+import p3.graph.Graph;
+import p3.graph.IntAdjacencyConsumer;
+import p3.graph.IntGraph;
+
+/**
+ * Implementation of Dijkstra's algorithm that finds the next node with a monotone bucket queue instead of a heap.
+ *
+ * <p>
+ * Since the weights are integers and the distances of the visited nodes never decrease, the reached nodes can be
+ * sorted into buckets by their distance instead of being compared with each other. For small weights,
+ * {@link Buckets#DIAL} uses one bucket per distance and visits every node in O(1) amortized time.
+ * For larger weights, {@link Buckets#RADIX} uses one bucket per bit and moves every node at most 64 times.
+ * </p>
+ *
+ * <p>
+ * The buckets only work if no distance is smaller than the last visited one, so the constructors reject graphs
+ * with negative weights, for which Dijkstra's algorithm is not correct anyway.
+ * </p>
+ *
+ * @param <N> The type of the nodes in the graph.
+ */
+public class BucketDijkstraPathCalculator<N> extends HeapDijkstraPathCalculator<N> {
+
+    /**
+     * Factory for creating new instances of {@link BucketDijkstraPathCalculator}, which choose their buckets
+     * by the largest weight of the graph.
+     */
+    public static PathCalculator.Factory FACTORY = BucketDijkstraPathCalculator::new;
+
+    /**
+     * Factory for creating new instances of {@link BucketDijkstraPathCalculator} in point-to-point mode,
+     * which choose their buckets by the largest weight of the graph.
+     */
+    public static PathCalculator.Factory POINT_TO_POINT_FACTORY = BucketDijkstraPathCalculator::pointToPoint;
+
+    /**
+     * The kinds of bucket queues.
+     */
+    public enum Buckets {
+
+        /**
+         * One bucket per distance in the range of the largest weight, used as a ring (Dial's algorithm).
+         * Needs one {@code int} per possible weight, so it is only chosen for weights up to {@link #DIAL_MAX_WEIGHT}.
+         */
+        DIAL {
+            @Override
+            IntPriorityQueue create(int capacity, int maxWeight) {
+                return new DialQueue(capacity, maxWeight);
+            }
+        },
+
+        /**
+         * One bucket per bit of the distance (radix heap). Works for any non-negative weights.
+         */
+        RADIX {
+            @Override
+            IntPriorityQueue create(int capacity, int maxWeight) {
+                return new RadixHeap(capacity);
+            }
+        };
+
+        /**
+         * The largest weight for which {@link #forMaxWeight(int)} chooses {@link #DIAL}.
+         */
+        public static final int DIAL_MAX_WEIGHT = 1 << 16;
+
+        /**
+         * Creates a new empty queue of this kind.
+         * @param capacity the number of ids.
+         * @param maxWeight the largest weight of the graph.
+         * @return the new queue.
+         */
+        abstract IntPriorityQueue create(int capacity, int maxWeight);
+
+        /**
+         * Returns the kind of bucket queue that is fastest for the given largest weight.
+         * @param maxWeight the largest weight of the graph.
+         * @return {@link #DIAL} for weights up to {@link #DIAL_MAX_WEIGHT}, {@link #RADIX} otherwise.
+         */
+        public static Buckets forMaxWeight(int maxWeight) {
+            return maxWeight <= DIAL_MAX_WEIGHT ? DIAL : RADIX;
+        }
+    }
+
+    /**
+     * Construct a new {@link BucketDijkstraPathCalculator} for the given graph,
+     * choosing the buckets with {@link Buckets#forMaxWeight(int)}.
+     * @param graph the graph to calculate paths in.
+     * @throws IllegalArgumentException if the graph has a negative weight.
+     */
+    public BucketDijkstraPathCalculator(Graph<N> graph) {
+        this(graph, false);
+    }
+
+    /**
+     * Construct a new {@link BucketDijkstraPathCalculator} for the given graph,
+     * choosing the buckets with {@link Buckets#forMaxWeight(int)}.
+     * @param graph the graph to calculate paths in.
+     * @param pointToPoint whether {@link #calculatePath(Object, Object)} stops as soon as the end node is visited.
+     * @throws IllegalArgumentException if the graph has a negative weight.
+     */
+    public BucketDijkstraPathCalculator(Graph<N> graph, boolean pointToPoint) {
+        super(graph, pointToPoint, intGraph -> {
+            final int maxWeight = maxWeight(intGraph);
+            return Buckets.forMaxWeight(maxWeight).create(intGraph.nodeCount(), maxWeight);
+        });
+    }
+
+    /**
+     * Construct a new {@link BucketDijkstraPathCalculator} for the given graph that uses the given buckets.
+     * @param graph the graph to calculate paths in.
+     * @param buckets the kind of bucket queue.
+     * @throws IllegalArgumentException if the graph has a negative weight.
+     */
+    public BucketDijkstraPathCalculator(Graph<N> graph, Buckets buckets) {
+        this(graph, buckets, false);
+    }
+
+    /**
+     * Construct a new {@link BucketDijkstraPathCalculator} for the given graph that uses the given buckets.
+     * @param graph the graph to calculate paths in.
+     * @param buckets the kind of bucket queue.
+     * @param pointToPoint whether {@link #calculatePath(Object, Object)} stops as soon as the end node is visited.
+     * @throws IllegalArgumentException if the graph has a negative weight.
+     */
+    public BucketDijkstraPathCalculator(Graph<N> graph, Buckets buckets, boolean pointToPoint) {
+        super(graph, pointToPoint, intGraph -> buckets.create(intGraph.nodeCount(), maxWeight(intGraph)));
+    }
+
+    /**
+     * Creates a new {@link BucketDijkstraPathCalculator} in point-to-point mode.
+     * @param graph the graph to calculate paths in.
+     * @param <N> The type of the nodes in the graph.
+     * @return the new path calculator.
+     */
+    private static <N> PathCalculator<N> pointToPoint(Graph<N> graph) {
+        return new BucketDijkstraPathCalculator<>(graph, true);
+    }
+
+    /**
+     * Returns the largest weight of the given graph.
+     * @param graph the graph, without negative weights.
+     * @return the largest weight, or {@code 0} if the graph has no edges.
+     */
+    private static int maxWeight(IntGraph<?> graph) {
+        final int[] max = new int[1];
+        final IntAdjacencyConsumer update = (neighbor, weight) -> max[0] = Math.max(max[0], weight);
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            graph.forEachAdjacent(node, update);
+        }
+        return max[0];
+    }
+}
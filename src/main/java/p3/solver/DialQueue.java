@@ -0,0 +1,57 @@
+package p3.solver;
+
+/**
+ * A monotone bucket queue for integer keys whose range is bounded by the largest edge weight (Dial's algorithm).
+ *
+ * <p>
+ * In Dijkstra's algorithm with edge weights of at most {@code C}, all keys in the queue are in the range
+ * [d, d + C], where {@code d} is the last extracted key. This queue has one bucket per key in that range, used
+ * as a ring, and searches for the next minimum from the bucket of {@code d} on. Inserting and decreasing a key
+ * take O(1) and finding the minimum takes O(C) in the worst case.
+ * Dijkstra's algorithm then takes O(V + E + D) time, where {@code D} is the length of the longest shortest path.
+ * </p>
+ */
+final class DialQueue extends IntBucketQueue {
+
+    /**
+     * Constructs a new empty queue for the ids [0, capacity).
+     * @param capacity the number of ids.
+     * @param maxWeight the largest edge weight, which bounds the difference between any two keys in the queue.
+     * @throws IllegalArgumentException if the largest weight is negative.
+     */
+    DialQueue(int capacity, int maxWeight) {
+        super(capacity, bucketCount(maxWeight));
+    }
+
+    /**
+     * Returns the number of buckets for the given largest weight.
+     * @param maxWeight the largest edge weight.
+     * @return the number of buckets.
+     * @throws IllegalArgumentException if the largest weight is negative.
+     */
+    private static int bucketCount(int maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Negative weight: " + maxWeight);
+        }
+        return maxWeight + 1;
+    }
+
+    @Override
+    protected int bucketOf(long key) {
+        return (int) (key % heads.length);
+    }
+
+    @Override
+    protected void rebase() {
+        // the buckets only depend on the keys
+    }
+
+    @Override
+    protected int minBucket() {
+        int bucket = bucketOf(last);
+        while (heads[bucket] < 0) {
+            bucket = bucket + 1 == heads.length ? 0 : bucket + 1;
+        }
+        return bucket;
+    }
+}
@@ -0,0 +1,165 @@
+package p3.solver;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An indexed d-ary min-heap of int ids with {@code double} keys, for {@link DoubleDijkstraPathCalculator}.
+ *
+ * <p>
+ * This is the same heap as {@link IntMinHeap}, with {@code double} instead of {@code long} keys.
+ * The keys must not be {@code NaN}, since they could not be ordered.
+ * </p>
+ */
+final class DoubleMinHeap {
+
+    /**
+     * The number of children of every node.
+     */
+    private final int arity;
+
+    /**
+     * The ids in the heap, in heap order. Only the first {@link #size} elements are used.
+     */
+    private final int[] heap;
+
+    /**
+     * The key of every id, indexed by id. Only valid for ids in the heap.
+     */
+    private final double[] keys;
+
+    /**
+     * The position of every id in {@link #heap}, or {@code -1} if the id is not in the heap.
+     */
+    private final int[] positions;
+
+    /**
+     * The number of ids in the heap.
+     */
+    private int size;
+
+    /**
+     * Constructs a new empty heap for the ids [0, capacity).
+     * @param capacity the number of ids.
+     * @param arity the number of children of every node.
+     * @throws IllegalArgumentException if the arity is less than 2.
+     */
+    DoubleMinHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.keys = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Removes all ids from the heap.
+     * <p> Takes time proportional to the number of ids in the heap.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns whether the heap is empty.
+     * @return {@code true} if there are no ids in the heap.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts the given id with the given key, or lowers its key if it is already in the heap with a larger key.
+     * @param id the id.
+     * @param key the key.
+     */
+    void insertOrDecrease(int id, double key) {
+        Objects.checkIndex(id, positions.length);
+        int position = positions[id];
+        if (position < 0) {
+            position = size++;
+        } else if (key >= keys[id]) {
+            return;
+        }
+        keys[id] = key;
+        siftUp(id, position);
+    }
+
+    /**
+     * Removes the id with the smallest key from the heap.
+     * @return the id with the smallest key, or {@code -1} if the heap is empty.
+     */
+    int extractMin() {
+        if (size == 0) {
+            return -1;
+        }
+        final int min = heap[0];
+        positions[min] = -1;
+        final int last = heap[--size];
+        if (size > 0) {
+            siftDown(last, 0);
+        }
+        return min;
+    }
+
+    /**
+     * Moves the given id up from the given position until its parent has a smaller or equal key.
+     * @param id the id.
+     * @param position the position to start at, which is free.
+     */
+    private void siftUp(int id, int position) {
+        final double key = keys[id];
+        while (position > 0) {
+            final int parentPosition = (position - 1) / arity;
+            final int parent = heap[parentPosition];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    /**
+     * Moves the given id down from the given position until all of its children have a larger or equal key.
+     * @param id the id.
+     * @param position the position to start at, which is free.
+     */
+    private void siftDown(int id, int position) {
+        final double key = keys[id];
+        while (true) {
+            final int firstChild = position * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            final int end = Math.min(firstChild + arity, size);
+            int minPosition = firstChild;
+            double minKey = keys[heap[firstChild]];
+            for (int child = firstChild + 1; child < end; child++) {
+                final double childKey = keys[heap[child]];
+                if (childKey < minKey) {
+                    minPosition = child;
+                    minKey = childKey;
+                }
+            }
+            if (key <= minKey) {
+                break;
+            }
+            final int minChild = heap[minPosition];
+            heap[position] = minChild;
+            positions[minChild] = position;
+            position = minPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
@@ -0,0 +1,176 @@
+package p3.solver;
+
+import p3.graph.Graph;
+import p3.graph.IntAdjacencyConsumer;
+import p3.graph.IntGraph;
+
+import java.util.function.Function;
+
+/**
+ * Implementation of Dijkstra's algorithm that finds the next node with an indexed d-ary heap.
+ *
+ * <p>
+ * {@link IntDijkstraPathCalculator#extractMin()} scans the reached but unvisited nodes, so the algorithm still
+ * takes O(V^2) time in the worst case.
+ * This implementation keeps the reached but unvisited nodes in an {@link IntMinHeap} keyed by their distance.
+ * {@link #relax(int, int, int)} decreases the key of a node whenever it finds a shorter path,
+ * so the algorithm takes O((V + E) log V) time.
+ * </p>
+ *
+ * <p>
+ * The constructors reject graphs with negative weights. A negative edge would lower the distance of a visited node,
+ * which would then be put back into the heap, and since the edges are undirected, its two nodes would keep lowering
+ * each other forever.
+ * </p>
+ *
+ * <p>
+ * Subclasses in this package may keep the nodes in another {@link IntPriorityQueue}, see
+ * {@link BucketDijkstraPathCalculator}.
+ * </p>
+ *
+ * @param <N> The type of the nodes in the graph.
+ */
+public class HeapDijkstraPathCalculator<N> extends IntDijkstraPathCalculator<N> {
+
+    /**
+     * Factory for creating new instances of {@link HeapDijkstraPathCalculator}.
+     */
+    public static PathCalculator.Factory FACTORY = HeapDijkstraPathCalculator::new;
+
+    /**
+     * Factory for creating new instances of {@link HeapDijkstraPathCalculator} in point-to-point mode.
+     */
+    public static PathCalculator.Factory POINT_TO_POINT_FACTORY = HeapDijkstraPathCalculator::pointToPoint;
+
+    /**
+     * The number of children of every node of the heap, if none is given.
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    /**
+     * The reached nodes that have not been visited yet, keyed by their distance.
+     */
+    private final IntPriorityQueue queue;
+
+    /**
+     * Construct a new {@link HeapDijkstraPathCalculator} for the given graph, using a 4-ary heap.
+     * @param graph the graph to calculate paths in.
+     * @throws IllegalArgumentException if the graph has a negative weight.
+     */
+    public HeapDijkstraPathCalculator(Graph<N> graph) {
+        this(graph, DEFAULT_ARITY);
+    }
+
+    /**
+     * Construct a new {@link HeapDijkstraPathCalculator} for the given graph.
+     * @param graph the graph to calculate paths in.
+     * @param arity the number of children of every node of the heap, at least 2.
+     * @throws IllegalArgumentException if the arity is less than 2 or the graph has a negative weight.
+     */
+    public HeapDijkstraPathCalculator(Graph<N> graph, int arity) {
+        this(graph, arity, false);
+    }
+
+    /**
+     * Construct a new {@link HeapDijkstraPathCalculator} for the given graph.
+     * @param graph the graph to calculate paths in.
+     * @param arity the number of children of every node of the heap, at least 2.
+     * @param pointToPoint whether {@link #calculatePath(Object, Object)} stops as soon as the end node is visited.
+     * @throws IllegalArgumentException if the arity is less than 2 or the graph has a negative weight.
+     */
+    public HeapDijkstraPathCalculator(Graph<N> graph, int arity, boolean pointToPoint) {
+        this(graph, pointToPoint, intGraph -> new IntMinHeap(intGraph.nodeCount(), arity));
+    }
+
+    /**
+     * Construct a new {@link HeapDijkstraPathCalculator} for the given graph that uses the given queue.
+     * @param graph the graph to calculate paths in.
+     * @param pointToPoint whether {@link #calculatePath(Object, Object)} stops as soon as the end node is visited.
+     * @param queue the function that creates the queue for the int-indexed graph.
+     * @throws IllegalArgumentException if the graph has a negative weight.
+     */
+    HeapDijkstraPathCalculator(Graph<N> graph, boolean pointToPoint,
+                               Function<? super IntGraph<N>, ? extends IntPriorityQueue> queue) {
+        super(graph, pointToPoint);
+        requireNonNegativeWeights(this.graph);
+        this.queue = queue.apply(this.graph);
+    }
+
+    /**
+     * Throws an exception if the given graph has a negative weight.
+     * @param graph the graph.
+     * @throws IllegalArgumentException if the graph has a negative weight.
+     */
+    static void requireNonNegativeWeights(IntGraph<?> graph) {
+        final IntAdjacencyConsumer check = (neighbor, weight) -> {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight: " + weight);
+            }
+        };
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            graph.forEachAdjacent(node, check);
+        }
+    }
+
+    /**
+     * Creates a new {@link HeapDijkstraPathCalculator} in point-to-point mode, using a 4-ary heap.
+     * @param graph the graph to calculate paths in.
+     * @param <N> The type of the nodes in the graph.
+     * @return the new path calculator.
+     */
+    private static <N> PathCalculator<N> pointToPoint(Graph<N> graph) {
+        return new HeapDijkstraPathCalculator<>(graph, DEFAULT_ARITY, true);
+    }
+
+    /**
+     * Initializes the arrays like {@link IntDijkstraPathCalculator#init(int)} and
+     * makes the start node the only node in the heap.
+     *
+     * @param start the id of the start node
+     */
+    @Override
+    protected void init(int start) {
+        super.init(start);
+        queue.clear();
+        queue.insertOrDecrease(start, 0);
+    }
+
+    /**
+     * Determines the next node that should be visited.
+     * <p> This implementation removes the node with the minimal distance from the heap.
+     *
+     * @return the id of the next node, or {@code -1} if no unvisited node is reachable
+     */
+    @Override
+    protected int extractMin() {
+        return queue.extractMin();
+    }
+
+    /**
+     * Updates the arrays like {@link IntDijkstraPathCalculator#relax(int, int, int)} and
+     * inserts {@code to} into the heap or decreases its key to its {@link #priority(int)} if a shorter path was found.
+     *
+     * @param from   the id of the node that is used to reach {@code to}
+     * @param to     the id of the target node for this update
+     * @param weight the weight of the edge between {@code from} and {@code to}
+     */
+    @Override
+    protected void relax(int from, int to, int weight) {
+        final long previous = distances[to];
+        super.relax(from, to, weight);
+        if (distances[to] < previous) {
+            queue.insertOrDecrease(to, priority(to));
+        }
+    }
+
+    /**
+     * Returns the key of the given reached node in the heap, which decides the order in which the nodes are visited.
+     * <p> This implementation returns the distance of the node, subclasses may add an estimate of the remaining distance.
+     *
+     * @param node the id of the node
+     * @return the key of the node, which must not decrease unless its distance decreases
+     */
+    protected long priority(int node) {
+        return distances[node];
+    }
+}
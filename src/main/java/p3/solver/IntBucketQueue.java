@@ -0,0 +1,206 @@
+package p3.solver;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A base class for monotone priority queues that sort their ids into buckets instead of comparing keys.
+ *
+ * <p>
+ * Every bucket is a doubly linked list of ids, stored in the arrays {@link #next} and {@link #previous}
+ * indexed by id, so that an id can be moved to another bucket in O(1) when its key is decreased.
+ * Subclasses decide which bucket a key belongs to and how the bucket with the smallest keys is found.
+ * </p>
+ */
+abstract class IntBucketQueue implements IntPriorityQueue {
+
+    /**
+     * The key of every id, indexed by id. Only valid for ids in the queue.
+     */
+    protected final long[] keys;
+
+    /**
+     * The last extracted key, or the smallest inserted key if no key was extracted since the queue was cleared.
+     * No key in the queue is smaller.
+     */
+    protected long last;
+
+    /**
+     * The first id of every bucket, or {@code -1} if the bucket is empty.
+     */
+    protected final int[] heads;
+
+    /**
+     * The next id in the bucket of every id, or {@code -1} if it is the last one.
+     */
+    private final int[] next;
+
+    /**
+     * The previous id in the bucket of every id, or {@code -1} if it is the first one.
+     */
+    private final int[] previous;
+
+    /**
+     * The bucket of every id, or {@code -1} if the id is not in the queue.
+     */
+    private final int[] buckets;
+
+    /**
+     * The number of ids in the queue.
+     */
+    private int size;
+
+    /**
+     * Whether a key was extracted since the queue was cleared, which makes {@link #last} a lower bound for all
+     * future keys.
+     */
+    private boolean extracted;
+
+    /**
+     * Constructs a new empty queue for the ids [0, capacity).
+     * @param capacity the number of ids.
+     * @param bucketCount the number of buckets.
+     */
+    IntBucketQueue(int capacity, int bucketCount) {
+        keys = new long[capacity];
+        heads = new int[bucketCount];
+        next = new int[capacity];
+        previous = new int[capacity];
+        buckets = new int[capacity];
+        Arrays.fill(heads, -1);
+        Arrays.fill(buckets, -1);
+    }
+
+    /**
+     * Returns the bucket for the given key.
+     * @param key the key, which is not smaller than the last extracted key.
+     * @return the bucket.
+     */
+    protected abstract int bucketOf(long key);
+
+    /**
+     * Called when {@link #last} was lowered before the first extraction, so that subclasses can move the ids whose
+     * bucket depends on it. The id that lowered it is not linked yet.
+     */
+    protected abstract void rebase();
+
+    /**
+     * Returns the first non-empty bucket that contains an id with the smallest key, and prepares it so that
+     * its first id has the smallest key. Only called if the queue is not empty.
+     * @return the bucket.
+     */
+    protected abstract int minBucket();
+
+    /**
+     * {@inheritDoc}
+     * <p> Takes time proportional to the number of buckets and ids in the queue, if it is not empty.
+     */
+    @Override
+    public void clear() {
+        extracted = false;
+        if (size == 0) {
+            return;
+        }
+        for (int bucket = 0; bucket < heads.length; bucket++) {
+            for (int id = heads[bucket]; id >= 0; id = next[id]) {
+                buckets[id] = -1;
+            }
+            heads[bucket] = -1;
+        }
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void insertOrDecrease(int id, long key) {
+        Objects.checkIndex(id, keys.length);
+        if (buckets[id] >= 0) {
+            if (key >= keys[id]) {
+                return;
+            }
+            unlink(id);
+        } else {
+            size++;
+        }
+        keys[id] = key;
+        if (!extracted && (size == 1 || key < last)) {
+            last = key;
+            rebase();
+        }
+        link(id, bucketOf(key));
+    }
+
+    @Override
+    public int extractMin() {
+        if (size == 0) {
+            return -1;
+        }
+        final int id = heads[minBucket()];
+        unlink(id);
+        size--;
+        last = keys[id];
+        extracted = true;
+        return id;
+    }
+
+    /**
+     * Moves every id of the given bucket into the bucket of its key, which may have changed since it was linked.
+     * @param bucket the bucket.
+     */
+    protected void redistribute(int bucket) {
+        int id = heads[bucket];
+        heads[bucket] = -1;
+        while (id >= 0) {
+            final int following = next[id];
+            link(id, bucketOf(keys[id]));
+            id = following;
+        }
+    }
+
+    /**
+     * Returns the id that follows the given id in its bucket.
+     * @param id the id.
+     * @return the next id, or {@code -1} if the id is the last one.
+     */
+    protected int nextInBucket(int id) {
+        return next[id];
+    }
+
+    /**
+     * Adds the given id to the front of the given bucket.
+     * @param id the id.
+     * @param bucket the bucket.
+     */
+    private void link(int id, int bucket) {
+        final int head = heads[bucket];
+        next[id] = head;
+        previous[id] = -1;
+        if (head >= 0) {
+            previous[head] = id;
+        }
+        heads[bucket] = id;
+        buckets[id] = bucket;
+    }
+
+    /**
+     * Removes the given id from its bucket.
+     * @param id the id.
+     */
+    private void unlink(int id) {
+        final int before = previous[id];
+        final int after = next[id];
+        if (before >= 0) {
+            next[before] = after;
+        } else {
+            heads[buckets[id]] = after;
+        }
+        if (after >= 0) {
+            previous[after] = before;
+        }
+        buckets[id] = -1;
+    }
+}
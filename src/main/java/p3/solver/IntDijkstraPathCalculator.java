@@ -0,0 +1,176 @@
+package p3.solver;
+
+import p3.graph.Graph;
+import p3.graph.IntAdjacencyConsumer;
+import p3.graph.IntGraph;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of Dijkstra's algorithm that works on the int ids of an {@link IntGraph}.
+ *
+ * <p>
+ * The algorithm is the same as in {@link DijkstraPathCalculator}, but the distances, predecessors and
+ * remaining nodes are kept in primitive arrays indexed by node id instead of maps and sets of nodes.
+ * Nodes are only converted between {@code N} and their ids in {@link #calculatePath(Object, Object)}.
+ * </p>
+ *
+ * <p>
+ * The arrays are only reset for the nodes that the previous call reached, so a query that stays in a small part
+ * of the graph does not pay for the whole graph. In point-to-point mode, {@link #calculatePath(Object, Object)}
+ * additionally stops as soon as the end node is visited, instead of calculating the paths to all nodes.
+ * </p>
+ *
+ * @param <N> The type of the nodes in the graph.
+ */
+public class IntDijkstraPathCalculator<N> extends AbstractDijkstraPathCalculator<N> {
+
+    /**
+     * Factory for creating new instances of {@link IntDijkstraPathCalculator}.
+     */
+    public static PathCalculator.Factory FACTORY = IntDijkstraPathCalculator::new;
+
+    /**
+     * Factory for creating new instances of {@link IntDijkstraPathCalculator} in point-to-point mode.
+     */
+    public static PathCalculator.Factory POINT_TO_POINT_FACTORY = IntDijkstraPathCalculator::pointToPoint;
+
+    /**
+     * The value of {@link #distances} for nodes that have not been reached yet.
+     */
+    protected static final long INFINITY = Long.MAX_VALUE;
+
+    /**
+     * The graph to calculate paths in.
+     */
+    protected final IntGraph<N> graph;
+
+    /**
+     * The distance from the start node to each node in the graph, indexed by node id.
+     * The distances are {@code long}s, so that paths longer than {@link Integer#MAX_VALUE} do not overflow.
+     */
+    protected final long[] distances;
+
+    /**
+     * The number of ids at the start of {@link #reached} that have been returned by {@link #extractMin()}.
+     */
+    private int extractedCount;
+
+    /**
+     * The node that is currently being visited. Used by {@link #relaxCurrent}.
+     */
+    private int current;
+
+    /**
+     * Relaxes the edges from {@link #current}. Created once to avoid allocating in the main loop.
+     */
+    private final IntAdjacencyConsumer relaxCurrent = (to, weight) -> relax(current, to, weight);
+
+    /**
+     * Construct a new {@link IntDijkstraPathCalculator} for the given graph.
+     * @param graph the graph to calculate paths in.
+     */
+    public IntDijkstraPathCalculator(Graph<N> graph) {
+        this(graph, false);
+    }
+
+    /**
+     * Construct a new {@link IntDijkstraPathCalculator} for the given graph.
+     * @param graph the graph to calculate paths in.
+     * @param pointToPoint whether {@link #calculatePath(Object, Object)} stops as soon as the end node is visited.
+     */
+    public IntDijkstraPathCalculator(Graph<N> graph, boolean pointToPoint) {
+        this(graph.toIntGraph(), pointToPoint);
+    }
+
+    /**
+     * Construct a new {@link IntDijkstraPathCalculator} for the given int-indexed graph.
+     * @param graph the graph to calculate paths in.
+     * @param pointToPoint whether {@link #calculatePath(Object, Object)} stops as soon as the end node is visited.
+     */
+    private IntDijkstraPathCalculator(IntGraph<N> graph, boolean pointToPoint) {
+        super(graph.nodeIndex(), pointToPoint);
+        this.graph = graph;
+        this.distances = new long[graph.nodeCount()];
+        Arrays.fill(distances, INFINITY);
+    }
+
+    /**
+     * Creates a new {@link IntDijkstraPathCalculator} in point-to-point mode.
+     * @param graph the graph to calculate paths in.
+     * @param <N> The type of the nodes in the graph.
+     * @return the new path calculator.
+     */
+    private static <N> PathCalculator<N> pointToPoint(Graph<N> graph) {
+        return new IntDijkstraPathCalculator<>(graph, true);
+    }
+
+    /**
+     * Resets the distances, predecessors and visited flags of the nodes that were reached since the last call and
+     * sets the distance of the start node to {@code 0}.
+     * <p> Only the nodes that were reached since the last call are reset, all other nodes still have their defaults.
+     *
+     * @param start the id of the start node
+     */
+    @Override
+    protected void init(int start) {
+        super.init(start);
+        extractedCount = 0;
+        distances[start] = 0;
+    }
+
+    @Override
+    protected void resetDistance(int node) {
+        distances[node] = INFINITY;
+    }
+
+    /**
+     * Determines the next node that should be visited.
+     * <p> This implementation returns the unvisited node with the minimal distance. It only scans the nodes that
+     * were reached but not extracted yet, which are kept at the end of the reached nodes, but this is still O(V)
+     * per call in the worst case.
+     *
+     * @return the id of the next node, or {@code -1} if no unvisited node is reachable
+     */
+    @Override
+    protected int extractMin() {
+        if (extractedCount == reachedCount) {
+            return -1;
+        }
+        int min = extractedCount;
+        for (int i = extractedCount + 1; i < reachedCount; i++) {
+            if (distances[reached[i]] < distances[reached[min]]) {
+                min = i;
+            }
+        }
+        final int node = reached[min];
+        reached[min] = reached[extractedCount];
+        reached[extractedCount++] = node;
+        return node;
+    }
+
+    @Override
+    protected void relaxNeighbors(int node) {
+        current = node;
+        graph.forEachAdjacent(node, relaxCurrent);
+    }
+
+    /**
+     * Updates {@link #distances} and {@link #predecessors} if a shorter path between {@code from} and {@code to}
+     * is found. If no shorter path is found, the arrays remain unchanged.
+     *
+     * @param from   the id of the node that is used to reach {@code to}
+     * @param to     the id of the target node for this update
+     * @param weight the weight of the edge between {@code from} and {@code to}
+     */
+    protected void relax(int from, int to, int weight) {
+        final long distance = distances[from] + weight;
+        if (distance < distances[to]) {
+            if (distances[to] == INFINITY) {
+                reached[reachedCount++] = to;
+            }
+            distances[to] = distance;
+            predecessors[to] = from;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package p3.solver;
+
+import p3.graph.CsrGraph;
+import p3.graph.EdgeList;
+import p3.graph.Graph;
+import p3.graph.IntGraph;
+
+/**
+ * Implementation of Kruskal's algorithm that works on the int ids of an {@link IntGraph}.
+ *
+ * <p>
+ * The algorithm is the same as in {@link KruskalMSTCalculator}, but the edges are sorted as an {@link EdgeList}
+ * of primitive values and the MST groups are kept in a union-find structure indexed by node id
+ * instead of a list of sets of nodes.
+ * </p>
+ *
+ * @param <N> The type of the nodes in the graph.
+ */
+public class IntKruskalMSTCalculator<N> implements MSTCalculator<N> {
+
+    /**
+     * Factory for creating new instances of {@link IntKruskalMSTCalculator}.
+     */
+    public static MSTCalculator.Factory FACTORY = IntKruskalMSTCalculator::new;
+
+    /**
+     * The graph to calculate the MST for.
+     */
+    protected final IntGraph<N> graph;
+
+    /**
+     * The union-find parent of each node. A node is the representative of its group iff it is its own parent.
+     */
+    protected final int[] parents;
+
+    /**
+     * The number of nodes in the group of each representative. Only valid for representatives.
+     */
+    protected final int[] groupSizes;
+
+    /**
+     * Construct a new {@link IntKruskalMSTCalculator} for the given graph.
+     * @param graph the graph to calculate the MST for.
+     */
+    public IntKruskalMSTCalculator(Graph<N> graph) {
+        this.graph = graph.toIntGraph();
+        this.parents = new int[this.graph.nodeCount()];
+        this.groupSizes = new int[this.graph.nodeCount()];
+    }
+
+    @Override
+    public Graph<N> calculateMST() {
+        final EdgeList edges = EdgeList.of(graph).sortByWeight();
+
+        init();
+        final EdgeList mstEdges = new EdgeList(Math.max(graph.nodeCount() - 1, 0));
+        for (int i = 0; i < edges.size() && mstEdges.size() < graph.nodeCount() - 1; i++) {
+            if (acceptEdge(edges.a(i), edges.b(i))) {
+                mstEdges.add(edges.a(i), edges.b(i), edges.weight(i));
+            }
+        }
+
+        return new CsrGraph<>(graph.nodeIndex(), mstEdges);
+    }
+
+    /**
+     * Initializes {@link #parents} and {@link #groupSizes} with their default values.
+     * <p> Initially, every node is in its own group.
+     */
+    protected void init() {
+        for (int node = 0; node < parents.length; node++) {
+            parents[node] = node;
+            groupSizes[node] = 1;
+        }
+    }
+
+    /**
+     * Processes an edge during Kruskal's algorithm.
+     * <p> If the edge's nodes are in the same group, the edge is skipped.
+     * Otherwise, the smaller group is merged into the larger one.
+     *
+     * @param a the id of the first node of the edge.
+     * @param b the id of the second node of the edge.
+     * @return {@code true} if the edge was accepted and the two groups were merged,
+     * {@code false} if it was skipped.
+     */
+    protected boolean acceptEdge(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (groupSizes[rootA] < groupSizes[rootB]) {
+            final int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parents[rootB] = rootA;
+        groupSizes[rootA] += groupSizes[rootB];
+        return true;
+    }
+
+    /**
+     * Returns the representative of the group of the given node, halving the path to it on the way.
+     * @param node the id of the node.
+     * @return the id of the representative of the node's group.
+     */
+    protected int find(int node) {
+        while (parents[node] != node) {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+}
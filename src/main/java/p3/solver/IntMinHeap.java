@@ -0,0 +1,180 @@
+package p3.solver;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An indexed d-ary min-heap of int ids with {@code long} keys, for Dijkstra-like algorithms.
+ *
+ * <p>
+ * The ids are the range [0, capacity). Every id is in the heap at most once, and {@link #insertOrDecrease(int, long)}
+ * lowers the key of an id that is already in the heap instead of adding a duplicate. The position of every id in
+ * the heap is kept in an array, so this takes O(log n) time without searching.
+ * </p>
+ *
+ * <p>
+ * A higher arity makes the heap shallower, which makes decreasing a key cheaper and extracting the minimum more
+ * expensive. Since Dijkstra's algorithm decreases keys more often than it extracts them, an arity of 4 is usually
+ * faster than a binary heap, and the children of a node share a cache line.
+ * </p>
+ */
+final class IntMinHeap implements IntPriorityQueue {
+
+    /**
+     * The number of children of every node.
+     */
+    private final int arity;
+
+    /**
+     * The ids in the heap, in heap order. Only the first {@link #size} elements are used.
+     */
+    private final int[] heap;
+
+    /**
+     * The key of every id, indexed by id. Only valid for ids in the heap.
+     */
+    private final long[] keys;
+
+    /**
+     * The position of every id in {@link #heap}, or {@code -1} if the id is not in the heap.
+     */
+    private final int[] positions;
+
+    /**
+     * The number of ids in the heap.
+     */
+    private int size;
+
+    /**
+     * Constructs a new empty heap for the ids [0, capacity).
+     * @param capacity the number of ids.
+     * @param arity the number of children of every node.
+     * @throws IllegalArgumentException if the arity is less than 2.
+     */
+    IntMinHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.keys = new long[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p> Takes time proportional to the number of ids in the heap.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns whether the given id is in the heap.
+     * @param id the id.
+     * @return {@code true} if the id is in the heap.
+     */
+    boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    @Override
+    public void insertOrDecrease(int id, long key) {
+        Objects.checkIndex(id, positions.length);
+        int position = positions[id];
+        if (position < 0) {
+            position = size++;
+        } else if (key >= keys[id]) {
+            return;
+        }
+        keys[id] = key;
+        siftUp(id, position);
+    }
+
+    @Override
+    public int extractMin() {
+        if (size == 0) {
+            return -1;
+        }
+        final int min = heap[0];
+        positions[min] = -1;
+        final int last = heap[--size];
+        if (size > 0) {
+            siftDown(last, 0);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the smallest key in the heap without removing it.
+     * @return the smallest key, or {@link Long#MAX_VALUE} if the heap is empty.
+     */
+    long minKey() {
+        return size == 0 ? Long.MAX_VALUE : keys[heap[0]];
+    }
+
+    /**
+     * Moves the given id up from the given position until its parent has a smaller or equal key.
+     * @param id the id.
+     * @param position the position to start at, which is free.
+     */
+    private void siftUp(int id, int position) {
+        final long key = keys[id];
+        while (position > 0) {
+            final int parentPosition = (position - 1) / arity;
+            final int parent = heap[parentPosition];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    /**
+     * Moves the given id down from the given position until all of its children have a larger or equal key.
+     * @param id the id.
+     * @param position the position to start at, which is free.
+     */
+    private void siftDown(int id, int position) {
+        final long key = keys[id];
+        while (true) {
+            final int firstChild = position * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            final int end = Math.min(firstChild + arity, size);
+            int minPosition = firstChild;
+            long minKey = keys[heap[firstChild]];
+            for (int child = firstChild + 1; child < end; child++) {
+                final long childKey = keys[heap[child]];
+                if (childKey < minKey) {
+                    minPosition = child;
+                    minKey = childKey;
+                }
+            }
+            if (key <= minKey) {
+                break;
+            }
+            final int minChild = heap[minPosition];
+            heap[position] = minChild;
+            positions[minChild] = position;
+            position = minPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
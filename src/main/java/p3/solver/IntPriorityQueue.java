@@ -0,0 +1,38 @@
+package p3.solver;
+
+/**
+ * A priority queue of int ids with {@code long} keys that supports decreasing the key of an id in the queue.
+ *
+ * <p>
+ * The ids are the range [0, capacity) given when the queue is created, and every id is in the queue at most once.
+ * Implementations may require the queue to be monotone, i.e., that no key is smaller than the last extracted key,
+ * which is always the case in Dijkstra's algorithm with non-negative weights.
+ * </p>
+ */
+interface IntPriorityQueue {
+
+    /**
+     * Removes all ids from the queue.
+     */
+    void clear();
+
+    /**
+     * Returns whether the queue is empty.
+     * @return {@code true} if the queue is empty.
+     */
+    boolean isEmpty();
+
+    /**
+     * Inserts the given id with the given key, or lowers its key if it is already in the queue.
+     * If the id is in the queue with a key that is not larger, nothing happens.
+     * @param id the id.
+     * @param key the key.
+     */
+    void insertOrDecrease(int id, long key);
+
+    /**
+     * Removes an id with the smallest key from the queue.
+     * @return the id with the smallest key, or {@code -1} if the queue is empty.
+     */
+    int extractMin();
+}
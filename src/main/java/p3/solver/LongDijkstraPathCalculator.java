@@ -0,0 +1,145 @@
+package p3.solver;
+
+import p3.graph.Graph;
+import p3.graph.LongAdjacencyConsumer;
+import p3.graph.LongCsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of Dijkstra's algorithm for a {@link LongCsrGraph}, whose weights are {@code long}s.
+ *
+ * <p>
+ * The algorithm is the same as in {@link HeapDijkstraPathCalculator}, but the weights and distances are
+ * {@code long}s, so the reached nodes are kept in a {@link IntMinHeap} with {@code long} keys.
+ * A distance that would exceed {@link Long#MAX_VALUE} saturates at {@link #INFINITY},
+ * so the end node counts as unreachable instead of wrapping around to a negative distance.
+ * {@link LongCsrGraph} rejects negative weights, which would break this guard.
+ * </p>
+ *
+ * @param <N> The type of the nodes in the graph.
+ */
+public class LongDijkstraPathCalculator<N> extends AbstractDijkstraPathCalculator<N> {
+
+    /**
+     * Factory for creating new instances of {@link LongDijkstraPathCalculator}.
+     */
+    public static PathCalculator.Factory FACTORY = LongDijkstraPathCalculator::new;
+
+    /**
+     * The value of {@link #distances} for nodes that have not been reached yet.
+     */
+    protected static final long INFINITY = Long.MAX_VALUE;
+
+    /**
+     * The graph to calculate paths in.
+     */
+    protected final LongCsrGraph<N> graph;
+
+    /**
+     * The distance from the start node to each node in the graph, indexed by node id.
+     */
+    protected final long[] distances;
+
+    /**
+     * The reached nodes that have not been visited yet, keyed by their distance.
+     */
+    private final IntMinHeap queue;
+
+    /**
+     * The node that is currently being visited. Used by {@link #relaxCurrent}.
+     */
+    private int current;
+
+    /**
+     * Relaxes the edges from {@link #current}. Created once to avoid allocating in the main loop.
+     */
+    private final LongAdjacencyConsumer relaxCurrent = (to, weight) -> relax(current, to, weight);
+
+    /**
+     * Construct a new {@link LongDijkstraPathCalculator} for a copy of the given graph with {@code long} weights.
+     * @param graph the graph to calculate paths in.
+     * @throws IllegalArgumentException if the graph has a negative weight.
+     */
+    public LongDijkstraPathCalculator(Graph<N> graph) {
+        this(LongCsrGraph.of(graph.toIntGraph()));
+    }
+
+    /**
+     * Construct a new {@link LongDijkstraPathCalculator} for the given graph.
+     * @param graph the graph to calculate paths in.
+     */
+    public LongDijkstraPathCalculator(LongCsrGraph<N> graph) {
+        super(graph.nodeIndex(), false);
+        this.graph = graph;
+        this.distances = new long[graph.nodeCount()];
+        this.queue = new IntMinHeap(graph.nodeCount(), HeapDijkstraPathCalculator.DEFAULT_ARITY);
+        Arrays.fill(distances, INFINITY);
+    }
+
+    /**
+     * Returns the length of the shortest path from the start node of the last call to
+     * {@link #calculatePath(Object, Object)} to the given node.
+     * @param node the node.
+     * @return the length of the shortest path, or {@link #INFINITY} if the node is not reachable.
+     * @throws IllegalArgumentException if the node is not in the graph.
+     */
+    public long distanceTo(N node) {
+        return distances[requireId(node)];
+    }
+
+    /**
+     * Resets the nodes that were reached since the last call and makes the start node the only node in the heap.
+     *
+     * @param start the id of the start node
+     */
+    @Override
+    protected void init(int start) {
+        super.init(start);
+        queue.clear();
+        distances[start] = 0;
+        queue.insertOrDecrease(start, 0);
+    }
+
+    @Override
+    protected void resetDistance(int node) {
+        distances[node] = INFINITY;
+    }
+
+    /**
+     * Determines the next node that should be visited.
+     * <p> This implementation returns the unvisited node with the minimal distance from the heap.
+     *
+     * @return the id of the next node, or {@code -1} if no unvisited node is reachable
+     */
+    @Override
+    protected int extractMin() {
+        return queue.extractMin();
+    }
+
+    @Override
+    protected void relaxNeighbors(int node) {
+        current = node;
+        graph.forEachAdjacent(node, relaxCurrent);
+    }
+
+    /**
+     * Updates {@link #distances} and {@link #predecessors} if a shorter path between {@code from} and {@code to}
+     * is found. If no shorter path is found, the arrays remain unchanged.
+     *
+     * @param from   the id of the node that is used to reach {@code to}
+     * @param to     the id of the target node for this update
+     * @param weight the weight of the edge between {@code from} and {@code to}
+     */
+    protected void relax(int from, int to, long weight) {
+        final long distance = weight > INFINITY - distances[from] ? INFINITY : distances[from] + weight;
+        if (distance < distances[to]) {
+            if (distances[to] == INFINITY) {
+                reached[reachedCount++] = to;
+            }
+            distances[to] = distance;
+            predecessors[to] = from;
+            queue.insertOrDecrease(to, distance);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package p3.solver;
+
+/**
+ * A monotone radix heap for non-negative {@code long} keys.
+ *
+ * <p>
+ * Bucket 0 holds the ids whose key is equal to the last extracted key {@code last}, and bucket {@code i > 0} holds
+ * the ids whose key differs from {@code last} in bit {@code i - 1} as its highest differing bit. When bucket 0 is
+ * empty, the first non-empty bucket is emptied into the lower buckets relative to its smallest key. Every id moves
+ * to a lower bucket each time, so it is moved at most 64 times, and Dijkstra's algorithm takes
+ * O(E + V log C) time for a largest weight {@code C}, independent of how large the weights are in absolute terms.
+ * </p>
+ */
+final class RadixHeap extends IntBucketQueue {
+
+    /**
+     * The number of buckets, one for equality and one per bit of a key.
+     */
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    /**
+     * Constructs a new empty queue for the ids [0, capacity).
+     * @param capacity the number of ids.
+     */
+    RadixHeap(int capacity) {
+        super(capacity, BUCKETS);
+    }
+
+    @Override
+    protected int bucketOf(long key) {
+        return key == last ? 0 : Long.SIZE - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    @Override
+    protected void rebase() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            redistribute(bucket);
+        }
+    }
+
+    @Override
+    protected int minBucket() {
+        if (heads[0] >= 0) {
+            return 0;
+        }
+        int bucket = 1;
+        while (heads[bucket] < 0) {
+            bucket++;
+        }
+        long min = Long.MAX_VALUE;
+        for (int id = heads[bucket]; id >= 0; id = nextInBucket(id)) {
+            min = Math.min(min, keys[id]);
+        }
+        last = min;
+        redistribute(bucket);
+        return 0;
+    }
+}
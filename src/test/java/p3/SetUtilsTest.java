@@ -0,0 +1,106 @@
+package p3;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SetUtils#immutableCopyOf(Set)} and the compact sets it creates.
+ */
+public class SetUtilsTest {
+
+    @Test
+    public void testRandomSets() {
+        final Random random = new Random(28);
+        for (int round = 0; round < 200; round++) {
+            final Set<Integer> set = new HashSet<>();
+            final int size = random.nextInt(round < 100 ? 12 : 500);
+            while (set.size() < size) {
+                set.add(random.nextInt(4 * size + 1) - size);
+            }
+            final Set<Integer> copy = SetUtils.immutableCopyOf(set);
+            assertSet(set, copy);
+            for (int i = -2 * size - 1; i <= 4 * size + 1; i++) {
+                assertEquals(set.contains(i), copy.contains(i));
+            }
+            assertSame(copy, SetUtils.immutableCopyOf(copy));
+        }
+    }
+
+    @Test
+    public void testCollisionsAndNull() {
+        final Set<Object> set = new HashSet<>();
+        set.add(null);
+        // "Aa" and "BB" have the same hash code, as do 0L and 0
+        set.add("Aa");
+        set.add("BB");
+        set.add(0L);
+        set.add(0);
+        assertSet(set, new SortedArraySet<>(set));
+        assertSet(set, new CompactHashSet<>(set));
+        assertFalse(new SortedArraySet<>(set).contains("C#"));
+        assertFalse(new CompactHashSet<>(set).contains(1));
+    }
+
+    @Test
+    public void testImmutable() {
+        final Set<Integer> small = SetUtils.immutableCopyOf(new HashSet<>(List.of(1, 2, 3)));
+        final Set<Integer> large = SetUtils.immutableCopyOf(new HashSet<>(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)));
+        final Set<Integer> empty = SetUtils.immutableCopyOf(new HashSet<>());
+        for (Set<Integer> set : List.of(small, large)) {
+            assertThrows(UnsupportedOperationException.class, () -> set.add(11));
+            assertThrows(UnsupportedOperationException.class, () -> set.remove(1));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> empty.add(11));
+        assertTrue(small instanceof SortedArraySet);
+        assertTrue(large instanceof CompactHashSet);
+        assertTrue(empty.isEmpty());
+    }
+
+    @Test
+    public void testIterationOrder() {
+        final Random random = new Random(18);
+        for (int size : new int[] {2, 8, 9, 300}) {
+            final Set<Integer> set = new LinkedHashSet<>();
+            while (set.size() < size) {
+                set.add(random.nextInt());
+            }
+            assertEquals(new ArrayList<>(set), new ArrayList<>(SetUtils.immutableCopyOf(set)));
+            assertEquals(new ArrayList<>(set), new ArrayList<>(new SortedArraySet<>(set)));
+            assertEquals(new ArrayList<>(set), new ArrayList<>(new CompactHashSet<>(set)));
+        }
+    }
+
+    @Test
+    public void testCompactCapacity() {
+        for (int size = 1; size < 100; size++) {
+            final Set<Integer> set = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                set.add(i);
+            }
+            final int capacity = new CompactHashSet<>(set).capacity();
+            assertEquals(1, Integer.bitCount(capacity));
+            assertTrue(size <= capacity * 0.75, () -> "capacity " + capacity);
+            assertTrue(size > capacity * 0.75 / 2 - 1, () -> "capacity " + capacity);
+        }
+    }
+
+    private static <E> void assertSet(Set<E> expected, Set<E> actual) {
+        assertEquals(expected.size(), actual.size());
+        final List<E> iterated = new ArrayList<>(actual);
+        assertEquals(expected.size(), iterated.size());
+        assertEquals(expected, new HashSet<>(iterated));
+        for (E element : expected) {
+            assertTrue(actual.contains(element), () -> "contains(" + element + ")");
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+}
@@ -0,0 +1,131 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link AdjacencyMatrix.Storage storages} of {@link AdjacencyMatrix} that override the dense matrix.
+ */
+public class AdjacencyMatrixTest {
+
+    private static final int SIZE = 70;
+
+    @Test
+    public void testSparse() {
+        testRandomCells(AdjacencyMatrix.Storage.SPARSE);
+    }
+
+    @Test
+    public void testSparseRowsGrowAndShrink() {
+        final AdjacencyMatrix matrix = AdjacencyMatrix.Storage.SPARSE.create(SIZE);
+        for (int column = 0; column < SIZE; column++) {
+            matrix.addEdge(0, column, column + 1);
+        }
+        assertEquals(SIZE, matrix.degree(0));
+        for (int column = 0; column < SIZE; column += 2) {
+            matrix.addEdge(0, column, 0);
+        }
+        assertEquals(SIZE / 2, matrix.degree(0));
+        for (int column = 0; column < SIZE; column++) {
+            assertEquals(column % 2 == 0 ? 0 : column + 1, matrix.getWeight(0, column));
+            assertEquals(column % 2 == 0 ? 0 : column + 1, matrix.getWeight(column, 0));
+        }
+        for (int column = 1; column < SIZE; column += 2) {
+            matrix.addEdge(column, 0, 0);
+        }
+        assertEquals(0, matrix.degree(0));
+        assertArrayEquals(new int[SIZE], matrix.getAdjacent(0));
+    }
+
+    @Test
+    public void testOf() {
+        assertTrue(AdjacencyMatrix.of(1000, 1000) instanceof SparseAdjacencyMatrix);
+        assertFalse(AdjacencyMatrix.of(1000, 400000) instanceof SparseAdjacencyMatrix);
+        assertFalse(AdjacencyMatrix.of(10, 0) instanceof SparseAdjacencyMatrix);
+        assertEquals(1000, AdjacencyMatrix.of(1000, 1000).size());
+    }
+
+    @Test
+    public void testFlat() {
+        testRandomCells(AdjacencyMatrix.Storage.FLAT);
+    }
+
+    @Test
+    public void testOffHeap() {
+        testRandomCells(AdjacencyMatrix.Storage.OFF_HEAP);
+    }
+
+    @Test
+    public void testTriangular() {
+        testRandomCells(AdjacencyMatrix.Storage.TRIANGULAR);
+    }
+
+    @Test
+    public void testTriangularCellsAreDistinct() {
+        final AdjacencyMatrix matrix = AdjacencyMatrix.Storage.TRIANGULAR.create(SIZE);
+        for (int a = 0; a < SIZE; a++) {
+            for (int b = a; b < SIZE; b++) {
+                matrix.addEdge(b, a, a * SIZE + b + 1);
+            }
+        }
+        for (int a = 0; a < SIZE; a++) {
+            for (int b = 0; b < SIZE; b++) {
+                assertEquals(Math.min(a, b) * SIZE + Math.max(a, b) + 1, matrix.getWeight(a, b));
+            }
+        }
+        final long flatBytes = AdjacencyMatrix.Storage.FLAT.create(SIZE).estimateBytes();
+        assertTrue(matrix.estimateBytes() < flatBytes * 6 / 10);
+        assertThrows(IllegalArgumentException.class,
+            () -> AdjacencyMatrix.Storage.TRIANGULAR.create(TriangularAdjacencyMatrix.MAX_SIZE + 1));
+    }
+
+    @Test
+    public void testEmptyAndInvalid() {
+        for (AdjacencyMatrix.Storage storage : AdjacencyMatrix.Storage.values()) {
+            assertEquals(0, storage.create(0).size(), storage.name());
+            if (storage != AdjacencyMatrix.Storage.DENSE) {
+                assertThrows(IllegalArgumentException.class, () -> storage.create(-1), storage.name());
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> AdjacencyMatrix.Storage.FLAT.create(FlatAdjacencyMatrix.MAX_SIZE + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> AdjacencyMatrix.Storage.FLAT.create(3).getWeight(0, 3));
+    }
+
+    /**
+     * Sets and clears random cells and compares every row with a model.
+     */
+    private static void testRandomCells(AdjacencyMatrix.Storage storage) {
+        final Random random = new Random(16);
+        final AdjacencyMatrix matrix = storage.create(SIZE);
+        final int[][] model = new int[SIZE][SIZE];
+        for (int step = 0; step < 2000; step++) {
+            final int a = random.nextInt(SIZE);
+            final int b = random.nextInt(SIZE);
+            final int weight = random.nextInt(4) == 0 ? 0 : random.nextInt(1000) - 500;
+            matrix.addEdge(a, b, weight);
+            model[a][b] = weight;
+            model[b][a] = weight;
+        }
+        assertEquals(SIZE, matrix.size());
+        for (int row = 0; row < SIZE; row++) {
+            assertArrayEquals(model[row], matrix.getAdjacent(row), storage.name());
+            final Map<Integer, Integer> expected = new HashMap<>();
+            for (int column = 0; column < SIZE; column++) {
+                assertEquals(model[row][column], matrix.getWeight(row, column), storage.name());
+                if (model[row][column] != 0) {
+                    expected.put(column, model[row][column]);
+                }
+            }
+            final Map<Integer, Integer> visited = new HashMap<>();
+            matrix.forEachAdjacent(row, visited::put);
+            assertEquals(expected, visited, storage.name());
+            assertEquals(expected.size(), matrix.degree(row), storage.name());
+        }
+    }
+}
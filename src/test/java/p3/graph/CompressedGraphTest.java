@@ -0,0 +1,81 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link CompressedGraph}.
+ */
+public class CompressedGraphTest {
+
+    @Test
+    public void testEmpty() {
+        assertGraph(Set.of(), Set.of(), new CompressedGraph<>(Set.<Integer>of(), Set.of()));
+        assertGraph(nodes(5), Set.of(), new CompressedGraph<>(nodes(5), Set.of()));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(10);
+        for (int i = 0; i < 50; i++) {
+            final int nodeCount = 1 + random.nextInt(300);
+            final Set<Integer> nodes = nodes(nodeCount);
+            final Set<Edge<Integer>> edges = randomEdges(random, nodeCount, random.nextInt(nodeCount * 2), 1000);
+            assertGraph(nodes, edges, new CompressedGraph<>(nodes, edges));
+        }
+    }
+
+    @Test
+    public void testSlotsMatchCsrGraph() {
+        final Random random = new Random(11);
+        final Set<Integer> nodes = nodes(500);
+        final Set<Edge<Integer>> edges = randomEdges(random, 500, 2000, Integer.MAX_VALUE);
+        final CsrGraph<Integer> csr = new CsrGraph<>(nodes, edges);
+        final CompressedGraph<Integer> compressed = new CompressedGraph<>(csr);
+        for (int node = 0; node <= csr.nodeCount(); node++) {
+            assertEquals(csr.offset(node), compressed.offset(node));
+        }
+        for (int slot = 0; slot < csr.offset(csr.nodeCount()); slot++) {
+            assertEquals(csr.target(slot), compressed.target(slot));
+            assertEquals(csr.weight(slot), compressed.weight(slot));
+        }
+        for (int i = 0; i < 1000; i++) {
+            final int a = random.nextInt(500);
+            final int b = random.nextInt(500);
+            assertEquals(csr.findSlot(a, b), compressed.findSlot(a, b));
+        }
+    }
+
+    @Test
+    public void testFromEdgeList() {
+        final Random random = new Random(12);
+        final Set<Integer> nodes = nodes(300);
+        final Set<Edge<Integer>> edges = randomEdges(random, 300, 900, 50);
+        final GraphBuilder<Integer> builder = new GraphBuilder<Integer>().addNodes(nodes).addEdges(edges);
+        // replaced edges keep the last weight, like in the CsrGraph of the same list
+        builder.addEdge(1, 2, 60).addEdge(2, 1, 70).addEdge(3, 3, 80);
+        final CsrGraph<Integer> csr = new GraphBuilder<Integer>().addNodes(nodes).addEdges(edges)
+            .addEdge(1, 2, 60).addEdge(2, 1, 70).addEdge(3, 3, 80).build();
+        final CompressedGraph<Integer> compressed = builder.buildCompressed();
+        assertEquals(70, compressed.getEdge(1, 2).weight());
+        assertEquals(80, compressed.getEdge(3, 3).weight());
+        assertGraph(csr.getNodes(), csr.getEdges(), compressed);
+        for (int node = 0; node < csr.nodeCount(); node++) {
+            assertEquals(csr.nodeAt(node), compressed.nodeAt(node));
+        }
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    public void testEqualWeights() {
+        final Set<Edge<String>> edges = Set.of(Edge.of("a", "b", -7), Edge.of("b", "c", -7), Edge.of("c", "c", -7));
+        final CompressedGraph<String> graph = new CompressedGraph<>(Set.of("a", "b", "c"), edges);
+        assertGraph(Set.of("a", "b", "c"), edges, graph);
+        assertSame(graph, graph.toIntGraph());
+    }
+}
@@ -0,0 +1,146 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link ConcurrentMutableGraph}.
+ */
+public class ConcurrentMutableGraphTest {
+
+    @Test
+    public void testConstructor() {
+        final Random random = new Random(2);
+        for (int i = 0; i < 20; i++) {
+            final Set<Integer> nodes = nodes(30);
+            final Set<Edge<Integer>> edges = randomEdges(random, 30, random.nextInt(60), 10);
+            assertGraph(nodes, edges, new ConcurrentMutableGraph<>(nodes, edges));
+        }
+    }
+
+    @Test
+    public void testMutations() {
+        final ConcurrentMutableGraph<String> graph = new ConcurrentMutableGraph<>();
+        graph.putNode("a").putNode("b").putNode("c");
+        graph.putEdge("a", "b", 1).putEdge("b", "c", 2).putEdge("c", "c", 3);
+        graph.putEdge("b", "a", 4);
+        graph.putEdgesAndNodes("c", "d", 5);
+        assertGraph(Set.of("a", "b", "c", "d"),
+            Set.of(Edge.of("a", "b", 4), Edge.of("b", "c", 2), Edge.of("c", "c", 3), Edge.of("c", "d", 5)), graph);
+
+        graph.removeEdge("c", "b").removeEdge("a", "c");
+        graph.removeNode("c").removeNode("x");
+        assertGraph(Set.of("a", "b", "d"), Set.of(Edge.of("a", "b", 4)), graph);
+
+        assertThrows(IllegalArgumentException.class, () -> graph.putEdge("a", "x", 1));
+        assertThrows(IllegalArgumentException.class, () -> graph.removeEdge("x", "a"));
+        assertThrows(IllegalArgumentException.class, () -> graph.updateWeight("a", "d", 1));
+    }
+
+    @Test
+    public void testNullNodes() {
+        final ConcurrentMutableGraph<Integer> graph = new ConcurrentMutableGraph<>();
+        graph.putEdgesAndNodes(1, 2, 1);
+        assertFalse(graph.getEdges().contains(Edge.of(null, 1, 1)));
+        assertFalse(graph.getEdges().contains(Edge.of(1, null, 1)));
+        assertFalse(graph.getAdjacentEdges(1).contains(Edge.of(1, null, 1)));
+        assertNull(graph.getEdge(1, null));
+        assertThrows(IllegalArgumentException.class, () -> graph.getEdge(null, 1));
+    }
+
+    @Test
+    public void testConcurrentIngestion() throws InterruptedException {
+        final int nodeCount = 200;
+        final Set<Edge<Integer>> edges = randomEdges(new Random(3), nodeCount, 4000, 100);
+        final List<Edge<Integer>> list = new ArrayList<>(edges);
+        final ConcurrentMutableGraph<Integer> graph = new ConcurrentMutableGraph<>();
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<String> failure = new AtomicReference<>();
+
+        // every edge that a reader sees at one of its nodes must be visible at the other node as well
+        final Thread reader = new Thread(() -> {
+            final Random random = new Random(4);
+            while (!done.get() && failure.get() == null) {
+                final Integer node = random.nextInt(nodeCount);
+                if (!graph.getNodes().contains(node)) {
+                    continue;
+                }
+                graph.forEachAdjacent(node, (neighbor, weight) -> {
+                    if (graph.getEdge(neighbor, node) == null) {
+                        failure.set("edge " + node + " - " + neighbor + " is only stored at " + node);
+                    }
+                });
+                for (Edge<Integer> edge : graph.getAdjacentEdges(node)) {
+                    final Integer neighbor = node.equals(edge.a()) ? edge.b() : edge.a();
+                    if (!graph.getAdjacentEdges(neighbor).contains(edge)) {
+                        failure.set("edge " + edge + " is only adjacent to " + node);
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        final List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int first = t;
+            writers.add(new Thread(() -> {
+                for (int i = first; i < list.size(); i += 4) {
+                    final Edge<Integer> edge = list.get(i);
+                    graph.putEdgesAndNodes(edge.a(), edge.b(), edge.weight());
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get(), failure.get());
+        final Set<Integer> nodes = new HashSet<>();
+        for (Edge<Integer> edge : edges) {
+            nodes.add(edge.a());
+            nodes.add(edge.b());
+        }
+        assertGraph(nodes, edges, graph);
+    }
+
+    @Test
+    public void testConcurrentNodeRemoval() throws InterruptedException {
+        final int nodeCount = 100;
+        final ConcurrentMutableGraph<Integer> graph = new ConcurrentMutableGraph<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final Random random = new Random(t);
+            final boolean removes = t == 0;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    if (removes && i % 10 == 0) {
+                        graph.removeNode(random.nextInt(nodeCount));
+                    } else {
+                        graph.putEdgesAndNodes(random.nextInt(nodeCount), random.nextInt(nodeCount), i);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // the graph must be consistent with its own edges
+        final Set<Edge<Integer>> edges = new HashSet<>(graph.getEdges());
+        assertGraph(new HashSet<>(graph.getNodes()), edges, graph);
+    }
+}
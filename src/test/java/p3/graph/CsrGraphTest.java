@@ -0,0 +1,69 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link CsrGraph}.
+ */
+public class CsrGraphTest {
+
+    @Test
+    public void testEmpty() {
+        assertGraph(Set.of(), Set.of(), new CsrGraph<>(Set.<Integer>of(), Set.of()));
+        assertGraph(nodes(5), Set.of(), new CsrGraph<>(nodes(5), Set.of()));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            final int nodeCount = 1 + random.nextInt(40);
+            final Set<Integer> nodes = nodes(nodeCount);
+            final Set<Edge<Integer>> edges = randomEdges(random, nodeCount, random.nextInt(nodeCount * 2), 100);
+            assertGraph(nodes, edges, new CsrGraph<>(nodes, edges));
+        }
+    }
+
+    @Test
+    public void testSelfLoop() {
+        final Set<Edge<String>> edges = Set.of(Edge.of("a", "a", 2), Edge.of("a", "b", 3));
+        final CsrGraph<String> graph = new CsrGraph<>(Set.of("a", "b"), edges);
+        assertGraph(Set.of("a", "b"), edges, graph);
+        assertEquals(2, graph.edgeCount());
+        assertEquals(2, graph.degree("a"));
+    }
+
+    @Test
+    public void testStringNodes() {
+        final Set<String> nodes = Set.of("Aa", "BB", "c");
+        final Set<Edge<String>> edges = Set.of(Edge.of("Aa", "BB", 1), Edge.of("c", "BB", 4));
+        assertGraph(nodes, edges, new CsrGraph<>(nodes, edges));
+    }
+
+    @Test
+    public void testUnknownNode() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new CsrGraph<>(Set.of(1, 2), Set.of(Edge.of(1, 3, 1))));
+        final CsrGraph<Integer> graph = new CsrGraph<>(Set.of(1, 2), Set.of(Edge.of(1, 2, 1)));
+        assertThrows(IllegalArgumentException.class, () -> graph.getAdjacentEdges(3));
+        assertThrows(IllegalArgumentException.class, () -> graph.degree(Integer.valueOf(3)));
+        assertThrows(IllegalArgumentException.class, () -> graph.getEdge(3, 1));
+        assertNull(graph.getEdge(1, 3));
+        assertFalse(graph.getEdges().contains(Edge.of(1, 3, 1)));
+    }
+
+    @Test
+    public void testIsImmutable() {
+        final CsrGraph<Integer> graph = new CsrGraph<>(Set.of(1, 2), Set.of(Edge.of(1, 2, 1)));
+        assertSame(graph, graph.toGraph());
+        assertSame(graph, graph.toIntGraph());
+        assertThrows(UnsupportedOperationException.class, () -> graph.getNodes().add(3));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getEdges().add(Edge.of(1, 1, 1)));
+    }
+}
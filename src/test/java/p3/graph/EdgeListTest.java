@@ -0,0 +1,101 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link EdgeList}.
+ */
+public class EdgeListTest {
+
+    @Test
+    public void testAddAndGrow() {
+        final EdgeList list = new EdgeList(0);
+        for (int i = 0; i < 100; i++) {
+            list.add(i, i + 1, -i);
+        }
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, list.a(i));
+            assertEquals(i + 1, list.b(i));
+            assertEquals(-i, list.weight(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> list.a(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> new EdgeList().weight(0));
+    }
+
+    @Test
+    public void testSortByWeightIsStable() {
+        final Random random = new Random(18);
+        final EdgeList list = new EdgeList();
+        final List<int[]> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final int weight = random.nextBoolean() ? random.nextInt(10) - 5 : random.nextInt();
+            list.add(i, random.nextInt(1000), weight);
+            expected.add(new int[] {list.a(i), list.b(i), weight});
+        }
+        expected.sort(Comparator.comparingInt(edge -> edge[2]));
+        assertSame(list, list.sortByWeight());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), new int[] {list.a(i), list.b(i), list.weight(i)});
+        }
+    }
+
+    @Test
+    public void testFilter() {
+        final EdgeList list = new EdgeList();
+        list.add(0, 1, 5);
+        list.add(1, 2, 7);
+        list.add(2, 2, 9);
+        final EdgeList filtered = list.filter((a, b, weight) -> a != b && weight > 5);
+        assertEquals(1, filtered.size());
+        assertEquals(1, filtered.a(0));
+        assertEquals(7, filtered.weight(0));
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    public void testConversions() {
+        final Random random = new Random(19);
+        final Set<Integer> nodes = nodes(50);
+        final Set<Edge<Integer>> edges = randomEdges(random, 50, 120, 100);
+        final NodeIndex<Integer> nodeIndex = NodeIndex.of(nodes);
+        final EdgeList list = EdgeList.of(edges, nodeIndex);
+        assertEquals(edges.size(), list.size());
+        assertEquals(50, nodeIndex.size());
+        assertEquals(edges, list.toEdges(nodeIndex));
+
+        final CsrGraph<Integer> graph = new CsrGraph<>(nodeIndex, list);
+        assertGraph(nodes, edges, graph);
+        final EdgeList fromGraph = EdgeList.of(graph);
+        assertEquals(edges.size(), fromGraph.size());
+        for (int i = 0; i < fromGraph.size(); i++) {
+            assertTrue(fromGraph.a(i) <= fromGraph.b(i));
+        }
+        assertGraph(nodes, fromGraph.toEdges(nodeIndex), graph);
+    }
+
+    @Test
+    public void testDuplicates() {
+        final NodeIndex<String> nodeIndex = NodeIndex.of(List.of("a", "b"));
+        final EdgeList list = new EdgeList();
+        list.add(0, 1, 1);
+        list.add(1, 0, 2);
+        assertEquals(1, list.toEdges(nodeIndex).iterator().next().weight());
+        final CsrGraph<String> graph = new CsrGraph<>(nodeIndex, list);
+        assertEquals(1, graph.edgeCount());
+        assertEquals(2, graph.getEdge("a", "b").weight());
+
+        final EdgeList invalid = new EdgeList();
+        invalid.add(0, 2, 1);
+        assertThrows(IndexOutOfBoundsException.class, () -> new CsrGraph<>(NodeIndex.of(List.of("a", "b")), invalid));
+    }
+}
@@ -0,0 +1,80 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Edge#of(Object, Object, int)} and {@link EdgeInterner}.
+ */
+public class EdgeTest {
+
+    @Test
+    public void testNodesKeepTheirOrder() {
+        final String x = "x";
+        final String y = "y";
+        final Edge<String> forward = Edge.of(x, y, 3);
+        final Edge<String> backward = Edge.of(y, x, 3);
+        assertSame(x, forward.a());
+        assertSame(y, forward.b());
+        assertSame(y, backward.a());
+        assertSame(x, backward.b());
+        assertEquals(3, forward.weight());
+    }
+
+    @Test
+    public void testEqualityIgnoresOrderAndWeight() {
+        final Edge<Integer> edge = Edge.of(1, 2, 5);
+        assertEquals(edge, Edge.of(2, 1, 7));
+        assertEquals(edge.hashCode(), Edge.of(2, 1, 7).hashCode());
+        assertNotEquals(edge, Edge.of(1, 3, 5));
+        assertNotEquals(edge, Edge.of(1, 1, 5));
+    }
+
+    @Test
+    public void testEqualHashCodes() {
+        // "Aa" and "BB" have the same hash code
+        final Edge<String> edge = Edge.of("Aa", "BB", 1);
+        assertSame("Aa", edge.a());
+        assertEquals(edge, Edge.of("BB", "Aa", 1));
+        assertNotEquals(edge, Edge.of("Aa", "Aa", 1));
+    }
+
+    @Test
+    public void testNullNodes() {
+        final Edge<String> edge = Edge.of(null, "a", 1);
+        assertNull(edge.a());
+        assertEquals(edge, Edge.of("a", null, 1));
+    }
+
+    @Test
+    public void testSetLookupInBothDirections() {
+        final Set<Edge<Integer>> edges = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            edges.add(Edge.of(i, i + 1, i));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(edges.contains(Edge.of(i + 1, i, 0)));
+        }
+        assertFalse(edges.contains(Edge.of(0, 2, 0)));
+    }
+
+    @Test
+    public void testInterner() {
+        final EdgeInterner<String> interner = new EdgeInterner<>();
+        final Edge<String> edge = interner.intern("a", "b", 1);
+        assertSame(edge, interner.intern("b", "a", 1));
+        assertSame(edge, interner.intern(Edge.of("a", "b", 1)));
+        assertEquals(1, interner.size());
+
+        final Edge<String> reweighted = interner.intern("b", "a", 2);
+        assertNotSame(edge, reweighted);
+        assertEquals(2, reweighted.weight());
+        assertSame("b", reweighted.a());
+        assertSame(reweighted, interner.intern("a", "b", 2));
+        assertEquals(1, interner.size());
+    }
+}
@@ -0,0 +1,94 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link FilteredGraph}, created by {@link Graph#subgraph(Predicate)} and {@link Graph#filterEdges(Predicate)}.
+ */
+public class FilteredGraphTest {
+
+    @Test
+    public void testRandomViews() {
+        final Random random = new Random(9);
+        for (int i = 0; i < 30; i++) {
+            final int nodeCount = 1 + random.nextInt(40);
+            final Set<Integer> nodes = nodes(nodeCount);
+            final Set<Edge<Integer>> edges = randomEdges(random, nodeCount, random.nextInt(nodeCount * 2), 100);
+            final Graph<Integer> graph = new CsrGraph<>(nodes, edges);
+            final int modulus = 2 + random.nextInt(3);
+            final int maxWeight = 1 + random.nextInt(100);
+            final Predicate<Integer> nodeFilter = node -> node % modulus != 0;
+            final Predicate<Edge<Integer>> edgeFilter = edge -> edge.weight() <= maxWeight;
+
+            assertView(nodes, edges, nodeFilter, node -> true, graph.subgraph(nodeFilter));
+            assertView(nodes, edges, node -> true, edgeFilter, graph.filterEdges(edgeFilter));
+            assertView(nodes, edges, nodeFilter, edgeFilter, graph.subgraph(nodeFilter).filterEdges(edgeFilter));
+            assertView(nodes, edges, nodeFilter, edgeFilter, graph.filterEdges(edgeFilter).subgraph(nodeFilter));
+
+            final Graph<Integer> persistent = new PersistentMutableGraph<>(nodes, edges);
+            assertView(nodes, edges, nodeFilter, node -> true, persistent.subgraph(nodeFilter));
+            assertView(nodes, edges, nodeFilter, edgeFilter, persistent.subgraph(nodeFilter).filterEdges(edgeFilter));
+        }
+    }
+
+    @Test
+    public void testIntGraphOfView() {
+        final MutableGraph<Integer> graph = new PersistentMutableGraph<>(nodes(100),
+            Set.of(Edge.of(1, 2, 3), Edge.of(2, 2, 4), Edge.of(2, 50, 5), Edge.of(60, 61, 6)));
+        final IntGraph<Integer> intGraph = graph.subgraph(node -> node < 10).toIntGraph();
+        assertEquals(10, intGraph.nodeCount());
+        assertEquals(2, intGraph.edgeCount());
+        final int two = intGraph.nodeIndex().indexOf(2);
+        assertEquals(2, intGraph.degree(two));
+        assertEquals(-1, intGraph.nodeIndex().indexOf(50));
+
+        // the copy does not reflect later changes, like the IntGraph of other mutable graphs
+        graph.putEdge(1, 3, 7);
+        assertEquals(2, intGraph.edgeCount());
+    }
+
+    @Test
+    public void testOtherNodeTypes() {
+        final Graph<Integer> graph = new CsrGraph<>(nodes(3), Set.of(Edge.of(1, 2, 1)));
+        final Graph<Integer> view = graph.subgraph(node -> node > 0);
+        assertFalse(view.getNodes().contains("a"));
+        assertFalse(view.getEdges().contains(Edge.of("a", "b", 1)));
+        assertFalse(view.getEdges().contains(Edge.of(1, "b", 1)));
+        assertTrue(view.getEdges().contains(Edge.of(2, 1, 1)));
+    }
+
+    @Test
+    public void testMissingNodes() {
+        final Graph<Integer> view = new CsrGraph<>(nodes(3), Set.of(Edge.of(0, 1, 1))).subgraph(node -> node > 0);
+        assertThrows(IllegalArgumentException.class, () -> view.getAdjacentEdges(0));
+        assertThrows(IllegalArgumentException.class, () -> view.getEdge(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> view.degree(5));
+        assertNull(view.getEdge(1, 0));
+        assertEquals(-1, view.toIntGraph().nodeIndex().indexOf(0));
+    }
+
+    private static void assertView(Set<Integer> nodes, Set<Edge<Integer>> edges, Predicate<Integer> nodeFilter,
+                                   Predicate<Edge<Integer>> edgeFilter, Graph<Integer> view) {
+        final Set<Integer> expectedNodes = new HashSet<>();
+        for (Integer node : nodes) {
+            if (nodeFilter.test(node)) {
+                expectedNodes.add(node);
+            }
+        }
+        final Set<Edge<Integer>> expectedEdges = new HashSet<>();
+        for (Edge<Integer> edge : edges) {
+            if (nodeFilter.test(edge.a()) && nodeFilter.test(edge.b()) && edgeFilter.test(edge)) {
+                expectedEdges.add(edge);
+            }
+        }
+        assertGraph(expectedNodes, expectedEdges, view);
+    }
+}
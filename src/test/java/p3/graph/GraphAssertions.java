@@ -0,0 +1,156 @@
+package p3.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates random graphs and compares graph representations with the semantics of {@link BasicMutableGraph}:
+ * a set of nodes, a set of edges that are equal regardless of their weight and direction, and the adjacent edges
+ * of every node.
+ */
+final class GraphAssertions {
+
+    private GraphAssertions() {
+    }
+
+    /**
+     * Returns the nodes {@code 0} to {@code count - 1}.
+     * @param count the number of nodes.
+     * @return the nodes.
+     */
+    static Set<Integer> nodes(int count) {
+        final Set<Integer> nodes = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            nodes.add(i);
+        }
+        return nodes;
+    }
+
+    /**
+     * Returns random edges between the nodes {@code 0} to {@code nodeCount - 1}, including some self-loops.
+     * @param random the source of randomness.
+     * @param nodeCount the number of nodes, at least 1.
+     * @param edgeCount the number of edges, at most the number of pairs of nodes.
+     * @param maxWeight the maximum weight, at least 1.
+     * @return the edges.
+     */
+    static Set<Edge<Integer>> randomEdges(Random random, int nodeCount, int edgeCount, int maxWeight) {
+        final Set<Edge<Integer>> edges = new LinkedHashSet<>();
+        while (edges.size() < edgeCount) {
+            edges.add(Edge.of(random.nextInt(nodeCount), random.nextInt(nodeCount), 1 + random.nextInt(maxWeight)));
+        }
+        return edges;
+    }
+
+    /**
+     * Asserts that the given graph has exactly the given nodes and edges, through every method of {@link Graph}
+     * and through {@link Graph#toIntGraph()}.
+     * @param nodes the expected nodes.
+     * @param edges the expected edges.
+     * @param graph the graph.
+     * @param <N> the type of the nodes.
+     */
+    static <N> void assertGraph(Set<N> nodes, Set<Edge<N>> edges, Graph<N> graph) {
+        final Map<Edge<N>, Integer> weights = new HashMap<>();
+        final Map<N, Map<N, Integer>> adjacency = new HashMap<>();
+        for (N node : nodes) {
+            adjacency.put(node, new HashMap<>());
+        }
+        for (Edge<N> edge : edges) {
+            weights.put(edge, edge.weight());
+            adjacency.get(edge.a()).put(edge.b(), edge.weight());
+            adjacency.get(edge.b()).put(edge.a(), edge.weight());
+        }
+
+        assertEquals(nodes.size(), graph.getNodes().size(), "number of nodes");
+        assertEquals(nodes, new HashSet<>(graph.getNodes()), "nodes");
+        for (N node : nodes) {
+            assertTrue(graph.getNodes().contains(node), () -> "getNodes().contains(" + node + ")");
+        }
+
+        assertEquals(edges.size(), graph.getEdges().size(), "number of edges");
+        int count = 0;
+        for (Edge<N> edge : graph.getEdges()) {
+            count++;
+            assertEquals(weights.get(edge), (Integer) edge.weight(), () -> "weight of " + edge);
+        }
+        assertEquals(edges.size(), count, "number of iterated edges");
+        for (Edge<N> edge : edges) {
+            assertTrue(graph.getEdges().contains(edge), () -> "getEdges().contains(" + edge + ")");
+            assertTrue(graph.getEdges().contains(Edge.of(edge.b(), edge.a(), 0)),
+                () -> "getEdges().contains(" + edge + ") reversed");
+        }
+
+        for (N node : nodes) {
+            final Map<N, Integer> expected = adjacency.get(node);
+            final Set<Edge<N>> adjacent = graph.getAdjacentEdges(node);
+            assertEquals(expected.size(), adjacent.size(), () -> "number of edges adjacent to " + node);
+            assertEquals(expected.size(), graph.degree(node), () -> "degree of " + node);
+            for (Edge<N> edge : adjacent) {
+                final N neighbor = node.equals(edge.a()) ? edge.b() : edge.a();
+                assertTrue(node.equals(edge.a()) || node.equals(edge.b()), () -> edge + " is not adjacent to " + node);
+                assertEquals(expected.get(neighbor), (Integer) edge.weight(), () -> "weight of " + edge);
+                assertTrue(adjacent.contains(edge), () -> "getAdjacentEdges(" + node + ").contains(" + edge + ")");
+            }
+
+            final Map<N, Integer> visited = new HashMap<>();
+            graph.forEachAdjacent(node, (neighbor, weight) ->
+                assertNull(visited.put(neighbor, weight), () -> "neighbor " + neighbor + " of " + node + " twice"));
+            assertEquals(expected, visited, () -> "neighbors of " + node);
+
+            for (Map.Entry<N, Integer> entry : expected.entrySet()) {
+                final Edge<N> edge = graph.getEdge(node, entry.getKey());
+                assertNotNull(edge, () -> "getEdge(" + node + ", " + entry.getKey() + ")");
+                assertEquals(entry.getValue(), (Integer) edge.weight(), () -> "weight of " + edge);
+            }
+        }
+
+        final List<N> list = new ArrayList<>(nodes);
+        final Random random = new Random(nodes.size());
+        for (int i = 0; i < Math.min(100, list.size() * list.size()); i++) {
+            final N a = list.get(random.nextInt(list.size()));
+            final N b = list.get(random.nextInt(list.size()));
+            if (!adjacency.get(a).containsKey(b)) {
+                assertNull(graph.getEdge(a, b), () -> "getEdge(" + a + ", " + b + ")");
+                assertFalse(graph.getEdges().contains(Edge.of(a, b, 0)), () -> "getEdges().contains(" + a + ", " + b + ")");
+            }
+        }
+
+        assertIntGraph(adjacency, graph.toIntGraph());
+    }
+
+    /**
+     * Asserts that the given int-indexed graph has the given adjacency.
+     * @param adjacency the neighbors of every node with the weights of the edges.
+     * @param graph the graph.
+     * @param <N> the type of the nodes.
+     */
+    private static <N> void assertIntGraph(Map<N, Map<N, Integer>> adjacency, IntGraph<N> graph) {
+        final NodeIndex<N> nodeIndex = graph.nodeIndex();
+        assertEquals(adjacency.size(), graph.nodeCount(), "nodeCount()");
+        int slots = 0;
+        int loops = 0;
+        for (Map.Entry<N, Map<N, Integer>> entry : adjacency.entrySet()) {
+            final int id = nodeIndex.indexOf(entry.getKey());
+            assertTrue(id >= 0, () -> "indexOf(" + entry.getKey() + ")");
+            assertEquals(entry.getKey(), nodeIndex.nodeAt(id), "nodeAt(indexOf(node))");
+            final Map<N, Integer> visited = new HashMap<>();
+            graph.forEachAdjacent(id, (neighbor, weight) -> visited.put(nodeIndex.nodeAt(neighbor), weight));
+            assertEquals(entry.getValue(), visited, () -> "int neighbors of " + entry.getKey());
+            assertEquals(entry.getValue().size(), graph.degree(id), () -> "int degree of " + entry.getKey());
+            slots += entry.getValue().size();
+            if (entry.getValue().containsKey(entry.getKey())) {
+                loops++;
+            }
+        }
+        assertEquals((slots + loops) / 2, graph.edgeCount(), "edgeCount()");
+    }
+}
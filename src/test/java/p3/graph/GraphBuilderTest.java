@@ -0,0 +1,62 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link GraphBuilder}.
+ */
+public class GraphBuilderTest {
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(20);
+        for (int i = 0; i < 30; i++) {
+            final int nodeCount = 1 + random.nextInt(80);
+            final Set<Integer> nodes = nodes(nodeCount);
+            final Set<Edge<Integer>> edges = randomEdges(random, nodeCount, random.nextInt(nodeCount * 2), 100);
+            final GraphBuilder<Integer> builder = Graph.builder(1, 1);
+            if (random.nextBoolean()) {
+                builder.addNodes(nodes).addEdges(edges);
+            } else {
+                for (Edge<Integer> edge : edges) {
+                    builder.addEdge(edge.a(), edge.b(), edge.weight());
+                }
+                for (Integer node : nodes) {
+                    builder.addNode(node);
+                }
+            }
+            assertGraph(nodes, edges, builder.build());
+        }
+    }
+
+    @Test
+    public void testLastEdgeWins() {
+        final CsrGraph<String> graph = new GraphBuilder<String>()
+            .addEdge("a", "b", 1)
+            .addEdge("b", "a", 2)
+            .addEdge("c", "c", 3)
+            .addEdges(List.of(Edge.of("c", "c", 4)))
+            .build();
+        assertGraph(Set.of("a", "b", "c"), Set.of(Edge.of("a", "b", 2), Edge.of("c", "c", 4)), graph);
+        assertEquals(2, graph.getEdge("a", "b").weight());
+        assertEquals(4, graph.getEdge("c", "c").weight());
+    }
+
+    @Test
+    public void testBuildOnce() {
+        final GraphBuilder<String> builder = new GraphBuilder<String>().addNode("a");
+        builder.build();
+        assertThrows(IllegalStateException.class, builder::build);
+        assertThrows(IllegalStateException.class, () -> builder.addNode("b"));
+        assertThrows(IllegalStateException.class, () -> builder.addEdge("a", "b", 1));
+        assertThrows(IllegalStateException.class, () -> builder.addNodes(List.of("b")));
+        assertThrows(IllegalStateException.class, () -> builder.addEdges(List.of()));
+    }
+}
@@ -0,0 +1,95 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link GraphFootprint}.
+ */
+public class GraphFootprintTest {
+
+    private static final Set<Integer> NODES = nodes(100);
+
+    private static final Set<Edge<Integer>> EDGES = randomEdges(new Random(15), 100, 300, 100);
+
+    @Test
+    public void testCsrGraph() {
+        final GraphFootprint.Report report = GraphFootprint.of(new CsrGraph<>(NODES, EDGES));
+        assertEquals("CsrGraph", report.representation());
+        assertEquals(100, report.nodeCount());
+        assertEquals(300, report.edgeCount());
+        assertEquals(0, report.viewBytes());
+        assertNull(report.delegate());
+        assertTrue(report.adjacencyBytes() > 2 * 2 * 300 * Integer.BYTES);
+        assertEquals(report.heapBytes(), report.totalBytes());
+        assertEquals((double) report.totalBytes() / 300, report.bytesPerEdge());
+    }
+
+    @Test
+    public void testCompressedGraph() {
+        final GraphFootprint.Report csr = GraphFootprint.of(new CsrGraph<>(NODES, EDGES));
+        final GraphFootprint.Report compressed = GraphFootprint.of(new CompressedGraph<>(NODES, EDGES));
+        assertEquals("CompressedGraph", compressed.representation());
+        assertTrue(compressed.adjacencyBytes() < csr.adjacencyBytes());
+    }
+
+    @Test
+    public void testPersistentMutableGraph() {
+        final PersistentMutableGraph<Integer> graph = new PersistentMutableGraph<>(NODES, EDGES);
+        final GraphFootprint.Report report = GraphFootprint.of(graph);
+        final GraphFootprint.Report snapshot = GraphFootprint.of(graph.toGraph());
+        assertEquals("PersistentMutableGraph", report.representation());
+        assertEquals("PersistentGraph", snapshot.representation());
+        assertEquals(snapshot.totalBytes(), report.totalBytes());
+        assertEquals(300 * GraphFootprint.EDGE, report.edgeBytes());
+    }
+
+    @Test
+    public void testFilteredGraph() {
+        final CsrGraph<Integer> graph = new CsrGraph<>(NODES, EDGES);
+        final Graph<Integer> view = graph.subgraph(node -> node < 50).filterEdges(edge -> edge.weight() > 10);
+        final GraphFootprint.Report report = GraphFootprint.of(view);
+        assertEquals("FilteredGraph", report.representation());
+        assertEquals(50, report.nodeCount());
+        assertEquals(view.getEdges().size(), report.edgeCount());
+        assertEquals(GraphFootprint.of(graph), report.delegate());
+        assertTrue(report.viewBytes() > 0);
+        assertEquals(report.viewBytes() + report.delegate().heapBytes(), report.heapBytes());
+    }
+
+    @Test
+    public void testObservableMutableGraph() {
+        final PersistentMutableGraph<Integer> graph = new PersistentMutableGraph<>();
+        final ObservableMutableGraph<Integer> observable = new ObservableMutableGraph<>(graph, 1000);
+        final long empty = GraphFootprint.of(observable).viewBytes();
+        for (Edge<Integer> edge : EDGES) {
+            observable.putEdgesAndNodes(edge.a(), edge.b(), edge.weight());
+        }
+        final GraphFootprint.Report report = GraphFootprint.of(observable);
+        assertEquals("ObservableMutableGraph", report.representation());
+        assertEquals(graph.getNodes().size(), report.nodeCount());
+        assertEquals(300, report.edgeCount());
+        assertEquals(GraphFootprint.of(graph), report.delegate());
+        assertTrue(report.viewBytes() > empty, "pending changes are counted");
+        observable.close();
+    }
+
+    @Test
+    public void testOffHeapBytesOfDelegate() throws IOException {
+        final Path path = Files.createTempFile("footprint", ".bin");
+        GraphStore.write(path, new CsrGraph<>(NODES, EDGES), String::valueOf);
+        final MappedCsrGraph<Integer> mapped = GraphStore.map(path, Integer::valueOf);
+        final GraphFootprint.Report report = GraphFootprint.of(mapped.subgraph(node -> true));
+        assertEquals(0, report.offHeapBytes());
+        assertTrue(report.delegate().offHeapBytes() > 0);
+        assertEquals(report.heapBytes() + report.delegate().offHeapBytes(), report.totalBytes());
+    }
+}
@@ -0,0 +1,65 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link GraphStore}.
+ */
+public class GraphStoreTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final Path directory = Files.createTempDirectory("graph-store");
+        final Path path = directory.resolve("graph.bin");
+        final Random random = new Random(7);
+        for (int i = 0; i < 20; i++) {
+            final int nodeCount = 1 + random.nextInt(40);
+            final Set<Integer> nodes = nodes(nodeCount);
+            final Set<Edge<Integer>> edges = randomEdges(random, nodeCount, random.nextInt(nodeCount * 2), 100);
+            GraphStore.write(path, new CsrGraph<>(nodes, edges), String::valueOf);
+            assertGraph(nodes, edges, GraphStore.map(path, Integer::valueOf));
+        }
+        assertDirectoryContains(directory, path);
+    }
+
+    @Test
+    public void testNotAGraphFile() throws IOException {
+        final Path path = Files.createTempFile("graph-store", ".bin");
+        Files.write(path, new byte[32]);
+        assertThrows(IOException.class, () -> GraphStore.map(path, Integer::valueOf));
+    }
+
+    @Test
+    public void testFailedWriteKeepsExistingFile() throws IOException {
+        final Path directory = Files.createTempDirectory("graph-store");
+        final Path path = directory.resolve("graph.bin");
+        final Set<Edge<String>> edges = Set.of(Edge.of("a", "b", 1));
+        GraphStore.write(path, new CsrGraph<>(Set.of("a", "b"), edges), s -> s);
+        final byte[] content = Files.readAllBytes(path);
+
+        final CsrGraph<String> other = new CsrGraph<>(Set.of("a", "c"), Set.of(Edge.of("a", "c", 2)));
+        assertThrows(IllegalStateException.class, () -> GraphStore.write(path, other, s -> {
+            throw new IllegalStateException(s);
+        }));
+        assertArrayEquals(content, Files.readAllBytes(path));
+        assertGraph(Set.of("a", "b"), edges, GraphStore.map(path, s -> s));
+        assertDirectoryContains(directory, path);
+    }
+
+    private static void assertDirectoryContains(Path directory, Path file) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(Set.of(file), files.collect(Collectors.toSet()));
+        }
+    }
+}
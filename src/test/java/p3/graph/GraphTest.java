@@ -0,0 +1,86 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for the default methods of {@link Graph}, on a graph that only implements the abstract methods.
+ */
+public class GraphTest {
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(17);
+        for (int i = 0; i < 30; i++) {
+            final int nodeCount = 1 + random.nextInt(40);
+            final Set<Integer> nodes = nodes(nodeCount);
+            final Set<Edge<Integer>> edges = randomEdges(random, nodeCount, random.nextInt(nodeCount * 2), 100);
+            assertGraph(nodes, edges, new SetGraph<>(nodes, edges));
+        }
+    }
+
+    @Test
+    public void testMissingNodes() {
+        final Graph<String> graph = new SetGraph<>(Set.of("a", "b"), Set.of(Edge.of("a", "b", 3)));
+        assertThrows(IllegalArgumentException.class, () -> graph.degree("c"));
+        assertThrows(IllegalArgumentException.class, () -> graph.getEdge("c", "a"));
+        assertThrows(IllegalArgumentException.class, () -> graph.forEachAdjacent("c", (neighbor, weight) -> { }));
+        assertNull(graph.getEdge("a", "c"));
+        assertEquals(3, graph.getEdge("b", "a").weight());
+    }
+
+    /**
+     * A graph that stores its nodes and edges in sets and finds adjacent edges by scanning all edges.
+     */
+    private static final class SetGraph<N> implements Graph<N> {
+
+        private final Set<N> nodes;
+
+        private final Set<Edge<N>> edges;
+
+        SetGraph(Set<N> nodes, Set<Edge<N>> edges) {
+            this.nodes = Set.copyOf(nodes);
+            this.edges = Set.copyOf(edges);
+        }
+
+        @Override
+        public Set<N> getNodes() {
+            return nodes;
+        }
+
+        @Override
+        public Set<Edge<N>> getEdges() {
+            return edges;
+        }
+
+        @Override
+        public Set<Edge<N>> getAdjacentEdges(N node) {
+            if (!nodes.contains(node)) {
+                throw new IllegalArgumentException("Node not found: " + node);
+            }
+            final Set<Edge<N>> adjacent = new HashSet<>();
+            for (Edge<N> edge : edges) {
+                if (edge.a().equals(node) || edge.b().equals(node)) {
+                    adjacent.add(edge);
+                }
+            }
+            return adjacent;
+        }
+
+        @Override
+        public MutableGraph<N> toMutableGraph() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Graph<N> toGraph() {
+            return this;
+        }
+    }
+}
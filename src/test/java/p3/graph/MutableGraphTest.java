@@ -0,0 +1,124 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests the removal and update methods of the implementations of {@link MutableGraph} by applying random
+ * operations to a graph and to a simple model of nodes and edges.
+ */
+public class MutableGraphTest {
+
+    private static final int NODES = 20;
+
+    @Test
+    public void testIndexedMutableGraph() {
+        testRandomOperations(IndexedMutableGraph::new);
+    }
+
+    @Test
+    public void testPersistentMutableGraph() {
+        testRandomOperations(PersistentMutableGraph::new);
+    }
+
+    @Test
+    public void testConcurrentMutableGraph() {
+        testRandomOperations(ConcurrentMutableGraph::new);
+    }
+
+    @Test
+    public void testUpdateWeight() {
+        final MutableGraph<String> graph = new PersistentMutableGraph<>();
+        graph.putEdgesAndNodes("a", "b", 1).putNode("c");
+        graph.updateWeight("b", "a", 5);
+        assertEquals(5, graph.getEdge("a", "b").weight());
+        assertThrows(IllegalArgumentException.class, () -> graph.updateWeight("a", "c", 1));
+        assertThrows(IllegalArgumentException.class, () -> graph.updateWeight("a", "x", 1));
+        assertNull(graph.getEdge("a", "c"));
+    }
+
+    @Test
+    public void testZeroWeightOfIndexedGraph() {
+        final MutableGraph<String> graph = new IndexedMutableGraph<>();
+        graph.putEdgesAndNodes("a", "b", 1);
+        assertThrows(IllegalArgumentException.class, () -> graph.putEdge("a", "b", 0));
+        assertThrows(IllegalArgumentException.class, () -> graph.updateWeight("b", "a", 0));
+        assertThrows(IllegalArgumentException.class, () -> graph.putEdgesAndNodes("c", "d", 0));
+        assertEquals(1, graph.getEdge("a", "b").weight());
+        assertEquals(Set.of("a", "b"), graph.getNodes());
+        graph.removeEdge("a", "b");
+        assertNull(graph.getEdge("a", "b"));
+        assertThrows(IllegalArgumentException.class,
+            () -> new IndexedMutableGraph<>(Set.of("a", "b"), Set.of(Edge.of("a", "b", 0))));
+    }
+
+    private static void testRandomOperations(Supplier<MutableGraph<Integer>> factory) {
+        final Random random = new Random(5);
+        for (int round = 0; round < 20; round++) {
+            final MutableGraph<Integer> graph = factory.get();
+            final Set<Integer> nodes = new HashSet<>();
+            // equal edges ignore the weight, so the values are the edges with their current weight
+            final Map<Edge<Integer>, Edge<Integer>> edges = new HashMap<>();
+            for (int step = 0; step < 300; step++) {
+                final int a = random.nextInt(NODES);
+                final int b = random.nextInt(NODES);
+                final int weight = 1 + random.nextInt(10);
+                final Edge<Integer> edge = Edge.of(a, b, weight);
+                final boolean known = nodes.contains(a) && nodes.contains(b);
+                switch (random.nextInt(6)) {
+                    case 0 -> {
+                        graph.putNode(a);
+                        nodes.add(a);
+                    }
+                    case 1 -> {
+                        if (known) {
+                            graph.putEdge(a, b, weight);
+                            edges.put(edge, edge);
+                        } else {
+                            assertThrows(IllegalArgumentException.class, () -> graph.putEdge(a, b, weight));
+                        }
+                    }
+                    case 2 -> {
+                        graph.putEdgesAndNodes(a, b, weight);
+                        nodes.add(a);
+                        nodes.add(b);
+                        edges.put(edge, edge);
+                    }
+                    case 3 -> {
+                        if (known) {
+                            graph.removeEdge(a, b);
+                            edges.remove(edge);
+                        } else {
+                            assertThrows(IllegalArgumentException.class, () -> graph.removeEdge(a, b));
+                        }
+                    }
+                    case 4 -> {
+                        graph.removeNode(a);
+                        nodes.remove(a);
+                        edges.keySet().removeIf(e -> e.a() == a || e.b() == a);
+                    }
+                    default -> {
+                        if (edges.containsKey(edge)) {
+                            graph.updateWeight(a, b, weight);
+                            edges.put(edge, edge);
+                        } else {
+                            assertThrows(IllegalArgumentException.class, () -> graph.updateWeight(a, b, weight));
+                        }
+                    }
+                }
+                if (step % 50 == 49) {
+                    assertGraph(nodes, new HashSet<>(edges.values()), graph);
+                }
+            }
+        }
+    }
+}
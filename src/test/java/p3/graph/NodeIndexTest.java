@@ -0,0 +1,77 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link NodeIndex}.
+ */
+public class NodeIndexTest {
+
+    @Test
+    public void testInternAssignsDenseIds() {
+        final NodeIndex<String> index = new NodeIndex<>(1);
+        assertEquals(0, index.intern("a"));
+        assertEquals(1, index.intern("b"));
+        assertEquals(0, index.intern("a"));
+        assertEquals(2, index.intern(null));
+        assertEquals(2, index.indexOf(null));
+        assertEquals(3, index.size());
+        assertEquals("b", index.nodeAt(1));
+        assertNull(index.nodeAt(2));
+        assertEquals(-1, index.indexOf("c"));
+        assertEquals(-1, index.indexOf(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.nodeAt(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.nodeAt(-1));
+    }
+
+    @Test
+    public void testRandomNodes() {
+        final Random random = new Random(12);
+        final NodeIndex<Integer> index = new NodeIndex<>();
+        final List<Integer> order = new ArrayList<>();
+        final Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            // multiples of 1024 collide in the low bits, which the hash has to spread
+            final int node = random.nextInt(2000) * 1024;
+            final int id = index.intern(node);
+            if (seen.add(node)) {
+                assertEquals(order.size(), id);
+                order.add(node);
+            } else {
+                assertEquals(order.indexOf(node), id);
+            }
+        }
+        assertEquals(order.size(), index.size());
+        for (int id = 0; id < order.size(); id++) {
+            assertEquals(id, index.indexOf(order.get(id)));
+            assertEquals(order.get(id), index.nodeAt(id));
+        }
+        assertEquals(order, new ArrayList<>(index.asSet()));
+        assertEquals(seen, index.asSet());
+        assertFalse(index.asSet().contains(1));
+    }
+
+    @Test
+    public void testOf() {
+        final NodeIndex<String> index = NodeIndex.of(List.of("x", "y", "x", "z"));
+        assertEquals(List.of("x", "y", "z"), new ArrayList<>(index.asSet()));
+        assertEquals(0, NodeIndex.of(List.of()).size());
+    }
+
+    @Test
+    public void testFrozen() {
+        final NodeIndex<String> index = new CsrGraph<>(Set.of("a", "b"), Set.<Edge<String>>of()).nodeIndex();
+        assertEquals(index.indexOf("b"), index.intern("b"));
+        assertThrows(UnsupportedOperationException.class, () -> index.intern("c"));
+        assertEquals(2, index.size());
+        assertThrows(UnsupportedOperationException.class, () -> index.asSet().add("c"));
+    }
+}
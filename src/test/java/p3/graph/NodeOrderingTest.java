@@ -0,0 +1,93 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+import p3.SetUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link NodeOrdering}.
+ */
+public class NodeOrderingTest {
+
+    @Test
+    public void testOrdersArePermutations() {
+        final Random random = new Random(25);
+        for (int i = 0; i < 20; i++) {
+            final int nodeCount = 1 + random.nextInt(100);
+            final Set<Integer> nodes = nodes(nodeCount);
+            final Set<Edge<Integer>> edges = randomEdges(random, nodeCount, random.nextInt(nodeCount * 2), 100);
+            final CsrGraph<Integer> graph = new CsrGraph<>(nodes, edges);
+            for (NodeOrdering ordering : NodeOrdering.values()) {
+                final int[] order = ordering.order(graph);
+                final boolean[] seen = new boolean[nodeCount];
+                for (int id : order) {
+                    assertFalse(seen[id], ordering.name());
+                    seen[id] = true;
+                }
+                assertEquals(nodeCount, order.length, ordering.name());
+
+                final CsrGraph<Integer> reordered = ordering.reorder(graph);
+                assertGraph(nodes, edges, reordered);
+                for (int id = 0; id < nodeCount; id++) {
+                    assertEquals(graph.nodeAt(order[id]), reordered.nodeAt(id), ordering.name());
+                }
+                final Set<Integer> orderedNodes = ordering.orderedNodes(graph);
+                assertEquals(new ArrayList<>(orderedNodes), new ArrayList<>(reordered.getNodes()));
+                final CsrGraph<Integer> copy = new CsrGraph<>(orderedNodes, edges);
+                for (int id = 0; id < nodeCount; id++) {
+                    assertEquals(reordered.nodeAt(id), copy.nodeAt(id), ordering.name());
+                }
+                assertEquals(new ArrayList<>(orderedNodes), new ArrayList<>(SetUtils.immutableCopyOf(orderedNodes)));
+            }
+        }
+    }
+
+    @Test
+    public void testPathGetsSmallBandwidth() {
+        final List<Integer> path = new ArrayList<>(nodes(200));
+        Collections.shuffle(path, new Random(26));
+        // the ids follow the node values, not the order along the path
+        final GraphBuilder<Integer> builder = new GraphBuilder<Integer>().addNodes(nodes(200));
+        for (int i = 1; i < path.size(); i++) {
+            builder.addEdge(path.get(i - 1), path.get(i), 1);
+        }
+        final CsrGraph<Integer> graph = builder.build();
+        assertTrue(bandwidth(graph) > 2);
+        assertTrue(bandwidth(NodeOrdering.BFS.reorder(graph)) <= 2);
+        assertEquals(1, bandwidth(NodeOrdering.REVERSE_CUTHILL_MCKEE.reorder(graph)));
+    }
+
+    @Test
+    public void testDegreeOrder() {
+        final Random random = new Random(27);
+        final CsrGraph<Integer> graph = new CsrGraph<>(nodes(60), randomEdges(random, 60, 150, 10));
+        final CsrGraph<Integer> reordered = new GraphBuilder<Integer>()
+            .addNodes(graph.getNodes())
+            .addEdges(graph.getEdges())
+            .build(NodeOrdering.DEGREE);
+        for (int id = 1; id < reordered.nodeCount(); id++) {
+            assertTrue(reordered.degree(id - 1) >= reordered.degree(id));
+        }
+    }
+
+    /**
+     * Returns the largest difference between the ids of two neighbors.
+     */
+    private static int bandwidth(IntGraph<?> graph) {
+        final int[] bandwidth = new int[1];
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            final int from = node;
+            graph.forEachAdjacent(node, (neighbor, weight) ->
+                bandwidth[0] = Math.max(bandwidth[0], Math.abs(neighbor - from)));
+        }
+        return bandwidth[0];
+    }
+}
@@ -0,0 +1,166 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link ObservableMutableGraph}.
+ */
+public class ObservableMutableGraphTest {
+
+    /**
+     * A subscriber that records all batches it receives.
+     */
+    private static final class Recorder<N> implements Flow.Subscriber<List<GraphChange<N>>> {
+
+        private final List<List<GraphChange<N>>> batches = new ArrayList<>();
+
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<GraphChange<N>> batch) {
+            batches.add(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable.toString());
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        List<GraphChange<N>> changes() {
+            final List<GraphChange<N>> changes = new ArrayList<>();
+            batches.forEach(changes::addAll);
+            return changes;
+        }
+    }
+
+    private static <N> ObservableMutableGraph<N> observe(MutableGraph<N> delegate, int batchSize, Recorder<N> recorder) {
+        // deliver on the calling thread, so that the recorder has all batches when a method returns
+        final ObservableMutableGraph<N> graph = new ObservableMutableGraph<>(delegate, batchSize, Runnable::run, 16);
+        graph.subscribe(recorder);
+        return graph;
+    }
+
+    @Test
+    public void testChanges() {
+        final Recorder<String> recorder = new Recorder<>();
+        final ObservableMutableGraph<String> graph = observe(new PersistentMutableGraph<>(), 100, recorder);
+        graph.putNode("a").putNode("a").putEdgesAndNodes("a", "b", 1);
+        graph.putEdge("b", "a", 1).putEdge("a", "b", 2);
+        graph.putEdgesAndNodes("b", "c", 3);
+        graph.removeEdge("a", "c").removeEdge("a", "b");
+        graph.removeNode("b").removeNode("x");
+        graph.close();
+
+        assertTrue(recorder.completed);
+        assertEquals(List.of(
+            GraphChange.ofNode(GraphChange.Type.NODE_ADDED, "a"),
+            GraphChange.ofNode(GraphChange.Type.NODE_ADDED, "b"),
+            GraphChange.ofEdge(GraphChange.Type.EDGE_ADDED, "a", "b", 1),
+            GraphChange.ofEdge(GraphChange.Type.EDGE_REWEIGHTED, "a", "b", 2),
+            GraphChange.ofNode(GraphChange.Type.NODE_ADDED, "c"),
+            GraphChange.ofEdge(GraphChange.Type.EDGE_ADDED, "b", "c", 3),
+            GraphChange.ofEdge(GraphChange.Type.EDGE_REMOVED, "a", "b", 2),
+            GraphChange.ofEdge(GraphChange.Type.EDGE_REMOVED, "b", "c", 3),
+            GraphChange.ofNode(GraphChange.Type.NODE_REMOVED, "b")
+        ), recorder.changes());
+    }
+
+    @Test
+    public void testZeroWeightOfIndexedGraph() {
+        final Recorder<String> recorder = new Recorder<>();
+        final ObservableMutableGraph<String> graph = observe(new IndexedMutableGraph<>(), 100, recorder);
+        graph.putEdgesAndNodes("a", "b", 4);
+        assertThrows(IllegalArgumentException.class, () -> graph.putEdge("a", "b", 0));
+        assertThrows(IllegalArgumentException.class, () -> graph.updateWeight("a", "b", 0));
+        graph.flush();
+
+        assertEquals(4, graph.getEdge("a", "b").weight());
+        assertEquals(List.of(
+            GraphChange.ofNode(GraphChange.Type.NODE_ADDED, "a"),
+            GraphChange.ofNode(GraphChange.Type.NODE_ADDED, "b"),
+            GraphChange.ofEdge(GraphChange.Type.EDGE_ADDED, "a", "b", 4)
+        ), recorder.changes());
+    }
+
+    @Test
+    public void testBatches() {
+        final Recorder<Integer> recorder = new Recorder<>();
+        final ObservableMutableGraph<Integer> graph = observe(new PersistentMutableGraph<>(), 3, recorder);
+        for (int i = 0; i < 7; i++) {
+            graph.putNode(i);
+        }
+        assertEquals(2, recorder.batches.size());
+        graph.flush();
+        graph.flush();
+        assertEquals(3, recorder.batches.size());
+        assertEquals(1, recorder.batches.get(2).size());
+
+        graph.close();
+        graph.putNode(10);
+        assertTrue(graph.getNodes().contains(10));
+        assertEquals(7, recorder.changes().size());
+        assertThrows(IllegalArgumentException.class,
+            () -> new ObservableMutableGraph<>(new PersistentMutableGraph<>(), 0));
+    }
+
+    /**
+     * Replays the published changes on a model and compares it with the graph.
+     */
+    @Test
+    public void testReplay() {
+        final Random random = new Random(6);
+        final Recorder<Integer> recorder = new Recorder<>();
+        final ObservableMutableGraph<Integer> graph = observe(new IndexedMutableGraph<>(), 7, recorder);
+        for (int i = 0; i < 500; i++) {
+            final int a = random.nextInt(15);
+            final int b = random.nextInt(15);
+            switch (random.nextInt(4)) {
+                case 0 -> graph.putEdgesAndNodes(a, b, 1 + random.nextInt(3));
+                case 1 -> graph.removeNode(a);
+                case 2 -> {
+                    if (graph.getNodes().contains(a) && graph.getNodes().contains(b)) {
+                        graph.removeEdge(a, b);
+                    }
+                }
+                default -> graph.putNode(a);
+            }
+        }
+        graph.close();
+
+        final Set<Integer> nodes = new HashSet<>();
+        final Map<Edge<Integer>, Edge<Integer>> edges = new HashMap<>();
+        for (GraphChange<Integer> change : recorder.changes()) {
+            final Edge<Integer> edge = Edge.of(change.a(), change.b(), change.weight());
+            switch (change.type()) {
+                case NODE_ADDED -> assertTrue(nodes.add(change.a()), change.toString());
+                case NODE_REMOVED -> assertTrue(nodes.remove(change.a()), change.toString());
+                case EDGE_ADDED -> assertNull(edges.put(edge, edge), change.toString());
+                case EDGE_REWEIGHTED -> assertNotNull(edges.put(edge, edge), change.toString());
+                case EDGE_REMOVED -> assertNotNull(edges.remove(edge), change.toString());
+            }
+        }
+        assertGraph(nodes, new HashSet<>(edges.values()), graph);
+    }
+}
@@ -0,0 +1,108 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link PersistentMap}.
+ */
+public class PersistentMapTest {
+
+    @Test
+    public void testRandomOperations() {
+        testRandomOperations(new Random(21), 5000);
+    }
+
+    @Test
+    public void testCollisions() {
+        // only a few hash codes, so that keys share full hash codes and deep trie paths
+        testRandomOperations(new Random(22), 4);
+    }
+
+    @Test
+    public void testNullKeysAndValues() {
+        final PersistentMap<String, String> map = PersistentMap.<String, String>empty().put(null, "a").put("b", null);
+        assertEquals(2, map.size());
+        assertEquals("a", map.get(null));
+        assertTrue(map.containsKey("b"));
+        assertNull(map.get("b"));
+        assertFalse(map.containsKey("c"));
+        assertEquals(1, map.remove(null).size());
+        assertFalse(map.remove(null).containsKey(null));
+    }
+
+    @Test
+    public void testUnchangedMapsAreShared() {
+        final PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().put("a", 1);
+        final Integer one = 1;
+        assertSame(map, map.put("a", one));
+        assertSame(map, map.remove("b"));
+        assertSame(PersistentMap.empty(), map.remove("a"));
+    }
+
+    /**
+     * Applies random puts and removes, keeps every version of the map and checks afterwards that none of the old
+     * versions changed.
+     */
+    private static void testRandomOperations(Random random, int hashCodes) {
+        final List<PersistentMap<Key, Integer>> versions = new ArrayList<>();
+        final List<Map<Key, Integer>> models = new ArrayList<>();
+        PersistentMap<Key, Integer> map = PersistentMap.empty();
+        final Map<Key, Integer> model = new HashMap<>();
+        for (int step = 0; step < 3000; step++) {
+            final Key key = new Key(random.nextInt(300), hashCodes);
+            if (random.nextInt(3) == 0) {
+                map = map.remove(key);
+                model.remove(key);
+            } else {
+                final int value = random.nextInt(10);
+                map = map.put(key, value);
+                model.put(key, value);
+            }
+            if (step % 100 == 0) {
+                versions.add(map);
+                models.add(new HashMap<>(model));
+            }
+        }
+        versions.add(map);
+        models.add(model);
+        for (int i = 0; i < versions.size(); i++) {
+            assertMap(models.get(i), versions.get(i), hashCodes);
+        }
+    }
+
+    private static void assertMap(Map<Key, Integer> expected, PersistentMap<Key, Integer> map, int hashCodes) {
+        assertEquals(expected.size(), map.size());
+        for (int id = 0; id < 300; id++) {
+            final Key key = new Key(id, hashCodes);
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.get(key), map.get(key));
+        }
+        final Map<Key, Integer> iterated = new HashMap<>();
+        for (Map.Entry<Key, Integer> entry : map) {
+            assertNull(iterated.put(entry.getKey(), entry.getValue()));
+        }
+        assertEquals(expected, iterated);
+        final Map<Key, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    /**
+     * A key with a configurable number of distinct hash codes.
+     */
+    private record Key(int id, int hashCodes) {
+
+        @Override
+        public int hashCode() {
+            return id % hashCodes;
+        }
+    }
+}
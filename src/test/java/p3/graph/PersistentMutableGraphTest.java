@@ -0,0 +1,68 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for the snapshots of {@link PersistentMutableGraph}. The mutation methods are tested by
+ * {@link MutableGraphTest}.
+ */
+public class PersistentMutableGraphTest {
+
+    @Test
+    public void testConstructor() {
+        final Random random = new Random(23);
+        final Set<Integer> nodes = nodes(40);
+        final Set<Edge<Integer>> edges = randomEdges(random, 40, 80, 100);
+        assertGraph(nodes, edges, new PersistentMutableGraph<>(nodes, edges));
+        assertThrows(IllegalArgumentException.class,
+            () -> new PersistentMutableGraph<>(Set.of(1), Set.of(Edge.of(1, 2, 1))));
+    }
+
+    @Test
+    public void testSnapshotsDoNotChange() {
+        final Random random = new Random(24);
+        final MutableGraph<Integer> graph = new PersistentMutableGraph<>();
+        final List<Graph<Integer>> snapshots = new ArrayList<>();
+        final List<Set<Integer>> nodes = new ArrayList<>();
+        final List<Set<Edge<Integer>>> edges = new ArrayList<>();
+        for (int step = 0; step < 500; step++) {
+            final int a = random.nextInt(30);
+            final int b = random.nextInt(30);
+            if (random.nextInt(5) == 0) {
+                graph.removeNode(a);
+            } else {
+                graph.putEdgesAndNodes(a, b, 1 + random.nextInt(10));
+            }
+            if (step % 50 == 0) {
+                final Graph<Integer> snapshot = graph.toGraph();
+                snapshots.add(snapshot);
+                nodes.add(new HashSet<>(snapshot.getNodes()));
+                edges.add(new HashSet<>(snapshot.getEdges()));
+                assertSame(snapshot, snapshot.toGraph());
+            }
+        }
+        for (int i = 0; i < snapshots.size(); i++) {
+            assertGraph(nodes.get(i), edges.get(i), snapshots.get(i));
+        }
+    }
+
+    @Test
+    public void testCopiesAreIndependent() {
+        final MutableGraph<String> graph = new PersistentMutableGraph<>();
+        graph.putEdgesAndNodes("a", "b", 1);
+        final MutableGraph<String> copy = graph.toMutableGraph();
+        copy.putEdgesAndNodes("b", "c", 2);
+        graph.removeNode("a");
+        assertGraph(Set.of("b"), Set.of(), graph);
+        assertGraph(Set.of("a", "b", "c"), Set.of(Edge.of("a", "b", 1), Edge.of("b", "c", 2)), copy);
+    }
+}
@@ -0,0 +1,86 @@
+package p3.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static p3.graph.GraphAssertions.*;
+
+/**
+ * Tests for {@link LongCsrGraph} and {@link DoubleCsrGraph}.
+ */
+public class WeightedCsrGraphTest {
+
+    /**
+     * Copies random graphs and compares the rows with the rows of the original.
+     */
+    @Test
+    public void testCopyIntGraph() {
+        final Random random = new Random(13);
+        for (int i = 0; i < 30; i++) {
+            final int nodeCount = 1 + random.nextInt(40);
+            final Set<Edge<Integer>> edges = randomEdges(random, nodeCount, random.nextInt(nodeCount * 2), 100);
+            final CsrGraph<Integer> graph = new CsrGraph<>(nodes(nodeCount), edges);
+            final LongCsrGraph<Integer> longGraph = LongCsrGraph.of(graph);
+            final DoubleCsrGraph<Integer> doubleGraph = DoubleCsrGraph.of(graph);
+            assertSame(graph.nodeIndex(), longGraph.nodeIndex());
+            assertEquals(graph.edgeCount(), longGraph.edgeCount());
+            assertEquals(graph.edgeCount(), doubleGraph.edgeCount());
+            for (int node = 0; node < nodeCount; node++) {
+                final List<Long> expected = new ArrayList<>();
+                graph.forEachAdjacent(node, (neighbor, weight) -> expected.add(((long) neighbor << 32) | weight));
+                final List<Long> longRow = new ArrayList<>();
+                longGraph.forEachAdjacent(node, (neighbor, weight) -> longRow.add(((long) neighbor << 32) | weight));
+                final List<Long> doubleRow = new ArrayList<>();
+                doubleGraph.forEachAdjacent(node, (neighbor, weight) ->
+                    doubleRow.add(((long) neighbor << 32) | (long) weight));
+                assertEquals(expected, longRow);
+                assertEquals(expected, doubleRow);
+                assertEquals(graph.degree(node), longGraph.degree(node));
+            }
+            for (Edge<Integer> edge : edges) {
+                assertEquals(edge.weight(), longGraph.getEdge(edge.b(), edge.a()).weight());
+                assertEquals(edge.weight(), doubleGraph.getEdge(edge.a(), edge.b()).weight());
+            }
+        }
+    }
+
+    @Test
+    public void testOfEdges() {
+        final List<LongEdge<String>> edges = List.of(
+            new LongEdge<>("a", "b", 1L << 40), new LongEdge<>("b", "c", 2), new LongEdge<>("c", "b", 3));
+        final LongCsrGraph<String> graph = LongCsrGraph.of(Set.of("a", "b", "c", "d"), edges);
+        assertEquals(2, graph.edgeCount());
+        assertEquals(1L << 40, graph.getEdge("b", "a").weight());
+        assertEquals(3, graph.getEdge("b", "c").weight());
+        assertNull(graph.getEdge("a", "d"));
+        assertNull(graph.getEdge("a", "x"));
+        assertThrows(IllegalArgumentException.class, () -> graph.getEdge("x", "a"));
+        assertThrows(IllegalArgumentException.class,
+            () -> LongCsrGraph.of(Set.of("a"), List.of(new LongEdge<>("a", "b", 1))));
+
+        final Map<Integer, Double> weights = new HashMap<>();
+        final DoubleCsrGraph<String> doubles = DoubleCsrGraph.of(Set.of("a", "b"),
+            List.of(new DoubleEdge<>("a", "b", 0.5), new DoubleEdge<>("b", "b", 0)));
+        doubles.forEachAdjacent(doubles.nodeIndex().indexOf("b"), weights::put);
+        assertEquals(Map.of(doubles.nodeIndex().indexOf("a"), 0.5, doubles.nodeIndex().indexOf("b"), 0.0), weights);
+    }
+
+    @Test
+    public void testDoubleRejectsInvalidWeights() {
+        assertThrows(IllegalArgumentException.class,
+            () -> DoubleCsrGraph.of(Set.of("a", "b"), List.of(new DoubleEdge<>("a", "b", -0.5))));
+        assertThrows(IllegalArgumentException.class,
+            () -> DoubleCsrGraph.of(Set.of("a", "b"), List.of(new DoubleEdge<>("a", "b", Double.NaN))));
+        assertThrows(IllegalArgumentException.class,
+            () -> DoubleCsrGraph.of(new CsrGraph<>(Set.of("a", "b"), Set.of(Edge.of("a", "b", -1)))));
+        assertEquals(Double.POSITIVE_INFINITY, DoubleCsrGraph.of(Set.of("a", "b"),
+            List.of(new DoubleEdge<>("a", "b", Double.POSITIVE_INFINITY))).getEdge("a", "b").weight());
+    }
+}
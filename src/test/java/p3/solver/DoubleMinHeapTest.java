@@ -0,0 +1,78 @@
+package p3.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DoubleMinHeap}.
+ */
+public class DoubleMinHeapTest {
+
+    private static final int CAPACITY = 200;
+
+    /**
+     * Inserts, decreases and extracts random keys and compares the extracted keys with a linear scan.
+     */
+    @Test
+    public void testRandomKeys() {
+        final Random random = new Random(12);
+        final DoubleMinHeap heap = new DoubleMinHeap(CAPACITY, 4);
+        final double[] keys = new double[CAPACITY];
+        for (int round = 0; round < 50; round++) {
+            heap.clear();
+            Arrays.fill(keys, Double.NaN);
+            for (int step = 0; step < 400; step++) {
+                if (random.nextInt(3) > 0) {
+                    final int id = random.nextInt(CAPACITY);
+                    final double key = random.nextDouble() * 100;
+                    heap.insertOrDecrease(id, key);
+                    if (Double.isNaN(keys[id]) || key < keys[id]) {
+                        keys[id] = key;
+                    }
+                } else {
+                    final int expected = minId(keys);
+                    final int id = heap.extractMin();
+                    if (expected < 0) {
+                        assertEquals(-1, id);
+                        assertTrue(heap.isEmpty());
+                    } else {
+                        assertEquals(keys[expected], keys[id], "extracted key");
+                        keys[id] = Double.NaN;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInfiniteKeys() {
+        final DoubleMinHeap heap = new DoubleMinHeap(3, 2);
+        heap.insertOrDecrease(0, Double.POSITIVE_INFINITY);
+        heap.insertOrDecrease(1, 0.5);
+        heap.insertOrDecrease(2, 1e300);
+        heap.insertOrDecrease(0, 0.25);
+        assertEquals(0, heap.extractMin());
+        assertEquals(1, heap.extractMin());
+        assertEquals(2, heap.extractMin());
+        assertEquals(-1, heap.extractMin());
+    }
+
+    @Test
+    public void testRejectsSmallArity() {
+        assertThrows(IllegalArgumentException.class, () -> new DoubleMinHeap(CAPACITY, 1));
+    }
+
+    private static int minId(double[] keys) {
+        int min = -1;
+        for (int id = 0; id < keys.length; id++) {
+            if (!Double.isNaN(keys[id]) && (min < 0 || keys[id] < keys[min])) {
+                min = id;
+            }
+        }
+        return min;
+    }
+}
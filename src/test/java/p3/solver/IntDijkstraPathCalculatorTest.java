@@ -0,0 +1,104 @@
+package p3.solver;
+
+import org.junit.jupiter.api.Test;
+import p3.graph.CsrGraph;
+import p3.graph.Edge;
+import p3.graph.Graph;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IntDijkstraPathCalculator}.
+ */
+public class IntDijkstraPathCalculatorTest {
+
+    @Test
+    public void testRandomGraphs() {
+        testRandomGraphs(IntDijkstraPathCalculator.FACTORY);
+    }
+
+    @Test
+    public void testRandomGraphsPointToPoint() {
+        testRandomGraphs(IntDijkstraPathCalculator.POINT_TO_POINT_FACTORY);
+    }
+
+    @Test
+    public void testUnreachable() {
+        final Graph<String> graph = new CsrGraph<>(Set.of("a", "b", "c"), Set.of(Edge.of("a", "b", 1)));
+        final PathCalculator<String> calculator = IntDijkstraPathCalculator.FACTORY.create(graph);
+        assertEquals(List.of("c"), calculator.calculatePath("a", "c"));
+        assertEquals(List.of("a", "b"), calculator.calculatePath("a", "b"));
+        assertEquals(List.of("a"), calculator.calculatePath("a", "a"));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculatePath("a", "x"));
+    }
+
+    /**
+     * Runs many queries on the same calculator, so that the results also depend on resetting the previous query,
+     * and compares the length of every path with the distances of Bellman-Ford.
+     */
+    private static void testRandomGraphs(PathCalculator.Factory factory) {
+        final Random random = new Random(8);
+        for (int round = 0; round < 30; round++) {
+            final int nodeCount = 1 + random.nextInt(60);
+            final Set<Integer> nodes = new HashSet<>();
+            for (int i = 0; i < nodeCount; i++) {
+                nodes.add(i);
+            }
+            final Set<Edge<Integer>> edges = new HashSet<>();
+            final int edgeCount = random.nextInt(nodeCount * 2);
+            for (int i = 0; i < edgeCount; i++) {
+                edges.add(Edge.of(random.nextInt(nodeCount), random.nextInt(nodeCount), random.nextInt(20)));
+            }
+            final Graph<Integer> graph = new CsrGraph<>(nodes, edges);
+            final PathCalculator<Integer> calculator = factory.create(graph);
+            for (int query = 0; query < 20; query++) {
+                final int start = random.nextInt(nodeCount);
+                final int end = random.nextInt(nodeCount);
+                final long[] distances = bellmanFord(nodeCount, edges, start);
+                final List<Integer> path = calculator.calculatePath(start, end);
+                assertEquals(Integer.valueOf(end), path.get(path.size() - 1));
+                if (distances[end] == Long.MAX_VALUE) {
+                    assertEquals(List.of(end), path);
+                } else {
+                    assertEquals(Integer.valueOf(start), path.get(0));
+                    assertEquals(distances[end], length(graph, path), path.toString());
+                }
+            }
+        }
+    }
+
+    private static long[] bellmanFord(int nodeCount, Set<Edge<Integer>> edges, int start) {
+        final long[] distances = new long[nodeCount];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        distances[start] = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            for (Edge<Integer> edge : edges) {
+                relax(distances, edge.a(), edge.b(), edge.weight());
+                relax(distances, edge.b(), edge.a(), edge.weight());
+            }
+        }
+        return distances;
+    }
+
+    private static void relax(long[] distances, int from, int to, int weight) {
+        if (distances[from] != Long.MAX_VALUE && distances[from] + weight < distances[to]) {
+            distances[to] = distances[from] + weight;
+        }
+    }
+
+    private static long length(Graph<Integer> graph, List<Integer> path) {
+        long length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            final Edge<Integer> edge = graph.getEdge(path.get(i - 1), path.get(i));
+            assertNotNull(edge, path.toString());
+            length += edge.weight();
+        }
+        return length;
+    }
+}
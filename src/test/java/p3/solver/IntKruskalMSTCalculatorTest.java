@@ -0,0 +1,110 @@
+package p3.solver;
+
+import org.junit.jupiter.api.Test;
+import p3.graph.CsrGraph;
+import p3.graph.Edge;
+import p3.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IntKruskalMSTCalculator}.
+ */
+public class IntKruskalMSTCalculatorTest {
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(13);
+        for (int round = 0; round < 40; round++) {
+            final int nodeCount = 1 + random.nextInt(60);
+            final Set<Integer> nodes = new HashSet<>();
+            for (int i = 0; i < nodeCount; i++) {
+                nodes.add(i);
+            }
+            final Set<Edge<Integer>> edges = new HashSet<>();
+            final int edgeCount = random.nextInt(nodeCount * 3);
+            for (int i = 0; i < edgeCount; i++) {
+                edges.add(Edge.of(random.nextInt(nodeCount), random.nextInt(nodeCount), random.nextInt(50) - 10));
+            }
+            final Graph<Integer> mst = IntKruskalMSTCalculator.FACTORY.create(new CsrGraph<>(nodes, edges))
+                .calculateMST();
+
+            assertEquals(nodes, mst.getNodes());
+            final int[] labels = labels(nodeCount);
+            long weight = 0;
+            for (Edge<Integer> edge : mst.getEdges()) {
+                assertTrue(edges.contains(edge), edge.toString());
+                assertEquals(find(edges, edge).weight(), edge.weight());
+                assertTrue(union(labels, edge.a(), edge.b()), "cycle at " + edge);
+                weight += edge.weight();
+            }
+            final long[] expected = referenceKruskal(nodeCount, edges);
+            assertEquals(expected[0], weight);
+            assertEquals(expected[1], mst.getEdges().size());
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        final Graph<String> mst = IntKruskalMSTCalculator.FACTORY.create(new CsrGraph<>(Set.<String>of(), Set.of()))
+            .calculateMST();
+        assertTrue(mst.getNodes().isEmpty());
+        assertTrue(mst.getEdges().isEmpty());
+    }
+
+    /**
+     * Returns the weight and the number of edges of a minimum spanning forest, using a naive union-find.
+     */
+    private static long[] referenceKruskal(int nodeCount, Set<Edge<Integer>> edges) {
+        final List<Edge<Integer>> sorted = new ArrayList<>(edges);
+        sorted.sort(Comparator.comparingInt(Edge::weight));
+        final int[] labels = labels(nodeCount);
+        long weight = 0;
+        long count = 0;
+        for (Edge<Integer> edge : sorted) {
+            if (union(labels, edge.a(), edge.b())) {
+                weight += edge.weight();
+                count++;
+            }
+        }
+        return new long[] {weight, count};
+    }
+
+    private static int[] labels(int nodeCount) {
+        final int[] labels = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            labels[i] = i;
+        }
+        return labels;
+    }
+
+    private static boolean union(int[] labels, int a, int b) {
+        final int labelA = labels[a];
+        final int labelB = labels[b];
+        if (labelA == labelB) {
+            return false;
+        }
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i] == labelB) {
+                labels[i] = labelA;
+            }
+        }
+        return true;
+    }
+
+    private static Edge<Integer> find(Set<Edge<Integer>> edges, Edge<Integer> edge) {
+        for (Edge<Integer> candidate : edges) {
+            if (candidate.equals(edge)) {
+                return candidate;
+            }
+        }
+        throw new AssertionError(edge);
+    }
+}
@@ -0,0 +1,139 @@
+package p3.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the implementations of {@link IntPriorityQueue}.
+ */
+public class IntPriorityQueueTest {
+
+    private static final int CAPACITY = 200;
+
+    private static final int MAX_WEIGHT = 50;
+
+    @Test
+    public void testHeapMonotone() {
+        testMonotone(capacity -> new IntMinHeap(capacity, 4));
+    }
+
+    @Test
+    public void testDialMonotone() {
+        testMonotone(capacity -> new DialQueue(capacity, MAX_WEIGHT));
+    }
+
+    @Test
+    public void testRadixMonotone() {
+        testMonotone(capacity -> new RadixHeap(capacity));
+    }
+
+    @Test
+    public void testDialSmallerInsertBeforeFirstExtraction() {
+        testSmallerInsertBeforeFirstExtraction(new DialQueue(CAPACITY, MAX_WEIGHT));
+    }
+
+    @Test
+    public void testRadixSmallerInsertBeforeFirstExtraction() {
+        testSmallerInsertBeforeFirstExtraction(new RadixHeap(CAPACITY));
+    }
+
+    @Test
+    public void testDialReuseAfterClear() {
+        testReuseAfterClear(new DialQueue(CAPACITY, MAX_WEIGHT));
+    }
+
+    @Test
+    public void testRadixReuseAfterClear() {
+        testReuseAfterClear(new RadixHeap(CAPACITY));
+    }
+
+    @Test
+    public void testHeapRejectsSmallArity() {
+        assertThrows(IllegalArgumentException.class, () -> new IntMinHeap(CAPACITY, 1));
+    }
+
+    /**
+     * The first key inserted into an empty queue is not necessarily the smallest one, e.g. when a point-to-point
+     * search inserts its start node after an earlier search left ids in the queue.
+     */
+    private static void testSmallerInsertBeforeFirstExtraction(IntPriorityQueue queue) {
+        queue.insertOrDecrease(0, 40);
+        queue.insertOrDecrease(1, 3);
+        queue.insertOrDecrease(2, 20);
+        queue.insertOrDecrease(0, 10);
+        assertEquals(1, queue.extractMin());
+        assertEquals(0, queue.extractMin());
+        assertEquals(2, queue.extractMin());
+        assertTrue(queue.isEmpty());
+        assertEquals(-1, queue.extractMin());
+    }
+
+    private static void testReuseAfterClear(IntPriorityQueue queue) {
+        queue.insertOrDecrease(0, 1000);
+        queue.insertOrDecrease(1, 1010);
+        assertEquals(0, queue.extractMin());
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        queue.insertOrDecrease(1, 7);
+        queue.insertOrDecrease(2, 5);
+        assertEquals(2, queue.extractMin());
+        assertEquals(1, queue.extractMin());
+        assertEquals(-1, queue.extractMin());
+    }
+
+    /**
+     * Runs a random Dijkstra-like workload, in which no key is smaller than the last extracted key and no key is
+     * larger than it by more than {@link #MAX_WEIGHT}, and compares the extracted keys with a linear scan.
+     */
+    private static void testMonotone(IntFunction<IntPriorityQueue> factory) {
+        final Random random = new Random(42);
+        final IntPriorityQueue queue = factory.apply(CAPACITY);
+        final long[] keys = new long[CAPACITY];
+        for (int round = 0; round < 50; round++) {
+            queue.clear();
+            Arrays.fill(keys, -1);
+            long last = random.nextInt(1000);
+            for (int i = 0; i < 5; i++) {
+                insert(queue, keys, random.nextInt(CAPACITY), last + random.nextInt(MAX_WEIGHT + 1));
+            }
+            for (int step = 0; ; step++) {
+                final int id = queue.extractMin();
+                final int expected = minId(keys);
+                if (expected < 0) {
+                    assertEquals(-1, id);
+                    assertTrue(queue.isEmpty());
+                    break;
+                }
+                assertTrue(id >= 0, "queue is empty too early");
+                assertEquals(keys[expected], keys[id], "extracted key");
+                last = keys[id];
+                keys[id] = -1;
+                for (int i = step < 500 ? random.nextInt(4) : 0; i > 0; i--) {
+                    insert(queue, keys, random.nextInt(CAPACITY), last + random.nextInt(MAX_WEIGHT + 1));
+                }
+            }
+        }
+    }
+
+    private static void insert(IntPriorityQueue queue, long[] keys, int id, long key) {
+        queue.insertOrDecrease(id, key);
+        if (keys[id] < 0 || key < keys[id]) {
+            keys[id] = key;
+        }
+    }
+
+    private static int minId(long[] keys) {
+        int min = -1;
+        for (int id = 0; id < keys.length; id++) {
+            if (keys[id] >= 0 && (min < 0 || keys[id] < keys[min])) {
+                min = id;
+            }
+        }
+        return min;
+    }
+}
@@ -0,0 +1,216 @@
+package p3.solver;
+
+import org.junit.jupiter.api.Test;
+import p3.graph.CsrGraph;
+import p3.graph.Edge;
+import p3.graph.Graph;
+import p3.graph.PersistentMutableGraph;
+import p3.gui.Location;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the length of the paths of every {@link PathCalculator} with the paths of
+ * {@link IntDijkstraPathCalculator} on random graphs.
+ */
+public class PathCalculatorTest {
+
+    @Test
+    public void testHeap() {
+        testSameLengths(HeapDijkstraPathCalculator.FACTORY);
+        testSameLengths(HeapDijkstraPathCalculator.POINT_TO_POINT_FACTORY);
+    }
+
+    @Test
+    public void testHeapRejectsNegativeWeights() {
+        final Graph<String> graph = negativeEdgeGraph();
+        assertThrows(IllegalArgumentException.class, () -> HeapDijkstraPathCalculator.FACTORY.create(graph));
+        assertThrows(IllegalArgumentException.class,
+            () -> HeapDijkstraPathCalculator.POINT_TO_POINT_FACTORY.create(graph));
+        assertThrows(IllegalArgumentException.class,
+            () -> new AStarPathCalculator<>(graph, AStarPathCalculator.Heuristic.zero()));
+    }
+
+    @Test
+    public void testHeapArities() {
+        for (int arity = 2; arity <= 8; arity++) {
+            final int heapArity = arity;
+            testSameLengths(new PathCalculator.Factory() {
+                @Override
+                public <N> PathCalculator<N> create(Graph<N> graph) {
+                    return new HeapDijkstraPathCalculator<>(graph, heapArity, heapArity % 2 == 0);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testBuckets() {
+        testSameLengths(BucketDijkstraPathCalculator.FACTORY);
+        testSameLengths(BucketDijkstraPathCalculator.POINT_TO_POINT_FACTORY);
+        for (BucketDijkstraPathCalculator.Buckets buckets : BucketDijkstraPathCalculator.Buckets.values()) {
+            final boolean pointToPoint = buckets == BucketDijkstraPathCalculator.Buckets.DIAL;
+            testSameLengths(new PathCalculator.Factory() {
+                @Override
+                public <N> PathCalculator<N> create(Graph<N> graph) {
+                    return new BucketDijkstraPathCalculator<>(graph, buckets, pointToPoint);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testBucketsRejectNegativeWeights() {
+        final Graph<String> graph = negativeEdgeGraph();
+        assertThrows(IllegalArgumentException.class, () -> BucketDijkstraPathCalculator.FACTORY.create(graph));
+        for (BucketDijkstraPathCalculator.Buckets buckets : BucketDijkstraPathCalculator.Buckets.values()) {
+            assertThrows(IllegalArgumentException.class, () -> new BucketDijkstraPathCalculator<>(graph, buckets));
+        }
+    }
+
+    @Test
+    public void testBidirectional() {
+        testSameLengths(BidirectionalDijkstraPathCalculator.FACTORY);
+    }
+
+    @Test
+    public void testBidirectionalMissingNodes() {
+        final Graph<String> graph = new CsrGraph<>(Set.of("a", "b"), Set.of(Edge.of("a", "b", 1)));
+        final PathCalculator<String> calculator = BidirectionalDijkstraPathCalculator.FACTORY.create(graph);
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculatePath("a", "x"));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculatePath("x", "a"));
+        assertEquals(List.of("b", "a"), calculator.calculatePath("b", "a"));
+    }
+
+    @Test
+    public void testBidirectionalRejectsNegativeWeights() {
+        assertThrows(IllegalArgumentException.class,
+            () -> BidirectionalDijkstraPathCalculator.FACTORY.create(negativeEdgeGraph()));
+    }
+
+    @Test
+    public void testAStarZeroHeuristic() {
+        testSameLengths(new PathCalculator.Factory() {
+            @Override
+            public <N> PathCalculator<N> create(Graph<N> graph) {
+                return new AStarPathCalculator<>(graph, AStarPathCalculator.Heuristic.zero());
+            }
+        });
+    }
+
+    @Test
+    public void testAStarOnGrids() {
+        final Random random = new Random(30);
+        for (int round = 0; round < 10; round++) {
+            final int width = 1 + random.nextInt(15);
+            final int height = 1 + random.nextInt(15);
+            final Map<Integer, Location> locations = new HashMap<>();
+            final Set<Edge<Integer>> edges = new HashSet<>();
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    final int node = x * height + y;
+                    locations.put(node, new Location(x, y));
+                    // every edge is at least as long as the distance between its nodes
+                    if (x > 0 && random.nextInt(5) > 0) {
+                        edges.add(Edge.of(node - height, node, 1 + random.nextInt(5)));
+                    }
+                    if (y > 0 && random.nextInt(5) > 0) {
+                        edges.add(Edge.of(node - 1, node, 1 + random.nextInt(5)));
+                    }
+                }
+            }
+            final Graph<Integer> graph = new CsrGraph<>(locations.keySet(), edges);
+            final AStarPathCalculator.Heuristic<Integer> manhattan = AStarPathCalculator.Heuristic.manhattan(locations);
+            // admissible, but not consistent
+            final AStarPathCalculator.Heuristic<Integer> inconsistent =
+                (node, end) -> node % 3 == 0 ? manhattan.estimate(node, end) : 0;
+            final List<PathCalculator<Integer>> calculators = List.of(
+                new AStarPathCalculator<>(graph, AStarPathCalculator.Heuristic.euclidean(locations)),
+                new AStarPathCalculator<>(graph, manhattan, 2),
+                new AStarPathCalculator<>(graph, inconsistent));
+            final PathCalculator<Integer> expected = IntDijkstraPathCalculator.FACTORY.create(graph);
+            for (int query = 0; query < 30; query++) {
+                final int start = random.nextInt(width * height);
+                final int end = random.nextInt(width * height);
+                final List<Integer> expectedPath = expected.calculatePath(start, end);
+                for (PathCalculator<Integer> calculator : calculators) {
+                    final List<Integer> path = calculator.calculatePath(start, end);
+                    assertEquals(expectedPath.get(0), path.get(0), path.toString());
+                    assertEquals(length(graph, expectedPath), length(graph, path), path.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAStarMissingLocation() {
+        final Graph<String> graph = new CsrGraph<>(Set.of("a", "b"), Set.of(Edge.of("a", "b", 1)));
+        final PathCalculator<String> calculator = new AStarPathCalculator<>(graph,
+            AStarPathCalculator.Heuristic.euclidean(Map.of("a", new Location(0, 0))));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculatePath("a", "b"));
+        assertThrows(NullPointerException.class, () -> new AStarPathCalculator<>(graph, null));
+    }
+
+    /**
+     * Runs many queries on the same calculator, on graphs with small and large weights, and compares the length
+     * of every path with the path of {@link IntDijkstraPathCalculator}.
+     */
+    static void testSameLengths(PathCalculator.Factory factory) {
+        final Random random = new Random(29);
+        for (int round = 0; round < 30; round++) {
+            final int nodeCount = 1 + random.nextInt(80);
+            final int maxWeight = round % 3 == 0 ? 1 << 20 : 1 + random.nextInt(20);
+            final Set<Integer> nodes = new HashSet<>();
+            for (int i = 0; i < nodeCount; i++) {
+                nodes.add(i);
+            }
+            final Set<Edge<Integer>> edges = new HashSet<>();
+            final int edgeCount = random.nextInt(nodeCount * 3);
+            for (int i = 0; i < edgeCount; i++) {
+                edges.add(Edge.of(random.nextInt(nodeCount), random.nextInt(nodeCount), random.nextInt(maxWeight + 1)));
+            }
+            final Graph<Integer> graph = round % 2 == 0
+                ? new CsrGraph<>(nodes, edges)
+                : new PersistentMutableGraph<>(nodes, edges);
+            final PathCalculator<Integer> expected = IntDijkstraPathCalculator.FACTORY.create(graph);
+            final PathCalculator<Integer> actual = factory.create(graph);
+            for (int query = 0; query < 20; query++) {
+                final int start = random.nextInt(nodeCount);
+                final int end = random.nextInt(nodeCount);
+                final List<Integer> expectedPath = expected.calculatePath(start, end);
+                final List<Integer> path = actual.calculatePath(start, end);
+                assertEquals(Integer.valueOf(end), path.get(path.size() - 1));
+                if (expectedPath.get(0) != start) {
+                    assertEquals(List.of(end), path, "unreachable " + start + " -> " + end);
+                } else {
+                    assertEquals(Integer.valueOf(start), path.get(0));
+                    assertEquals(length(graph, expectedPath), length(graph, path), path.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the graph x - y - z in which the edge between x and y has the weight -1.
+     */
+    static Graph<String> negativeEdgeGraph() {
+        return new CsrGraph<>(Set.of("x", "y", "z"), Set.of(Edge.of("x", "y", -1), Edge.of("y", "z", 1)));
+    }
+
+    private static long length(Graph<Integer> graph, List<Integer> path) {
+        long length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            final Edge<Integer> edge = graph.getEdge(path.get(i - 1), path.get(i));
+            assertNotNull(edge, path.toString());
+            length += edge.weight();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,120 @@
+package p3.solver;
+
+import org.junit.jupiter.api.Test;
+import p3.graph.CsrGraph;
+import p3.graph.DoubleCsrGraph;
+import p3.graph.DoubleEdge;
+import p3.graph.Edge;
+import p3.graph.Graph;
+import p3.graph.LongCsrGraph;
+import p3.graph.LongEdge;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LongDijkstraPathCalculator} and {@link DoubleDijkstraPathCalculator}.
+ */
+public class WeightedDijkstraPathCalculatorTest {
+
+    /**
+     * Runs many queries on the same calculators and compares the distances with {@link IntDijkstraPathCalculator}.
+     */
+    @Test
+    public void testSameDistancesAsIntDijkstra() {
+        final Random random = new Random(14);
+        for (int round = 0; round < 30; round++) {
+            final int nodeCount = 1 + random.nextInt(60);
+            final Set<Integer> nodes = new HashSet<>();
+            for (int i = 0; i < nodeCount; i++) {
+                nodes.add(i);
+            }
+            final Set<Edge<Integer>> edges = new HashSet<>();
+            final int edgeCount = random.nextInt(nodeCount * 2);
+            for (int i = 0; i < edgeCount; i++) {
+                edges.add(Edge.of(random.nextInt(nodeCount), random.nextInt(nodeCount), random.nextInt(20)));
+            }
+            final Graph<Integer> graph = new CsrGraph<>(nodes, edges);
+            final IntDijkstraPathCalculator<Integer> expected = new IntDijkstraPathCalculator<>(graph);
+            final LongDijkstraPathCalculator<Integer> longCalculator = new LongDijkstraPathCalculator<>(graph);
+            final DoubleDijkstraPathCalculator<Integer> doubleCalculator = new DoubleDijkstraPathCalculator<>(graph);
+            for (int query = 0; query < 20; query++) {
+                final int start = random.nextInt(nodeCount);
+                final int end = random.nextInt(nodeCount);
+                final long distance = length(graph, expected.calculatePath(start, end), start);
+                final List<Integer> longPath = longCalculator.calculatePath(start, end);
+                final List<Integer> doublePath = doubleCalculator.calculatePath(start, end);
+                assertEquals(distance, length(graph, longPath, start), longPath.toString());
+                assertEquals(distance, length(graph, doublePath, start), doublePath.toString());
+                for (int node = 0; node < nodeCount; node++) {
+                    final long nodeDistance = longCalculator.distanceTo(node);
+                    assertEquals(nodeDistance == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : (double) nodeDistance,
+                        doubleCalculator.distanceTo(node));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLongWeights() {
+        final List<LongEdge<String>> edges = new ArrayList<>();
+        edges.add(new LongEdge<>("a", "b", 3L << 32));
+        edges.add(new LongEdge<>("b", "c", 3L << 32));
+        edges.add(new LongEdge<>("a", "c", 7L << 32));
+        edges.add(new LongEdge<>("c", "d", Long.MAX_VALUE - 1));
+        final LongDijkstraPathCalculator<String> calculator =
+            new LongDijkstraPathCalculator<>(LongCsrGraph.of(Set.of("a", "b", "c", "d"), edges));
+        assertEquals(List.of("a", "b", "c"), calculator.calculatePath("a", "c"));
+        assertEquals(6L << 32, calculator.distanceTo("c"));
+        // the distance would exceed Long.MAX_VALUE, so it saturates and d counts as unreachable
+        assertEquals(List.of("d"), calculator.calculatePath("a", "d"));
+        assertEquals(Long.MAX_VALUE, calculator.distanceTo("d"));
+        assertEquals(List.of("c", "d"), calculator.calculatePath("c", "d"));
+        assertEquals(Long.MAX_VALUE - 1, calculator.distanceTo("d"));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculatePath("a", "x"));
+    }
+
+    @Test
+    public void testNegativeLongWeights() {
+        final Graph<String> graph = PathCalculatorTest.negativeEdgeGraph();
+        assertThrows(IllegalArgumentException.class, () -> LongDijkstraPathCalculator.FACTORY.create(graph));
+        assertThrows(IllegalArgumentException.class,
+            () -> LongCsrGraph.of(Set.of("x", "y"), List.of(new LongEdge<>("x", "y", -1L))));
+    }
+
+    @Test
+    public void testDoubleWeights() {
+        final List<DoubleEdge<String>> edges = List.of(
+            new DoubleEdge<>("a", "b", 0.1), new DoubleEdge<>("b", "c", 0.2), new DoubleEdge<>("a", "c", 0.35));
+        final DoubleDijkstraPathCalculator<String> calculator =
+            new DoubleDijkstraPathCalculator<>(DoubleCsrGraph.of(Set.of("a", "b", "c", "d"), edges));
+        assertEquals(List.of("a", "b", "c"), calculator.calculatePath("a", "c"));
+        assertEquals(0.1 + 0.2, calculator.distanceTo("c"));
+        assertEquals(List.of("d"), calculator.calculatePath("a", "d"));
+        assertEquals(Double.POSITIVE_INFINITY, calculator.distanceTo("d"));
+        assertThrows(IllegalArgumentException.class,
+            () -> new DoubleDijkstraPathCalculator<>(new CsrGraph<>(Set.of(1, 2), Set.of(Edge.of(1, 2, -1)))));
+    }
+
+    /**
+     * Returns the length of the given path, or {@link Long#MAX_VALUE} if it only contains an unreachable end node.
+     */
+    private static long length(Graph<Integer> graph, List<Integer> path, int start) {
+        if (path.get(0) != start) {
+            assertEquals(1, path.size(), path.toString());
+            return Long.MAX_VALUE;
+        }
+        long length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            final Edge<Integer> edge = graph.getEdge(path.get(i - 1), path.get(i));
+            assertNotNull(edge, path.toString());
+            length += edge.weight();
+        }
+        return length;
+    }
+}